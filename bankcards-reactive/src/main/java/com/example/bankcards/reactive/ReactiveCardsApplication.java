@@ -0,0 +1,21 @@
+package com.example.bankcards.reactive;
+
+import com.example.bankcards.util.JwtUtil;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Reactive read API for bank cards, deployed next to the servlet application.
+ * Serves the card listing and balance endpoints on a small fixed number of event-loop threads
+ * using WebFlux and R2DBC against the same database schema.
+ * Token validation is shared with the main application through {@link JwtUtil}.
+ */
+@SpringBootApplication
+@Import(JwtUtil.class)
+public class ReactiveCardsApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveCardsApplication.class, args);
+    }
+
+}
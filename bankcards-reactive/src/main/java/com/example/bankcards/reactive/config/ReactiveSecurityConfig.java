@@ -0,0 +1,94 @@
+package com.example.bankcards.reactive.config;
+
+import com.example.bankcards.exception.ErrorCode;
+import com.example.bankcards.reactive.security.JwtReactiveAuthenticationManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Configures stateless JWT authentication for the reactive API.
+ * Error responses use the same statuses and bodies as the servlet application's JWT filter.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class ReactiveSecurityConfig {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    /**
+     * Defines the security filter chain: every endpoint requires a valid bearer token,
+     * and role checks are done with {@code @PreAuthorize} on the controllers.
+     *
+     * @param http                  the reactive security builder
+     * @param authenticationManager the JWT authentication manager
+     * @return the configured {@link SecurityWebFilterChain}
+     */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         JwtReactiveAuthenticationManager authenticationManager) {
+        AuthenticationWebFilter jwtFilter = new AuthenticationWebFilter(authenticationManager);
+        jwtFilter.setServerAuthenticationConverter(ReactiveSecurityConfig::bearerToken);
+        jwtFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+        jwtFilter.setAuthenticationFailureHandler((webFilterExchange, exception) ->
+                exception instanceof UsernameNotFoundException
+                        ? writeError(webFilterExchange.getExchange(), ErrorCode.ACCESS_DENIED, "User not found")
+                        : writeError(webFilterExchange.getExchange(), ErrorCode.INVALID_TOKEN, "Invalid or expired token"));
+
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .authorizeExchange(exchanges -> exchanges.anyExchange().authenticated())
+                .exceptionHandling(handling -> handling
+                        .authenticationEntryPoint((exchange, exception) ->
+                                writeError(exchange, ErrorCode.INVALID_TOKEN, "Unauthorized"))
+                        .accessDeniedHandler((exchange, exception) ->
+                                writeError(exchange, ErrorCode.ACCESS_DENIED, "Access denied")))
+                .build();
+    }
+
+    /**
+     * Extracts the bearer token from the {@code Authorization} header as unauthenticated credentials.
+     */
+    private static Mono<Authentication> bearerToken(ServerWebExchange exchange) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return Mono.empty();
+        }
+        String jwt = header.substring(BEARER_PREFIX.length());
+        return Mono.just(UsernamePasswordAuthenticationToken.unauthenticated(jwt, jwt));
+    }
+
+    /**
+     * Writes a JSON error body in the format of the servlet application's JWT filter.
+     */
+    private static Mono<Void> writeError(ServerWebExchange exchange, ErrorCode errorCode, String message) {
+        var response = exchange.getResponse();
+        response.setStatusCode(errorCode.getStatus());
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer body = response.bufferFactory()
+                .wrap(("{\"code\": \"" + errorCode + "\", \"message\": \"" + message + "\"}")
+                        .getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(body));
+    }
+}
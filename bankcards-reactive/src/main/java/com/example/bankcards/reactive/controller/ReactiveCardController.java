@@ -0,0 +1,62 @@
+package com.example.bankcards.reactive.controller;
+
+import com.example.bankcards.dto.CardDTO;
+import com.example.bankcards.entity.user.Role;
+import com.example.bankcards.reactive.service.ReactiveCardService;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive controller for the read-only card endpoints of regular users.
+ * Paths and response bodies match the servlet application's {@code CardController},
+ * so read traffic can be routed to this service without changes on the client side.
+ * All methods are accessible only by users with the USER role {@link Role}.
+ */
+@RestController
+@RequestMapping("/api")
+@AllArgsConstructor
+public class ReactiveCardController {
+
+    /**
+     * The default page size, the same as {@code @PageableDefault} in the servlet application.
+     */
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int MAX_PAGE_SIZE = 2000;
+
+    private final ReactiveCardService cardService;
+
+    /**
+     * Retrieves a paginated list of cards owned by the authenticated user, ordered by ID.
+     *
+     * @param page Page number, starting from 0
+     * @param size Page size
+     * @param authentication Authentication object to identify the current user. Provided by Spring Security
+     * @return A page of {@link CardDTO} objects representing the user's cards
+     */
+    @GetMapping("/cards")
+    @PreAuthorize("hasRole('USER')")
+    public Mono<PagedModel<CardDTO>> getAllUserCards(@RequestParam(defaultValue = "0") int page,
+                                                     @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                                                     Authentication authentication) {
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        return cardService.getAllUserCards(authentication.getName(), pageable).map(PagedModel::new);
+    }
+
+    /**
+     * Retrieves the balance of a specific user's card.
+     *
+     * @param id The ID of the card whose balance is requested
+     * @param authentication Authentication object to identify the current user. Provided by Spring Security
+     * @return The {@link CardDTO} object which includes the current balance
+     */
+    @GetMapping("/card/balance/{id}")
+    @PreAuthorize("hasRole('USER')")
+    public Mono<CardDTO> getCardBalance(@PathVariable Long id, Authentication authentication) {
+        return cardService.getCardBalanceById(authentication.getName(), id);
+    }
+}
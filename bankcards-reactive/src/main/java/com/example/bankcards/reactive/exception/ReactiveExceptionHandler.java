@@ -0,0 +1,38 @@
+package com.example.bankcards.reactive.exception;
+
+import com.example.bankcards.dto.ErrorResponse;
+import com.example.bankcards.exception.ErrorCode;
+import com.example.bankcards.exception.exceptions.DomainException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps exceptions of the reactive endpoints to the same statuses and bodies
+ * as the servlet application's exception handlers.
+ */
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    /**
+     * Handles expected business failures such as a missing card or an invalid owner.
+     *
+     * @param ex The exception thrown
+     * @return A response with the status and code of the exception's {@link ErrorCode}
+     */
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ErrorResponse> handleDomainException(DomainException ex) {
+        return ErrorResponse.of(ex.getErrorCode(), ex.getMessage());
+    }
+
+    /**
+     * Handles access denied exceptions thrown by method security.
+     *
+     * @return A response with HTTP status 403 (Forbidden)
+     */
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleAccessDeniedException() {
+        return ErrorResponse.of(ErrorCode.ACCESS_DENIED, "Access denied");
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.bankcards.reactive.repository;
+
+import com.example.bankcards.dto.CardDTO;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.util.SimpleCardEncryptConverter;
+import io.r2dbc.spi.Readable;
+import lombok.AllArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Provides non-blocking read access to the {@code cards} table through R2DBC.
+ * Card numbers are decrypted with the same {@link SimpleCardEncryptConverter} as the JPA entity
+ * and masked when the {@link CardDTO} is constructed.
+ */
+@Repository
+@AllArgsConstructor
+public class ReactiveCardRepo {
+
+    private static final String CARD_COLUMNS =
+            "c.id, c.card_number, c.owner_name, c.expiration_date, c.status, c.balance";
+
+    private static final SimpleCardEncryptConverter CONVERTER = new SimpleCardEncryptConverter();
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * A card together with the username of its owner, used for ownership checks.
+     *
+     * @param card          the card
+     * @param ownerUsername the username of the owner, or null if the card has no owner
+     */
+    public record OwnedCard(CardDTO card, String ownerUsername) {
+    }
+
+    /**
+     * Finds a page of cards owned by the user with the given username, ordered by ID.
+     *
+     * @param username the username of the owner
+     * @param offset   the number of cards to skip
+     * @param limit    the maximum number of cards to return
+     * @return the cards of the page
+     */
+    public Flux<CardDTO> findAllByUsername(String username, long offset, int limit) {
+        return databaseClient.sql("select " + CARD_COLUMNS + " from cards c join users u on u.id = c.user_id "
+                        + "where u.username = :username order by c.id limit :limit offset :offset")
+                .bind("username", username)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveCardRepo::toCardDTO)
+                .all();
+    }
+
+    /**
+     * Counts the cards owned by the user with the given username.
+     *
+     * @param username the username of the owner
+     * @return the number of cards
+     */
+    public Mono<Long> countByUsername(String username) {
+        return databaseClient.sql("select count(*) from cards c join users u on u.id = c.user_id "
+                        + "where u.username = :username")
+                .bind("username", username)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Finds a card by its ID together with the username of its owner.
+     *
+     * @param id the ID of the card
+     * @return the card, or an empty {@link Mono} if it does not exist
+     */
+    public Mono<OwnedCard> findById(long id) {
+        return databaseClient.sql("select " + CARD_COLUMNS + ", u.username from cards c "
+                        + "left join users u on u.id = c.user_id where c.id = :id")
+                .bind("id", id)
+                .map(row -> new OwnedCard(toCardDTO(row), row.get("username", String.class)))
+                .one();
+    }
+
+    private static CardDTO toCardDTO(Readable row) {
+        return new CardDTO(
+                row.get("id", Long.class),
+                CONVERTER.convertToEntityAttribute(row.get("card_number", String.class)),
+                row.get("owner_name", String.class),
+                row.get("expiration_date", LocalDate.class),
+                CardStatus.valueOf(row.get("status", String.class)),
+                row.get("balance", BigDecimal.class));
+    }
+}
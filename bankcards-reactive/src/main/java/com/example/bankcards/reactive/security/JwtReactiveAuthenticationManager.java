@@ -0,0 +1,50 @@
+package com.example.bankcards.reactive.security;
+
+import com.example.bankcards.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
+import lombok.AllArgsConstructor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Authenticates bearer tokens with the same rules as the servlet application's JWT filter:
+ * the signature and expiry are checked by {@link JwtUtil} and the subject must be an existing user.
+ */
+@Component
+@AllArgsConstructor
+public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final JwtUtil jwtUtil;
+    private final ReactiveUserDetailsService userDetailsService;
+
+    /**
+     * Authenticates the token carried as the credentials of the given authentication.
+     *
+     * @param authentication an unauthenticated token whose credentials are the JWT
+     * @return the authenticated user with their authorities
+     * @throws BadCredentialsException   (as an error signal) if the token is invalid or expired
+     * @throws UsernameNotFoundException (as an error signal) if the user of the token does not exist
+     */
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        String jwt = (String) authentication.getCredentials();
+        String username;
+        try {
+            username = jwtUtil.extractUserName(jwt);
+        } catch (JwtException e) {
+            return Mono.error(new BadCredentialsException("Invalid or expired token", e));
+        }
+        return userDetailsService.findByUsername(username)
+                .switchIfEmpty(Mono.error(() -> new UsernameNotFoundException("User not found")))
+                .filter(userDetails -> jwtUtil.isTokenValid(jwt, userDetails))
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Invalid or expired token")))
+                .map(userDetails -> new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities()));
+    }
+}
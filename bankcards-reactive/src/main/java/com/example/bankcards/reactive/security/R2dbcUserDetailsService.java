@@ -0,0 +1,40 @@
+package com.example.bankcards.reactive.security;
+
+import com.example.bankcards.entity.user.Role;
+import lombok.AllArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Implementation of Spring Security's {@link ReactiveUserDetailsService} that retrieves user details
+ * from the {@code users} table through R2DBC.
+ */
+@Component
+@AllArgsConstructor
+public class R2dbcUserDetailsService implements ReactiveUserDetailsService {
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Loads a user by their username.
+     *
+     * @param username the username of the user to load
+     * @return the user, or an empty {@link Mono} if no user is found with the given username
+     */
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return databaseClient.sql("select username, password, role from users where username = :username")
+                .bind("username", username)
+                .map(row -> (UserDetails) new User(
+                        row.get("username", String.class),
+                        row.get("password", String.class),
+                        Set.of(Role.valueOf(row.get("role", String.class)))))
+                .one();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.bankcards.reactive.service;
+
+import com.example.bankcards.dto.CardDTO;
+import com.example.bankcards.exception.exceptions.CardDoesNotExistException;
+import com.example.bankcards.exception.exceptions.CardException;
+import com.example.bankcards.reactive.repository.ReactiveCardRepo;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Provides the read-only card operations of regular users without blocking:
+ * listing the user's cards and retrieving the balance of a card.
+ * Behaves like the corresponding methods of the servlet application's {@code CardService}.
+ */
+@Service
+@AllArgsConstructor
+public class ReactiveCardService {
+
+    private final ReactiveCardRepo cardRepo;
+
+    /**
+     * Retrieves a paginated list of cards owned by the user, ordered by ID.
+     * The page content and the total count are queried concurrently.
+     *
+     * @param username the username of the current user
+     * @param pageable pagination information; sorting is not supported
+     * @return a page of {@link CardDTO} objects
+     */
+    public Mono<Page<CardDTO>> getAllUserCards(String username, Pageable pageable) {
+        return Mono.zip(
+                        cardRepo.findAllByUsername(username, pageable.getOffset(), pageable.getPageSize()).collectList(),
+                        cardRepo.countByUsername(username))
+                .map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+    }
+
+    /**
+     * Retrieves the balance of a specific card owned by the user.
+     *
+     * @param username the username of the current user
+     * @param id       the ID of the card
+     * @return the card as a DTO
+     * @throws CardDoesNotExistException (as an error signal) if the card does not exist
+     * @throws CardException             (as an error signal) if the user is not the owner of the card
+     */
+    public Mono<CardDTO> getCardBalanceById(String username, Long id) {
+        return cardRepo.findById(id)
+                .switchIfEmpty(Mono.error(() -> new CardDoesNotExistException("Card does not exist")))
+                .flatMap(owned -> username.equals(owned.ownerUsername())
+                        ? Mono.just(owned.card())
+                        : Mono.error(new CardException("Invalid card owner")));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.bankcards.reactive.service;
+
+import com.example.bankcards.dto.CardDTO;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.exception.exceptions.CardDoesNotExistException;
+import com.example.bankcards.exception.exceptions.CardException;
+import com.example.bankcards.reactive.repository.ReactiveCardRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveCardServiceTest {
+
+    @InjectMocks
+    private ReactiveCardService cardService;
+
+    @Mock
+    private ReactiveCardRepo cardRepo;
+
+    private CardDTO card;
+
+    @BeforeEach
+    void setUp() {
+        card = new CardDTO(1L, "4000-0000-0000-1234", "John Doe",
+                LocalDate.now().plusYears(5), CardStatus.ACTIVE, BigDecimal.valueOf(1000));
+    }
+
+    @Test
+    void testGetAllUserCards() {
+        // Arrange
+        when(cardRepo.findAllByUsername("testuser", 10, 10)).thenReturn(Flux.just(card));
+        when(cardRepo.countByUsername("testuser")).thenReturn(Mono.just(11L));
+
+        // Act & Assert
+        StepVerifier.create(cardService.getAllUserCards("testuser", PageRequest.of(1, 10)))
+                .assertNext(page -> {
+                    assertEquals(11, page.getTotalElements());
+                    assertEquals(2, page.getTotalPages());
+                    assertEquals("**** **** **** 1234", page.getContent().get(0).getCardNumber());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetCardBalanceById_Success() {
+        // Arrange
+        when(cardRepo.findById(1L)).thenReturn(Mono.just(new ReactiveCardRepo.OwnedCard(card, "testuser")));
+
+        // Act & Assert
+        StepVerifier.create(cardService.getCardBalanceById("testuser", 1L))
+                .expectNext(card)
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetCardBalanceById_CardDoesNotExist() {
+        // Arrange
+        when(cardRepo.findById(1L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(cardService.getCardBalanceById("testuser", 1L))
+                .expectError(CardDoesNotExistException.class)
+                .verify();
+    }
+
+    @Test
+    void testGetCardBalanceById_InvalidOwner() {
+        // Arrange
+        when(cardRepo.findById(1L)).thenReturn(Mono.just(new ReactiveCardRepo.OwnedCard(card, "otheruser")));
+
+        // Act & Assert
+        StepVerifier.create(cardService.getCardBalanceById("testuser", 1L))
+                .expectErrorMatches(e -> e.getClass() == CardException.class
+                        && e.getMessage().equals("Invalid card owner"))
+                .verify();
+    }
+}
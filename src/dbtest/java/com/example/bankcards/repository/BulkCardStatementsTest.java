@@ -0,0 +1,191 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.entity.user.BankUser;
+import com.example.bankcards.event.CardChangedEvent;
+import com.example.bankcards.event.CardCreatedEvent;
+import com.example.bankcards.service.OutboxService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the native bulk statements of {@link CardRepo} and {@link CardCopyRepo} against an embedded Postgres
+ * with the Liquibase schema, and checks the cards and outbox messages they write.
+ * Each test runs in a transaction that is rolled back.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CardCopyRepo.class, BulkCardStatementsTest.EmbeddedDatabase.class})
+class BulkCardStatementsTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+
+    @Autowired
+    private CardRepo cardRepo;
+
+    @Autowired
+    private CardCopyRepo cardCopyRepo;
+
+    @Autowired
+    private OutboxMessageRepo outboxMessageRepo;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private BankUser user;
+
+    @TestConfiguration
+    static class EmbeddedDatabase {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.builder().start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+            return embeddedPostgres.getPostgresDatabase();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        Long userId = jdbcTemplate.queryForObject("""
+                INSERT INTO users (username, first_name, last_name, password, role)
+                VALUES ('bulkuser', 'John', 'Doe', 'x', 'USER') RETURNING id
+                """, Long.class);
+        user = new BankUser();
+        user.setId(userId);
+    }
+
+    private Card card(String cardNumber, BigDecimal balance) {
+        Card card = new Card();
+        card.setCardNumber(cardNumber);
+        card.setOwnerName("John Doe");
+        card.setExpirationDate(LocalDate.of(2030, 1, 31));
+        card.setStatus(CardStatus.ACTIVE);
+        card.setBalance(balance);
+        card.setBankUser(user);
+        return card;
+    }
+
+    private long insertCard(String cardNumber, CardStatus status, BigDecimal balance) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO cards (card_number, owner_name, expiration_date, status, balance, user_id)
+                VALUES (?, 'John Doe', DATE '2020-01-31', ?, ?, ?) RETURNING id
+                """, Long.class, cardNumber, status.name(), balance, user.getId());
+    }
+
+    private List<String> payloads(String type) {
+        return jdbcTemplate.queryForList(
+                "SELECT payload::text FROM outbox_messages WHERE type = ? ORDER BY aggregate_id", String.class, type);
+    }
+
+    @Test
+    void testCopyCards_InsertsCardsAndCreatedMessages() throws Exception {
+        // Act
+        long inserted = cardCopyRepo.copyCards(List.of(
+                card("4000-1111-2222-3333", new BigDecimal("100.00")),
+                card("4000-1111-2222-3341", new BigDecimal("0.00"))));
+
+        // Assert
+        assertEquals(2, inserted);
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM cards WHERE user_id = ? ORDER BY id", Long.class, user.getId());
+        assertEquals(2, ids.size());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM cards WHERE card_number LIKE '4000-%'", Integer.class));
+
+        List<String> payloads = payloads(OutboxService.CARD_CREATED);
+        assertEquals(2, payloads.size());
+        List<CardCreatedEvent> events = payloads.stream()
+                .map(payload -> read(payload, CardCreatedEvent.class))
+                .sorted((a, b) -> a.cardId().compareTo(b.cardId()))
+                .toList();
+        List<BigDecimal> balances = jdbcTemplate.queryForList(
+                "SELECT balance FROM cards WHERE user_id = ? ORDER BY id", BigDecimal.class, user.getId());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(new CardCreatedEvent(ids.get(i), user.getId(), LocalDate.of(2030, 1, 31),
+                    balances.get(i), CardStatus.ACTIVE), events.get(i));
+        }
+    }
+
+    @Test
+    void testCopyCards_TwiceInOneTransactionInsertsEachCardOnce() throws Exception {
+        // Act
+        cardCopyRepo.copyCards(List.of(card("4000-1111-2222-3333", BigDecimal.TEN)));
+        long second = cardCopyRepo.copyCards(List.of(card("4000-1111-2222-3341", BigDecimal.TEN)));
+
+        // Assert
+        assertEquals(1, second);
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM cards WHERE user_id = ?", Integer.class, user.getId()));
+        assertEquals(2, payloads(OutboxService.CARD_CREATED).size());
+    }
+
+    @Test
+    void testExpireCards_ExpiresActiveCardsAndWritesChangedMessages() {
+        // Arrange
+        long first = insertCard("a", CardStatus.ACTIVE, new BigDecimal("10.50"));
+        long second = insertCard("b", CardStatus.ACTIVE, new BigDecimal("0.00"));
+        long blocked = insertCard("c", CardStatus.BLOCKED, new BigDecimal("1.00"));
+
+        // Act
+        int expired = cardRepo.expireCards(List.of(first, second, blocked));
+
+        // Assert
+        assertEquals(2, expired);
+        assertEquals(List.of("EXPIRED", "EXPIRED", "BLOCKED"), jdbcTemplate.queryForList(
+                "SELECT status FROM cards WHERE id IN (?, ?, ?) ORDER BY id", String.class, first, second, blocked));
+        assertEquals(List.of(1L, 1L, 0L), jdbcTemplate.queryForList(
+                "SELECT version FROM cards WHERE id IN (?, ?, ?) ORDER BY id", Long.class, first, second, blocked));
+
+        List<CardChangedEvent> events = payloads(OutboxService.CARD_CHANGED).stream()
+                .map(payload -> read(payload, CardChangedEvent.class))
+                .toList();
+        assertEquals(List.of(
+                new CardChangedEvent(first, null, new BigDecimal("10.50"), CardStatus.EXPIRED, 1L),
+                new CardChangedEvent(second, null, new BigDecimal("0.00"), CardStatus.EXPIRED, 1L)), events);
+    }
+
+    @Test
+    void testEstimatePendingMessages_CoversIdRange() {
+        // Arrange
+        jdbcTemplate.update("DELETE FROM outbox_messages");
+        assertEquals(0, outboxMessageRepo.estimatePendingMessages());
+        long first = insertCard("a", CardStatus.ACTIVE, BigDecimal.ONE);
+        long second = insertCard("b", CardStatus.ACTIVE, BigDecimal.ONE);
+        cardRepo.expireCards(List.of(first, second));
+
+        // Act & Assert
+        assertEquals(2, outboxMessageRepo.estimatePendingMessages());
+    }
+
+    private static <T> T read(String payload, Class<T> type) {
+        try {
+            return OBJECT_MAPPER.readValue(payload, type);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.util.CardNumbers;
+import com.example.bankcards.util.SimpleCardEncryptConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures card number encryption and decryption by {@link SimpleCardEncryptConverter},
+ * which runs for every card written and every card entity loaded outside the second-level cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CardEncryptionBenchmark {
+
+    private final SimpleCardEncryptConverter converter = new SimpleCardEncryptConverter();
+
+    private String cardNumber;
+    private String encrypted;
+
+    @Setup
+    public void setUp() {
+        long payload = 400_012_345_678_901L;
+        cardNumber = CardNumbers.format(payload * 10 + CardNumbers.luhnCheckDigit(payload));
+        encrypted = converter.convertToDatabaseColumn(cardNumber);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return converter.convertToDatabaseColumn(cardNumber);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return converter.convertToEntityAttribute(encrypted);
+    }
+}
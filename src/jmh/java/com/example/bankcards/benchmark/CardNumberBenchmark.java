@@ -0,0 +1,102 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.util.CardNumbers;
+import com.example.bankcards.util.CardUtil;
+import com.example.bankcards.util.CardValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares card number validation and masking against the regex and substring based
+ * implementations they replaced. Run with the {@code benchmarks} profile and
+ * {@code -prof gc} to see the allocation rate of each variant.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CardNumberBenchmark {
+
+    private static final int SIZE = 1024;
+    private static final String BIN = "4000";
+
+    private String[] cardNumbers;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        long binPrefix = Long.parseLong(BIN) * 100_000_000_000L;
+        cardNumbers = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            long payload = binPrefix + random.nextLong(100_000_000_000L);
+            String number = CardNumbers.format(payload * 10 + CardNumbers.luhnCheckDigit(payload));
+            // every eighth number is malformed, as in a typical import with some bad rows
+            cardNumbers[i] = i % 8 == 0 ? number.replace('-', ' ') : number;
+        }
+    }
+
+    @Benchmark
+    public void validateRegex(Blackhole blackhole) {
+        for (String cardNumber : cardNumbers) {
+            blackhole.consume(legacyIsValidCardNumber(cardNumber));
+        }
+    }
+
+    @Benchmark
+    public void validateFormat(Blackhole blackhole) {
+        for (String cardNumber : cardNumbers) {
+            blackhole.consume(CardValidator.isValidCardNumber(cardNumber));
+        }
+    }
+
+    @Benchmark
+    public void validateLuhn(Blackhole blackhole) {
+        for (String cardNumber : cardNumbers) {
+            blackhole.consume(CardNumbers.isLuhnValid(CardNumbers.parse(cardNumber)));
+        }
+    }
+
+    @Benchmark
+    public void maskSubstring(Blackhole blackhole) {
+        for (String cardNumber : cardNumbers) {
+            blackhole.consume(legacyMaskCardNumber(cardNumber));
+        }
+    }
+
+    @Benchmark
+    public void maskCharArray(Blackhole blackhole) {
+        for (String cardNumber : cardNumbers) {
+            blackhole.consume(CardUtil.maskCardNumber(cardNumber));
+        }
+    }
+
+    private static boolean legacyIsValidCardNumber(String cardNumber) {
+        if (cardNumber == null || cardNumber.length() != 19) {
+            return false;
+        }
+        String regex = "^" + BIN + "-\\d{4}-\\d{4}-\\d{4}$";
+        return cardNumber.matches(regex);
+    }
+
+    private static String legacyMaskCardNumber(String cardNumber) {
+        if (cardNumber == null || cardNumber.length() < 16) {
+            return cardNumber;
+        }
+        String lastFourDigits = cardNumber.substring(cardNumber.length() - 4);
+        return "**** **** **** " + lastFourDigits;
+    }
+}
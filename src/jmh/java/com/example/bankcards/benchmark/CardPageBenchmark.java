@@ -0,0 +1,94 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.dto.CardDTO;
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.util.CardNumbers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building a page of card listings: mapping entities with {@link CardDTO#fromEntity},
+ * which masks the card numbers, and serializing the page to JSON the way {@code GET /api/cards} does,
+ * through {@link PagedModel} as configured by {@code WebConfig}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CardPageBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private List<Card> cards;
+    private Page<CardDTO> page;
+
+    @Setup
+    public void setUp() {
+        cards = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            long payload = 400_000_000_000_000L + i;
+            Card card = new Card();
+            card.setId((long) i + 1);
+            card.setCardNumber(CardNumbers.format(payload * 10 + CardNumbers.luhnCheckDigit(payload)));
+            card.setOwnerName("John Doe");
+            card.setExpirationDate(LocalDate.of(2030, 12, 31));
+            card.setStatus(CardStatus.ACTIVE);
+            card.setBalance(BigDecimal.valueOf(1500 + i, 2));
+            cards.add(card);
+        }
+        page = new PageImpl<>(toDTOs(), PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public List<CardDTO> fromEntity() {
+        return toDTOs();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(new PagedModel<>(page));
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializePage() throws Exception {
+        Page<CardDTO> mapped = new PageImpl<>(toDTOs(), PageRequest.of(0, pageSize), 10_000);
+        return objectMapper.writeValueAsBytes(new PagedModel<>(mapped));
+    }
+
+    private List<CardDTO> toDTOs() {
+        List<CardDTO> dtos = new ArrayList<>(cards.size());
+        for (Card card : cards) {
+            dtos.add(CardDTO.fromEntity(card));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.bankcards.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files, for example from two releases, and prints the primary score
+ * of every benchmark found in both with the relative change. Benchmarks are matched by name, mode and
+ * parameters. A change larger than the combined score errors is marked, so noise is not mistaken for
+ * a regression.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.bankcards.benchmark.JmhResultDiff -Dexec.args="old.json new.json"}.
+ */
+public final class JmhResultDiff {
+
+    private JmhResultDiff() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: JmhResultDiff <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = read(mapper, new File(args[0]));
+        Map<String, JsonNode> candidate = read(mapper, new File(args[1]));
+
+        System.out.printf("%-80s %14s %14s %10s %s%n", "Benchmark", "Baseline", "Candidate", "Change", "Unit");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue().path("primaryMetric");
+            if (before == null) {
+                System.out.printf("%-80s %14s %14.3f %10s %s%n", entry.getKey(), "-",
+                        after.path("score").asDouble(), "new", after.path("scoreUnit").asText());
+                continue;
+            }
+            before = before.path("primaryMetric");
+            double oldScore = before.path("score").asDouble();
+            double newScore = after.path("score").asDouble();
+            double change = oldScore == 0 ? 0 : (newScore - oldScore) / oldScore * 100;
+            boolean significant = Math.abs(newScore - oldScore) > errorOf(before) + errorOf(after);
+            System.out.printf("%-80s %14.3f %14.3f %+9.1f%% %s%s%n", entry.getKey(), oldScore, newScore,
+                    change, after.path("scoreUnit").asText(), significant ? " *" : "");
+        }
+        for (String key : baseline.keySet()) {
+            if (!candidate.containsKey(key)) {
+                System.out.printf("%-80s %14s%n", key, "removed");
+            }
+        }
+    }
+
+    private static Map<String, JsonNode> read(ObjectMapper mapper, File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : mapper.readTree(file)) {
+            results.put(keyOf(result), result);
+        }
+        return results;
+    }
+
+    private static String keyOf(JsonNode result) {
+        String benchmark = result.path("benchmark").asText();
+        String simpleName = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+        StringBuilder key = new StringBuilder(simpleName).append(' ').append(result.path("mode").asText());
+        Map<String, String> params = new TreeMap<>();
+        result.path("params").properties().forEach(param -> params.put(param.getKey(), param.getValue().asText()));
+        params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+        return key.toString();
+    }
+
+    private static double errorOf(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble();
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
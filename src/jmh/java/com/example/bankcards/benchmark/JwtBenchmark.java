@@ -0,0 +1,61 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.util.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures token issuing on login and token validation, which {@code JwtAuthenticationFilter}
+ * performs on every authenticated request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtBenchmark {
+
+    private static final String SECRET = "1dbeba6bb23b19be498f32d4646c7e68ae02594b8c1b60f20c67f694eea27377";
+
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "SECRET", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expirationTimeInSeconds", 1800);
+        userDetails = User.withUsername("user1").password("pass").roles("USER").build();
+        token = jwtUtil.generateToken(userDetails.getUsername());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(userDetails.getUsername());
+    }
+
+    @Benchmark
+    public String extractUserName() {
+        return jwtUtil.extractUserName(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.isTokenValid(token, userDetails);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.dto.ErrorResponse;
+import com.example.bankcards.exception.ErrorCode;
+import com.example.bankcards.exception.exceptions.InsufficientFundsException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a transfer rejected for insufficient funds, from the balance check to the error body,
+ * with the previous exception that captured a stack trace and with the stackless
+ * {@link InsufficientFundsException}. The exception is thrown {@code depth} frames below the
+ * catch site, roughly the depth of a service call under the servlet, security filter and
+ * transaction proxy stack, since the cost of capturing a trace grows with the depth.
+ * Both variants build the same {@link ErrorResponse}, so they differ only in the exception they throw.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RejectedTransferBenchmark {
+
+    @Param({"20", "120"})
+    public int depth;
+
+    private final BigDecimal balance = BigDecimal.valueOf(100);
+    private final BigDecimal amount = BigDecimal.valueOf(500);
+
+    @Benchmark
+    public Object rejectWithStackTrace() {
+        try {
+            return transfer(depth, false);
+        } catch (LegacyInsufficientFundsException e) {
+            return new ErrorResponse(ErrorCode.INSUFFICIENT_FUNDS, e.getMessage());
+        }
+    }
+
+    @Benchmark
+    public Object rejectStackless() {
+        try {
+            return transfer(depth, true);
+        } catch (InsufficientFundsException e) {
+            return new ErrorResponse(e.getErrorCode(), e.getMessage());
+        }
+    }
+
+    private Object transfer(int remainingFrames, boolean stackless) {
+        if (remainingFrames > 0) {
+            return transfer(remainingFrames - 1, stackless);
+        }
+        if (balance.compareTo(amount) < 0) {
+            throw stackless
+                    ? new InsufficientFundsException("Insufficient funds")
+                    : new LegacyInsufficientFundsException("Insufficient funds");
+        }
+        return balance.subtract(amount);
+    }
+
+    /**
+     * The card exceptions as they were before: a plain runtime exception with a stack trace.
+     */
+    private static class LegacyInsufficientFundsException extends RuntimeException {
+        LegacyInsufficientFundsException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.bankcards.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares request execution on a bounded platform thread pool, sized like Tomcat's default,
+ * with virtual threads, under many concurrent clients whose requests block on I/O the way
+ * the JDBC calls in the card services do. The {@code virtual-synchronized} variant blocks
+ * inside a {@code synchronized} block, which pins the carrier thread and shows why blocking
+ * code paths use {@link java.util.concurrent.locks.ReentrantLock} instead.
+ * <p>
+ * Virtual threads need Java 21; the executor is created reflectively so the benchmark
+ * compiles with the default Java 17 build. Run with {@code mvn -Pjava21,benchmarks -DskipTests verify
+ * -Djmh.includes=RequestExecutorBenchmark}; the sample-time mode reports the latency percentiles.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(1000)
+@State(Scope.Benchmark)
+public class RequestExecutorBenchmark {
+
+    /**
+     * The default maximum number of Tomcat worker threads ({@code server.tomcat.threads.max}).
+     */
+    private static final int PLATFORM_POOL_SIZE = 200;
+
+    @Param({"platform", "virtual", "virtual-synchronized"})
+    public String threads;
+
+    @Param({"5"})
+    public long blockingMillis;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = threads.equals("platform")
+                ? Executors.newFixedThreadPool(PLATFORM_POOL_SIZE)
+                : newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public Object request() throws Exception {
+        boolean pinned = threads.equals("virtual-synchronized");
+        return executor.submit(() -> pinned ? handlePinned() : handle()).get();
+    }
+
+    private Object handle() throws InterruptedException {
+        Thread.sleep(blockingMillis);
+        return Thread.currentThread();
+    }
+
+    private Object handlePinned() throws InterruptedException {
+        Object monitor = new Object();
+        synchronized (monitor) {
+            return handle();
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require Java 21, build with -Pjava21", e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.bankcards.loadtest;
+
+import com.example.bankcards.datagen.DatasetGenerator;
+import com.example.bankcards.util.CardNumbers;
+import com.example.bankcards.util.SimpleCardEncryptConverter;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seeds the synthetic users and cards of a load test run.
+ * Users are inserted with a single {@code INSERT ... SELECT} over {@code generate_series},
+ * cards are loaded with {@code COPY} in chunks, with card numbers encrypted like the entity mapping does.
+ * All users share the password {@value DatasetGenerator#PASSWORD}.
+ */
+public class DatasetSeeder {
+
+    public static final String USERNAME_PREFIX = "load-user-";
+
+    private static final String BIN = "4000";
+    private static final int COPY_CHUNK_ROWS = 50_000;
+
+    private static final String INSERT_USERS_SQL = "INSERT INTO users (username, first_name, last_name, password, role) "
+            + "SELECT ? || g, 'Load', 'User ' || g, ?, 'USER' FROM generate_series(1, ?) g";
+    private static final String SELECT_USER_IDS_SQL = "SELECT id FROM users WHERE username LIKE ? ORDER BY id";
+    private static final String COPY_CARDS_SQL = "COPY cards (card_number, owner_name, expiration_date, status, balance, user_id) "
+            + "FROM STDIN WITH (FORMAT csv)";
+    private static final String SELECT_CARDS_SQL = "SELECT u.username, c.id FROM cards c JOIN users u ON u.id = c.user_id "
+            + "WHERE c.user_id = ANY (?) ORDER BY c.user_id, c.id";
+
+    private final DataSource dataSource;
+    private final SimpleCardEncryptConverter converter = new SimpleCardEncryptConverter();
+
+    public DatasetSeeder(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Inserts the users and their cards. Every card is active, valid for three years
+     * and has a balance large enough for the transfers of a whole run.
+     *
+     * @param users        the number of users
+     * @param cardsPerUser the number of cards of each user
+     * @return the IDs of the inserted users in insertion order
+     * @throws SQLException if seeding fails
+     */
+    public List<Long> seed(int users, int cardsPerUser) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_USERS_SQL)) {
+                statement.setString(1, USERNAME_PREFIX);
+                statement.setString(2, DatasetGenerator.PASSWORD_HASH);
+                statement.setInt(3, users);
+                statement.executeUpdate();
+            }
+            List<Long> userIds = new ArrayList<>(users);
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_USER_IDS_SQL)) {
+                statement.setString(1, USERNAME_PREFIX + "%");
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        userIds.add(resultSet.getLong(1));
+                    }
+                }
+            }
+
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            LocalDate expirationDate = LocalDate.now().plusYears(3);
+            long binPrefix = Long.parseLong(BIN) * 100_000_000_000L;
+            StringBuilder csv = new StringBuilder(COPY_CHUNK_ROWS * 96);
+            int rows = 0;
+            for (int i = 0; i < userIds.size(); i++) {
+                for (int c = 0; c < cardsPerUser; c++) {
+                    // same numbering as DatasetGenerator, so both datasets can be loaded together
+                    long payload = binPrefix + userIds.get(i) * DatasetGenerator.MAX_CARDS_PER_USER + c;
+                    String cardNumber = CardNumbers.format(payload * 10 + CardNumbers.luhnCheckDigit(payload));
+                    csv.append(converter.convertToDatabaseColumn(cardNumber)).append(',')
+                            .append("Load User ").append(i + 1).append(',')
+                            .append(expirationDate).append(",ACTIVE,1000000.00,")
+                            .append(userIds.get(i)).append('\n');
+                    if (++rows == COPY_CHUNK_ROWS) {
+                        copy(copyManager, csv);
+                        rows = 0;
+                    }
+                }
+            }
+            if (rows > 0) {
+                copy(copyManager, csv);
+            }
+            return userIds;
+        }
+    }
+
+    /**
+     * Loads the card IDs of the given users.
+     *
+     * @param userIds the user IDs
+     * @return the card IDs by username, in the order of the given users
+     * @throws SQLException if the query fails
+     */
+    public Map<String, long[]> findCardIds(List<Long> userIds) throws SQLException {
+        Map<String, List<Long>> cardIds = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_CARDS_SQL)) {
+            Array ids = connection.createArrayOf("bigint", userIds.toArray());
+            statement.setArray(1, ids);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    cardIds.computeIfAbsent(resultSet.getString(1), username -> new ArrayList<>())
+                            .add(resultSet.getLong(2));
+                }
+            }
+        }
+        Map<String, long[]> result = new LinkedHashMap<>();
+        cardIds.forEach((username, ids) -> result.put(username, ids.stream().mapToLong(Long::longValue).toArray()));
+        return result;
+    }
+
+    private static void copy(CopyManager copyManager, StringBuilder csv) throws SQLException {
+        try {
+            copyManager.copyIn(COPY_CARDS_SQL, new StringReader(csv.toString()));
+        } catch (IOException e) {
+            throw new SQLException("Failed to stream COPY data", e);
+        }
+        csv.setLength(0);
+    }
+}
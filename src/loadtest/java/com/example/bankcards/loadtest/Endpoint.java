@@ -0,0 +1,55 @@
+package com.example.bankcards.loadtest;
+
+/**
+ * The operations of the load test workload, each mapped to one endpoint of the API.
+ */
+public enum Endpoint {
+
+    /**
+     * {@code POST /api/auth/login}, dominated by the BCrypt password check.
+     */
+    LOGIN("login"),
+    /**
+     * {@code GET /api/cards}, the first page of the user's cards.
+     */
+    LIST("list"),
+    /**
+     * {@code GET /api/card/balance/{id}} for one of the user's cards.
+     */
+    BALANCE("balance"),
+    /**
+     * {@code POST /api/card/transfer} between two of the user's cards.
+     */
+    TRANSFER("transfer");
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Returns the name of the endpoint used in the options and in the report.
+     *
+     * @return the endpoint key
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * Finds an endpoint by its key.
+     *
+     * @param key the endpoint key, e.g. {@code balance}
+     * @return the endpoint
+     * @throws IllegalArgumentException if no endpoint has the key
+     */
+    public static Endpoint of(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint '" + key + "'");
+    }
+}
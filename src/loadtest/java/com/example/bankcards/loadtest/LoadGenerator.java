@@ -0,0 +1,213 @@
+package com.example.bankcards.loadtest;
+
+import com.example.bankcards.datagen.DatasetGenerator;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are started at a fixed rate regardless of how fast the
+ * application responds, the way independent clients arrive in production.
+ * <p>
+ * Latency is measured from the time a request was <em>scheduled</em> to start, not from when it was
+ * actually sent. If the application or the generator stalls, the requests that should have been sent
+ * during the stall are charged the waiting time as well, which corrects for coordinated omission:
+ * a closed-loop client would simply send fewer requests while the system is slow and hide the stall
+ * from the percentiles.
+ */
+public class LoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final String TRANSFER_AMOUNT = "0.01";
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final List<Session> sessions;
+    private final LoadTestOptions options;
+
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+    private final AtomicLong inFlight = new AtomicLong();
+
+    /**
+     * Creates a generator for the given sessions.
+     *
+     * @param client   the HTTP client
+     * @param baseUri  the URI of the application
+     * @param sessions the logged in users
+     * @param options  the options of the run
+     * @throws IllegalArgumentException if there are no sessions, or the mix has transfers and a session has
+     *                                  fewer than two cards
+     */
+    public LoadGenerator(HttpClient client, URI baseUri, List<Session> sessions, LoadTestOptions options) {
+        if (sessions.isEmpty()) {
+            throw new IllegalArgumentException("No sessions to drive the workload");
+        }
+        if (options.mix().getOrDefault(Endpoint.TRANSFER, 0) > 0) {
+            for (Session session : sessions) {
+                if (session.cardIds().length < 2) {
+                    throw new IllegalArgumentException("Transfers need two cards, user " + session.username()
+                            + " has " + session.cardIds().length);
+                }
+            }
+        }
+        this.client = client;
+        this.baseUri = baseUri;
+        this.sessions = sessions;
+        this.options = options;
+        this.endpoints = options.mix().keySet().toArray(new Endpoint[0]);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += options.mix().get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+        for (Endpoint endpoint : endpoints) {
+            stats.put(endpoint, new Stats());
+        }
+    }
+
+    /**
+     * Runs the warmup and the measured phase and waits for outstanding requests.
+     * Only requests scheduled during the measured phase are recorded.
+     *
+     * @param onMeasureStart called once, before the first request of the measured phase is sent,
+     *                       e.g. to reset server-side counters
+     * @return the results of the measured phase
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public LoadTestReport run(Runnable onMeasureStart) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        SplittableRandom random = new SplittableRandom(42);
+        long maxSendLagNanos = 0;
+        boolean measuring = false;
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = intended >= measureFrom;
+            if (measured && !measuring) {
+                measuring = true;
+                onMeasureStart.run();
+            }
+            if (measured) {
+                maxSendLagNanos = Math.max(maxSendLagNanos, System.nanoTime() - intended);
+            }
+            Endpoint endpoint = nextEndpoint(random);
+            Session session = sessions.get(random.nextInt(sessions.size()));
+            send(endpoint, request(endpoint, session, random), intended, measured);
+        }
+
+        long deadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return LoadTestReport.of(options, stats, TimeUnit.NANOSECONDS.toMicros(maxSendLagNanos));
+    }
+
+    private void send(Endpoint endpoint, HttpRequest request, long intended, boolean measured) {
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    inFlight.decrementAndGet();
+                    if (measured) {
+                        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+                        stats.get(endpoint).record(latencyMicros, error == null ? response.statusCode() : -1);
+                    }
+                });
+    }
+
+    private Endpoint nextEndpoint(SplittableRandom random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("Weights are exhausted");
+    }
+
+    private HttpRequest request(Endpoint endpoint, Session session, SplittableRandom random) {
+        long[] cards = session.cardIds();
+        return switch (endpoint) {
+            case LOGIN -> post("/api/auth/login", null, "{\"username\":\"" + session.username()
+                    + "\",\"password\":\"" + DatasetGenerator.PASSWORD + "\"}");
+            case LIST -> get("/api/cards?page=0&size=20", session);
+            case BALANCE -> get("/api/card/balance/" + cards[random.nextInt(cards.length)], session);
+            case TRANSFER -> {
+                int source = random.nextInt(cards.length);
+                int target = (source + 1 + random.nextInt(cards.length - 1)) % cards.length;
+                yield post("/api/card/transfer", session, "{\"sourceCardId\":" + cards[source]
+                        + ",\"targetCardId\":" + cards[target] + ",\"amount\":" + TRANSFER_AMOUNT + "}");
+            }
+        };
+    }
+
+    private HttpRequest get(String path, Session session) {
+        return builder(path, session).GET().build();
+    }
+
+    private HttpRequest post(String path, Session session, String json) {
+        return builder(path, session)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder builder(String path, Session session) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+        if (session != null) {
+            builder.header("Authorization", "Bearer " + session.token());
+        }
+        return builder;
+    }
+
+    /**
+     * Latencies and outcomes of the requests to one endpoint. Recorded concurrently by the client threads.
+     */
+    static final class Stats {
+
+        final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        final Map<Integer, LongAdder> errorsByStatus = new ConcurrentHashMap<>();
+
+        /**
+         * Records a completed request.
+         *
+         * @param latencyMicros the time since the request was scheduled
+         * @param status        the response status, or -1 if no response was received
+         */
+        void record(long latencyMicros, int status) {
+            latencies.recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+            if (status < 200 || status >= 400) {
+                errors.increment();
+                errorsByStatus.computeIfAbsent(status, s -> new LongAdder()).increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.bankcards.loadtest;
+
+import com.example.bankcards.Main;
+import com.example.bankcards.datagen.DatagenProperties;
+import com.example.bankcards.datagen.DatasetGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end load test: starts PostgreSQL from the embedded binaries (no Docker needed) and the
+ * application on a random port, seeds a synthetic dataset, optionally behind a realistic volume of
+ * background users from {@link DatasetGenerator}, drives the configured mix of login,
+ * card listing, balance and transfer requests with {@link LoadGenerator}, and reports throughput
+ * and latency percentiles per endpoint, together with the second-level cache hit ratio per region and the
+ * number of JDBC statements of the measured phase. {@code -Dloadtest.l2-cache=false} runs the same workload
+ * with the cache off, for comparison.
+ * <p>
+ * Exits with status 1 if a p99 or error rate limit is exceeded, so the run fails the build
+ * and can serve as a release performance gate. See {@link LoadTestOptions} for the settings;
+ * arguments are passed on to the application, e.g. {@code --spring.datasource.hikari.maximum-pool-size=20}.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        List<String> violations;
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext context = startApplication(postgres, options, args)) {
+            DataSource dataSource = context.getBean(DataSource.class);
+            if (options.backgroundUsers() > 0) {
+                DatagenProperties datagen = new DatagenProperties();
+                datagen.setUsers(options.backgroundUsers());
+                DatasetGenerator.Result result = new DatasetGenerator(dataSource, datagen).generate();
+                System.out.printf("Generated %d background users with %d cards in %d ms%n",
+                        result.users(), result.cards(), result.millis());
+            }
+            DatasetSeeder seeder = new DatasetSeeder(dataSource);
+            long seedStart = System.nanoTime();
+            List<Long> userIds = seeder.seed(options.users(), options.cardsPerUser());
+            System.out.printf("Seeded %d users with %d cards each in %d ms%n", userIds.size(), options.cardsPerUser(),
+                    Duration.ofNanos(System.nanoTime() - seedStart).toMillis());
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI baseUri = URI.create("http://localhost:" + port);
+            ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "loadtest-client");
+                thread.setDaemon(true);
+                return thread;
+            });
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(executor)
+                    .build();
+
+            List<Session> sessions = login(client, baseUri,
+                    seeder.findCardIds(userIds.subList(0, options.sessions())));
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            LoadTestReport report = new LoadGenerator(client, baseUri, sessions, options)
+                    .run(statistics::clear)
+                    .withStatistics(statistics);
+            executor.shutdownNow();
+
+            report.print(System.out);
+            if (options.report() != null) {
+                report.write(Path.of(options.report()));
+                System.out.println("Report written to " + options.report());
+            }
+            violations = report.checkGates(options);
+        }
+        violations.forEach(violation -> System.err.println("Performance gate failed: " + violation));
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * Starts the application against the embedded database. Liquibase creates the schema on startup.
+     * Hibernate statistics are always collected, for the cache section of the report.
+     *
+     * @param postgres the running database
+     * @param options  the options of the run
+     * @param args     additional application arguments
+     * @return the application context
+     */
+    private static ConfigurableApplicationContext startApplication(EmbeddedPostgres postgres, LoadTestOptions options,
+                                                                   String[] args) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--server.port=0",
+                "--app.rate-limit.enabled=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.jpa.properties.hibernate.generate_statistics=true"));
+        if (!options.l2Cache()) {
+            arguments.add("--spring.jpa.properties.hibernate.cache.use_second_level_cache=false");
+            arguments.add("--spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        }
+        arguments.addAll(List.of(args));
+        return new SpringApplicationBuilder(Main.class).run(arguments.toArray(new String[0]));
+    }
+
+    /**
+     * Logs in the session users in parallel; each login costs a BCrypt check.
+     *
+     * @param client  the HTTP client
+     * @param baseUri the URI of the application
+     * @param cardIds the card IDs by username of the users to log in
+     * @return the sessions with their tokens
+     * @throws IllegalStateException if a login fails
+     */
+    private static List<Session> login(HttpClient client, URI baseUri, Map<String, long[]> cardIds) {
+        ObjectMapper mapper = new ObjectMapper();
+        List<CompletableFuture<Session>> logins = new ArrayList<>();
+        cardIds.forEach((username, ids) -> {
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"" + username
+                            + "\",\"password\":\"" + DatasetGenerator.PASSWORD + "\"}"))
+                    .build();
+            logins.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .thenApply(response -> {
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("Login of " + username + " failed: " + response.statusCode());
+                        }
+                        try {
+                            return new Session(username, mapper.readTree(response.body()).path("jwt").asText(), ids);
+                        } catch (Exception e) {
+                            throw new IllegalStateException("Unexpected login response for " + username, e);
+                        }
+                    }));
+        });
+        return logins.stream().map(CompletableFuture::join).toList();
+    }
+}
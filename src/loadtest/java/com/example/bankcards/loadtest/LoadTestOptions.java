@@ -0,0 +1,111 @@
+package com.example.bankcards.loadtest;
+
+import com.example.bankcards.datagen.DatasetGenerator;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, read from {@code loadtest.*} system properties.
+ *
+ * @param backgroundUsers    the number of additional users generated by {@code DatasetGenerator}, which are not
+ *                           part of the workload but give the tables a realistic size
+ * @param users              the number of synthetic users to seed
+ * @param cardsPerUser       the number of cards seeded for each user, at least 2 if the mix has transfers
+ * @param sessions           the number of users logged in up front whose tokens drive the workload,
+ *                           at most the number of users
+ * @param rate               the target request rate per second, independent of response times
+ * @param warmup             the time to run the workload before measuring
+ * @param duration           the measured time
+ * @param mix                the relative weight of each endpoint in the workload
+ * @param gateP99            the maximum allowed p99 latency per endpoint; endpoints without one are not gated
+ * @param maxErrorRate       the maximum allowed share of failed requests per endpoint
+ * @param l2Cache            whether the Hibernate second-level and query caches are enabled, so runs with and
+ *                           without them can be compared
+ * @param report             the path of the JSON report, or null to skip writing it
+ */
+public record LoadTestOptions(int backgroundUsers,
+                              int users,
+                              int cardsPerUser,
+                              int sessions,
+                              int rate,
+                              Duration warmup,
+                              Duration duration,
+                              Map<Endpoint, Integer> mix,
+                              Map<Endpoint, Duration> gateP99,
+                              double maxErrorRate,
+                              boolean l2Cache,
+                              String report) {
+
+    /**
+     * Reads the options from system properties, falling back to defaults suitable for a quick local run.
+     *
+     * @return the options
+     * @throws IllegalArgumentException if a property has an invalid value
+     */
+    public static LoadTestOptions fromSystemProperties() {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        parsePairs(System.getProperty("loadtest.mix", "login=2,list=38,balance=50,transfer=10"))
+                .forEach((endpoint, weight) -> mix.put(endpoint, Integer.parseInt(weight)));
+        Map<Endpoint, Duration> gateP99 = new EnumMap<>(Endpoint.class);
+        parsePairs(System.getProperty("loadtest.gate.p99", ""))
+                .forEach((endpoint, millis) -> gateP99.put(endpoint, Duration.ofMillis(Long.parseLong(millis))));
+
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.getInteger("loadtest.background-users", 0),
+                Integer.getInteger("loadtest.users", 1000),
+                Integer.getInteger("loadtest.cards-per-user", 5),
+                Integer.getInteger("loadtest.sessions", 100),
+                Integer.getInteger("loadtest.rate", 200),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT30S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT2M")),
+                mix,
+                gateP99,
+                Double.parseDouble(System.getProperty("loadtest.gate.max-error-rate", "0.01")),
+                Boolean.parseBoolean(System.getProperty("loadtest.l2-cache", "true")),
+                System.getProperty("loadtest.report"));
+        if (options.users < 1 || options.rate < 1) {
+            throw new IllegalArgumentException("loadtest.users and loadtest.rate must be positive, got "
+                    + options.users + " and " + options.rate);
+        }
+        // a transfer needs two cards of the same user
+        int minCardsPerUser = mix.getOrDefault(Endpoint.TRANSFER, 0) > 0 ? 2 : 1;
+        if (options.cardsPerUser < minCardsPerUser || options.cardsPerUser > DatasetGenerator.MAX_CARDS_PER_USER) {
+            throw new IllegalArgumentException("loadtest.cards-per-user must be between " + minCardsPerUser
+                    + (minCardsPerUser > 1 ? " (for transfers)" : "") + " and " + DatasetGenerator.MAX_CARDS_PER_USER
+                    + ", got " + options.cardsPerUser);
+        }
+        if (options.sessions < 1 || options.sessions > options.users) {
+            throw new IllegalArgumentException("loadtest.sessions must be between 1 and loadtest.users ("
+                    + options.users + "), got " + options.sessions);
+        }
+        if (mix.values().stream().anyMatch(weight -> weight < 0)
+                || mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("loadtest.mix weights must not be negative and must have a positive sum, got "
+                    + mix);
+        }
+        return options;
+    }
+
+    /**
+     * Parses a list like {@code list=40,balance=50} into values by endpoint.
+     *
+     * @param value the comma-separated {@code endpoint=value} pairs
+     * @return the values by endpoint
+     */
+    private static Map<Endpoint, String> parsePairs(String value) {
+        Map<Endpoint, String> pairs = new EnumMap<>(Endpoint.class);
+        for (String pair : value.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            int separator = pair.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected endpoint=value, got '" + pair + "'");
+            }
+            pairs.put(Endpoint.of(pair.substring(0, separator).trim()), pair.substring(separator + 1).trim());
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.bankcards.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Results of the measured phase of a load test run. Latencies are in milliseconds and include
+ * the time a request waited to be sent after it was scheduled.
+ *
+ * @param rate            the target request rate per second
+ * @param durationSeconds the length of the measured phase
+ * @param users           the number of seeded users
+ * @param cardsPerUser    the number of cards of each user
+ * @param maxSendLagMillis the largest delay of the generator behind its schedule; a high value means
+ *                        the generator itself could not keep up and the run should be repeated with a lower rate
+ * @param endpoints       the results per endpoint
+ * @param l2Cache         whether the second-level and query caches were enabled
+ * @param statements      the number of JDBC statements the application prepared during the measured phase
+ * @param cacheRegions    the results per second-level cache region; empty if the cache was disabled
+ */
+public record LoadTestReport(int rate,
+                             long durationSeconds,
+                             int users,
+                             int cardsPerUser,
+                             double maxSendLagMillis,
+                             List<EndpointResult> endpoints,
+                             boolean l2Cache,
+                             long statements,
+                             List<CacheRegionResult> cacheRegions) {
+
+    /**
+     * Results of one endpoint.
+     *
+     * @param endpoint       the endpoint key
+     * @param requests       the number of completed requests
+     * @param errors         the number of failed requests (4xx, 5xx or no response)
+     * @param errorsByStatus the failed requests by status, -1 standing for no response
+     * @param throughput     the completed requests per second
+     * @param p50            the median latency
+     * @param p99            the 99th percentile latency
+     * @param p999           the 99.9th percentile latency
+     * @param max            the maximum latency
+     */
+    public record EndpointResult(String endpoint,
+                                 long requests,
+                                 long errors,
+                                 Map<Integer, Long> errorsByStatus,
+                                 double throughput,
+                                 double p50,
+                                 double p99,
+                                 double p999,
+                                 double max) {
+
+        /**
+         * Returns the share of failed requests.
+         *
+         * @return the error rate between 0 and 1
+         */
+        public double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    /**
+     * Results of one second-level cache region.
+     *
+     * @param region   the region name
+     * @param hits     the lookups found in the cache
+     * @param misses   the lookups that went to the database
+     * @param puts     the entries put into the cache
+     * @param hitRatio the share of lookups that were hits, between 0 and 1
+     */
+    public record CacheRegionResult(String region,
+                                    long hits,
+                                    long misses,
+                                    long puts,
+                                    double hitRatio) {
+
+        static CacheRegionResult of(String region, CacheRegionStatistics statistics) {
+            long lookups = statistics.getHitCount() + statistics.getMissCount();
+            return new CacheRegionResult(region, statistics.getHitCount(), statistics.getMissCount(),
+                    statistics.getPutCount(), lookups == 0 ? 0 : (double) statistics.getHitCount() / lookups);
+        }
+    }
+
+    static LoadTestReport of(LoadTestOptions options, Map<Endpoint, LoadGenerator.Stats> stats, long maxSendLagMicros) {
+        double seconds = options.duration().toNanos() / 1e9;
+        List<EndpointResult> results = new ArrayList<>();
+        stats.forEach((endpoint, endpointStats) -> {
+            Histogram latencies = endpointStats.latencies;
+            Map<Integer, Long> errorsByStatus = new TreeMap<>();
+            endpointStats.errorsByStatus.forEach((status, count) -> errorsByStatus.put(status, count.sum()));
+            results.add(new EndpointResult(endpoint.key(),
+                    latencies.getTotalCount(),
+                    endpointStats.errors.sum(),
+                    errorsByStatus,
+                    latencies.getTotalCount() / seconds,
+                    millis(latencies.getValueAtPercentile(50)),
+                    millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getValueAtPercentile(99.9)),
+                    millis(latencies.getMaxValue())));
+        });
+        return new LoadTestReport(options.rate(), options.duration().toSeconds(), options.users(),
+                options.cardsPerUser(), millis(maxSendLagMicros), List.copyOf(results), options.l2Cache(), 0, List.of());
+    }
+
+    /**
+     * Adds the Hibernate statistics collected since the start of the measured phase.
+     *
+     * @param statistics the statistics of the application's session factory
+     * @return a copy of this report with the statement count and the cache regions
+     */
+    LoadTestReport withStatistics(Statistics statistics) {
+        List<CacheRegionResult> regions = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                regions.add(CacheRegionResult.of(region, regionStatistics));
+            }
+        }
+        return new LoadTestReport(rate, durationSeconds, users, cardsPerUser, maxSendLagMillis, endpoints, l2Cache,
+                statistics.getPrepareStatementCount(), List.copyOf(regions));
+    }
+
+    /**
+     * Prints the results as a table.
+     *
+     * @param out the stream to print to
+     */
+    public void print(PrintStream out) {
+        out.printf("Target rate %d req/s for %d s, %d users x %d cards, max generator lag %.1f ms%n",
+                rate, durationSeconds, users, cardsPerUser, maxSendLagMillis);
+        out.printf("%-10s %10s %8s %10s %10s %10s %10s %10s%n",
+                "Endpoint", "Requests", "Errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (EndpointResult result : endpoints) {
+            out.printf("%-10s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%s%n",
+                    result.endpoint(), result.requests(), result.errors(), result.throughput(),
+                    result.p50(), result.p99(), result.p999(), result.max(),
+                    result.errorsByStatus().isEmpty() ? "" : "  errors by status " + result.errorsByStatus());
+        }
+        out.printf("L2 cache %s, %d JDBC statements%n", l2Cache ? "on" : "off", statements);
+        if (!cacheRegions.isEmpty()) {
+            out.printf("%-32s %10s %10s %10s %10s%n", "Cache region", "Hits", "Misses", "Puts", "Hit ratio");
+            for (CacheRegionResult region : cacheRegions) {
+                out.printf("%-32s %10d %10d %10d %9.1f%%%n",
+                        region.region(), region.hits(), region.misses(), region.puts(), region.hitRatio() * 100);
+            }
+        }
+    }
+
+    /**
+     * Writes the report as JSON, so runs of different releases can be compared.
+     *
+     * @param path the file to write
+     * @throws IOException if writing fails
+     */
+    public void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), this);
+    }
+
+    /**
+     * Checks the results against the p99 and error rate limits of the options.
+     *
+     * @param options the options with the limits
+     * @return a description of every exceeded limit; empty if the run passes
+     */
+    public List<String> checkGates(LoadTestOptions options) {
+        List<String> violations = new ArrayList<>();
+        for (EndpointResult result : endpoints) {
+            Duration maxP99 = options.gateP99().get(Endpoint.of(result.endpoint()));
+            if (maxP99 != null && result.p99() > maxP99.toMillis()) {
+                violations.add(String.format("%s: p99 %.2f ms exceeds %d ms", result.endpoint(), result.p99(), maxP99.toMillis()));
+            }
+            if (result.errorRate() > options.maxErrorRate()) {
+                violations.add(String.format("%s: error rate %.4f exceeds %.4f", result.endpoint(), result.errorRate(), options.maxErrorRate()));
+            }
+        }
+        return violations;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.bankcards.loadtest;
+
+/**
+ * A logged-in synthetic user driving the workload.
+ *
+ * @param username the username
+ * @param token    the JWT sent with every request of the user
+ * @param cardIds  the IDs of the user's cards
+ */
+public record Session(String username, String token, long[] cardIds) {
+}
@@ -0,0 +1,175 @@
+package com.example.bankcards.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configures read/write splitting between the primary database and a streaming replica.
+ * Enabled with {@code app.datasource.routing.enabled=true}; otherwise the single datasource
+ * from {@code spring.datasource} is auto-configured as usual.
+ * Transactions marked {@code @Transactional(readOnly = true)} are served by the replica pool,
+ * everything else (including Liquibase migrations) by the primary pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    /**
+     * Connection properties of the primary database, bound from {@code spring.datasource}.
+     *
+     * @return the primary datasource properties
+     */
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * Connection pool of the primary database, configured from {@code spring.datasource.hikari}.
+     *
+     * @param properties the primary datasource properties
+     * @return the primary connection pool
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(
+            @Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        dataSource.setRegisterMbeans(true);
+        return dataSource;
+    }
+
+    /**
+     * Connection properties of the replica, bound from {@code app.datasource.replica}.
+     *
+     * @return the replica datasource properties
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * Connection pool of the replica, configured from {@code app.datasource.replica.hikari}.
+     * Connections are read-only at the driver level as well.
+     *
+     * @param properties the replica datasource properties
+     * @return the replica connection pool
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.REPLICA);
+        dataSource.setReadOnly(true);
+        dataSource.setRegisterMbeans(true);
+        return dataSource;
+    }
+
+    /**
+     * Monitor that disables the replica when its replication lag exceeds the threshold.
+     *
+     * @param replicaDataSource the replica connection pool
+     * @param maxLag            the maximum tolerated replication lag
+     * @return the replica lag monitor
+     */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${app.datasource.routing.max-replica-lag:PT5S}") Duration maxLag) {
+        return new ReplicaLagMonitor(replicaDataSource, maxLag);
+    }
+
+    /**
+     * The datasource that routes read-only transactions to the replica.
+     *
+     * @param primaryDataSource the primary connection pool
+     * @param replicaDataSource the replica connection pool
+     * @param replicaLagMonitor the replica lag monitor
+     * @return the routing datasource
+     */
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                        ReplicaLagMonitor replicaLagMonitor) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(replicaLagMonitor);
+        routingDataSource.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.PRIMARY, primaryDataSource,
+                ReadWriteRoutingDataSource.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        return routingDataSource;
+    }
+
+    /**
+     * The datasource used by JPA, JDBC and Liquibase.
+     * The lazy proxy defers obtaining a physical connection until the first statement,
+     * when the transaction's read-only flag is already known to the routing datasource.
+     *
+     * @param routingDataSource the routing datasource
+     * @return the routing datasource wrapped in a lazy connection proxy
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Meters of the read/write routing: connections taken from each pool, fallbacks to the primary
+     * while the replica is unusable, and the measured replica lag. The pools themselves are
+     * instrumented by Spring Boot as {@code hikaricp.*} meters tagged with the pool name.
+     *
+     * @param routingDataSource the routing datasource
+     * @param replicaLagMonitor the replica lag monitor
+     * @return the binder of the routing meters
+     */
+    @Bean
+    public MeterBinder routingDataSourceMetrics(ReadWriteRoutingDataSource routingDataSource,
+                                                ReplicaLagMonitor replicaLagMonitor) {
+        return registry -> {
+            FunctionCounter.builder("datasource.routing.connections", routingDataSource,
+                            ReadWriteRoutingDataSource::getPrimaryConnections)
+                    .description("Connections routed to a pool")
+                    .tag("pool", ReadWriteRoutingDataSource.PRIMARY)
+                    .register(registry);
+            FunctionCounter.builder("datasource.routing.connections", routingDataSource,
+                            ReadWriteRoutingDataSource::getReplicaConnections)
+                    .description("Connections routed to a pool")
+                    .tag("pool", ReadWriteRoutingDataSource.REPLICA)
+                    .register(registry);
+            FunctionCounter.builder("datasource.routing.fallbacks", routingDataSource,
+                            ReadWriteRoutingDataSource::getReplicaFallbacks)
+                    .description("Read-only connections routed to the primary because the replica was unusable")
+                    .register(registry);
+            TimeGauge.builder("datasource.replica.lag", replicaLagMonitor, TimeUnit.MILLISECONDS,
+                            ReplicaLagMonitor::getLagMillis)
+                    .description("Last measured replication lag, -1 if it could not be measured")
+                    .register(registry);
+            Gauge.builder("datasource.replica.usable", replicaLagMonitor, monitor -> monitor.isReplicaUsable() ? 1 : 0)
+                    .description("Whether read-only transactions are routed to the replica")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.service.AuditService;
+import com.example.bankcards.service.CardStreamService;
+import com.example.bankcards.service.OutboxRelay;
+import com.example.bankcards.util.SimpleCardEncryptConverter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Publishes the counters that the services already keep as Micrometer meters.
+ * The meters read the services' values when scraped, so the hot paths do not change.
+ * Hot path timers are registered where they are measured, except the card number encryption
+ * timers, which are installed into the converter here; the datasource routing meters
+ * are in {@link DataSourceRoutingConfig}. Second-level cache meters read Hibernate's statistics.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Timers of card number encryption and decryption, installed as the timing listener
+     * of {@link SimpleCardEncryptConverter}, which is shared with the reactive service
+     * and therefore does not use Micrometer itself.
+     *
+     * @return the binder of the crypto timers
+     */
+    @Bean
+    public MeterBinder cardCryptoMetrics() {
+        return registry -> {
+            Timer encrypt = cryptoTimer("encrypt").register(registry);
+            Timer decrypt = cryptoTimer("decrypt").register(registry);
+            SimpleCardEncryptConverter.setTimingListener((operation, nanos) ->
+                    ("encrypt".equals(operation) ? encrypt : decrypt).record(nanos, TimeUnit.NANOSECONDS));
+        };
+    }
+
+    /**
+     * Meters of the asynchronous audit log writer.
+     *
+     * @param auditService the audit service
+     * @return the binder of the audit meters
+     */
+    @Bean
+    public MeterBinder auditMetrics(AuditService auditService) {
+        return registry -> {
+            Gauge.builder("audit.events.pending", auditService, AuditService::getPendingEvents)
+                    .description("Audit events waiting in the buffer")
+                    .register(registry);
+            FunctionCounter.builder("audit.events.written", auditService, AuditService::getWrittenEvents)
+                    .description("Audit events written to the database")
+                    .register(registry);
+            FunctionCounter.builder("audit.events.dropped", auditService, AuditService::getDroppedEvents)
+                    .description("Audit events dropped because the buffer was full")
+                    .register(registry);
+            FunctionCounter.builder("audit.events.failed", auditService, AuditService::getFailedEvents)
+                    .description("Audit events lost because a batch could not be written")
+                    .register(registry);
+            TimeGauge.builder("audit.flush.lag", auditService, TimeUnit.MILLISECONDS, AuditService::getLastFlushLagMillis)
+                    .description("Age of the oldest event of the last written batch")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Meters of the transactional outbox relay.
+     *
+     * @param outboxRelay the outbox relay
+     * @return the binder of the outbox meters
+     */
+    @Bean
+    public MeterBinder outboxMetrics(OutboxRelay outboxRelay) {
+        return registry -> {
+            FunctionCounter.builder("outbox.messages.delivered", outboxRelay, OutboxRelay::getDeliveredMessages)
+                    .description("Outbox messages delivered to the sink by this node")
+                    .register(registry);
+            FunctionCounter.builder("outbox.batches.failed", outboxRelay, OutboxRelay::getFailedBatches)
+                    .description("Outbox batches that failed and were left for a retry")
+                    .register(registry);
+            TimeGauge.builder("outbox.delivery.lag", outboxRelay, TimeUnit.MILLISECONDS, OutboxRelay::getLastDeliveryLagMillis)
+                    .description("Age of the oldest message of the last delivered batch")
+                    .register(registry);
+            Gauge.builder("outbox.messages.pending", outboxRelay, OutboxRelay::getPendingMessages)
+                    .description("Estimated undelivered outbox messages of all nodes (ID range of the outbox)")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Meters of the live card update streams.
+     *
+     * @param cardStreamService the card stream service
+     * @return the binder of the stream meters
+     */
+    @Bean
+    public MeterBinder cardStreamMetrics(CardStreamService cardStreamService) {
+        return registry -> Gauge.builder("cards.stream.connections", cardStreamService, CardStreamService::getConnectionCount)
+                .description("Open card update streams")
+                .register(registry);
+    }
+
+    /**
+     * Hits, misses and puts of each second-level cache region, including the query cache,
+     * so the hit ratio of the {@code cards} and {@code users} regions can be watched.
+     * Hibernate only counts them with {@code spring.jpa.properties.hibernate.generate_statistics=true};
+     * without it no meters are registered, rather than meters that always read zero.
+     *
+     * @param entityManagerFactory the entity manager factory
+     * @return the binder of the cache meters
+     */
+    @Bean
+    public MeterBinder hibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            if (!statistics.isStatisticsEnabled()) {
+                return;
+            }
+            for (String region : statistics.getSecondLevelCacheRegionNames()) {
+                cacheCounter(statistics, region, "hibernate.second.level.cache.requests", CacheRegionStatistics::getHitCount)
+                        .description("Lookups in the second-level cache region")
+                        .tag("result", "hit")
+                        .register(registry);
+                cacheCounter(statistics, region, "hibernate.second.level.cache.requests", CacheRegionStatistics::getMissCount)
+                        .description("Lookups in the second-level cache region")
+                        .tag("result", "miss")
+                        .register(registry);
+                cacheCounter(statistics, region, "hibernate.second.level.cache.puts", CacheRegionStatistics::getPutCount)
+                        .description("Entries put into the second-level cache region")
+                        .register(registry);
+            }
+        };
+    }
+
+    private static FunctionCounter.Builder<Statistics> cacheCounter(Statistics statistics, String region, String name,
+                                                                    ToLongFunction<CacheRegionStatistics> count) {
+        return FunctionCounter.builder(name, statistics, stats -> {
+                    CacheRegionStatistics regionStatistics = stats.getCacheRegionStatistics(region);
+                    return regionStatistics == null ? 0 : count.applyAsLong(regionStatistics);
+                })
+                .tag("region", region);
+    }
+
+    private static Timer.Builder cryptoTimer(String operation) {
+        return Timer.builder("cards.crypto")
+                .description("Time spent encrypting and decrypting card numbers")
+                .tag("operation", operation)
+                .publishPercentileHistogram();
+    }
+}
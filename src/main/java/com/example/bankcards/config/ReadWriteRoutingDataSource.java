@@ -0,0 +1,73 @@
+package com.example.bankcards.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Routes connections of read-only transactions to the replica pool and everything else to the primary.
+ * Falls back to the primary when {@link ReplicaLagMonitor} reports that the replica is lagging or unavailable.
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, so the
+ * physical connection is obtained after the transaction's read-only flag has been set.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Lookup key of the primary (read-write) pool.
+     */
+    public static final String PRIMARY = "primary";
+    /**
+     * Lookup key of the replica (read-only) pool.
+     */
+    public static final String REPLICA = "replica";
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+    private final LongAdder replicaFallbacks = new LongAdder();
+
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor replicaLagMonitor) {
+        this.replicaLagMonitor = replicaLagMonitor;
+    }
+
+    /**
+     * Determines the pool for the connection being obtained.
+     *
+     * @return {@link #REPLICA} for read-only transactions while the replica is usable, {@link #PRIMARY} otherwise
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (replicaLagMonitor.isReplicaUsable()) {
+                replicaConnections.increment();
+                return REPLICA;
+            }
+            replicaFallbacks.increment();
+        }
+        primaryConnections.increment();
+        return PRIMARY;
+    }
+
+    /**
+     * @return the number of connections routed to the primary pool
+     */
+    public long getPrimaryConnections() {
+        return primaryConnections.sum();
+    }
+
+    /**
+     * @return the number of connections routed to the replica pool
+     */
+    public long getReplicaConnections() {
+        return replicaConnections.sum();
+    }
+
+    /**
+     * @return the number of read-only connections routed to the primary because the replica was not usable
+     */
+    public long getReplicaFallbacks() {
+        return replicaFallbacks.sum();
+    }
+}
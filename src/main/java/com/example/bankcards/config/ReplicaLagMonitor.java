@@ -0,0 +1,81 @@
+package com.example.bankcards.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Periodically measures the replication lag of the replica and decides whether
+ * read-only traffic may be served from it.
+ * The replica is considered unusable when the lag exceeds the configured threshold
+ * or when the lag cannot be measured.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    /**
+     * Lag in seconds: zero when everything received has been replayed, otherwise the age of the
+     * last replayed transaction. On a server that is not in recovery both LSN functions return null.
+     */
+    private static final String LAG_QUERY = """
+            select case
+                when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+            end
+            """;
+
+    private final DataSource replicaDataSource;
+    private final Duration maxLag;
+
+    private volatile boolean replicaUsable = false;
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, Duration maxLag) {
+        this.replicaDataSource = replicaDataSource;
+        this.maxLag = maxLag;
+    }
+
+    /**
+     * @return true if read-only transactions may be routed to the replica
+     */
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * @return the last measured replication lag in milliseconds, or -1 if it could not be measured
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * Scheduled task that measures the replica lag and updates the usability flag.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval:PT1S}")
+    void checkLag() {
+        boolean usable;
+        try (Connection connection = replicaDataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            lagMillis = Math.round(resultSet.getDouble(1) * 1000);
+            usable = lagMillis <= maxLag.toMillis();
+        } catch (SQLException e) {
+            lagMillis = -1;
+            usable = false;
+            log.warn("Could not measure replica lag: {}", e.getMessage());
+        }
+        if (usable != replicaUsable) {
+            log.info("Replica {} for read-only traffic (lag {} ms, threshold {} ms)",
+                    usable ? "enabled" : "disabled", lagMillis, maxLag.toMillis());
+        }
+        replicaUsable = usable;
+    }
+}
@@ -1,9 +1,20 @@
 package com.example.bankcards.config;
 
+import com.example.bankcards.controller.AdminCardController;
 import com.example.bankcards.security.JwtAuthenticationFilter;
+import com.example.bankcards.security.RateLimitFilter;
+import com.example.bankcards.security.RateLimitProperties;
+import com.example.bankcards.security.ServerTimingFilter;
+import com.example.bankcards.security.ServerTimingProperties;
+import com.example.bankcards.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.AllArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -27,9 +38,11 @@ import java.util.List;
 
 /**
  * Configures Spring Security for the application.
- * Sets up authentication manager, password encoder, JWT filter, and request permissions.
+ * Sets up authentication manager, password encoder, JWT, rate limit and request timing filters, and request permissions.
+ * Actuator endpoints other than health are available to administrators only.
  */
 @Configuration
+@EnableConfigurationProperties({RateLimitProperties.class, ServerTimingProperties.class})
 @EnableMethodSecurity
 @EnableWebSecurity
 @AllArgsConstructor
@@ -45,9 +58,24 @@ public class SecurityConfig {
      */
     private final JwtAuthenticationFilter jwtFilter;
 
+    /**
+     * Filter that limits the request rate of each client.
+     */
+    private final RateLimitFilter rateLimitFilter;
+
+    /**
+     * Filter that breaks the time of selected requests down into phases.
+     */
+    private final ServerTimingFilter serverTimingFilter;
+
+    /**
+     * Registry of the password hashing timers.
+     */
+    private final MeterRegistry meterRegistry;
+
     /**
      * Configures the security filter chain with rules for request authorization,
-     * disables CSRF protection, enables CORS, and adds the JWT filter.
+     * disables CSRF protection, enables CORS, and adds the request timing, JWT and rate limit filters.
      *
      * @param http the HTTP security builder
      * @return configured security filter chain
@@ -60,6 +88,8 @@ public class SecurityConfig {
                 .csrf(CsrfConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfiguration()))
                 .authorizeHttpRequests(auth -> auth
+                        // async dispatches of streamed responses were authorized on the initial request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/api/auth/**",
                                 "/v3/api-docs/**",
@@ -69,23 +99,56 @@ public class SecurityConfig {
                                 "/swagger-ui/index.html",
                                 "/openapi.yaml"
                         ).permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .formLogin(FormLoginConfigurer::disable)
                 .sessionManagement(management -> management.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationManager(authenticationManager(userDetailsService, passwordEncoder()))
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
+                .addFilterBefore(serverTimingFilter, JwtAuthenticationFilter.class)
                 .build();
     }
 
+    /**
+     * Keeps the servlet container from registering the rate limit filter on its own,
+     * so it runs only once, inside the security filter chain after the JWT filter.
+     *
+     * @param filter the rate limit filter
+     * @return a disabled registration of the filter
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    /**
+     * Keeps the servlet container from registering the request timing filter on its own,
+     * so it runs inside the security filter chain, where the caller's roles are known.
+     *
+     * @param filter the request timing filter
+     * @return a disabled registration of the filter
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilterRegistration(ServerTimingFilter filter) {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     /**
      * Provides a BCrypt password encoder bean for secure password storage.
+     * Hashing and checking times are recorded in the {@code auth.password} timer.
      *
-     * @return a new instance of BCryptPasswordEncoder
+     * @return a BCryptPasswordEncoder wrapped in a {@link TimedPasswordEncoder}
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     /**
@@ -122,9 +185,12 @@ public class SecurityConfig {
         configuration.setAllowedHeaders(Arrays.asList(
                 "Authorization",
                 "Content-Type",
-                "X-Requested-With"
+                "X-Requested-With",
+                "If-None-Match",
+                ServerTimingFilter.REQUEST_HEADER
         ));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setExposedHeaders(List.of("Authorization", HttpHeaders.ETAG, AdminCardController.COUNT_STRATEGY_HEADER,
+                ServerTimingFilter.RESPONSE_HEADER, HttpHeaders.RETRY_AFTER));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -0,0 +1,74 @@
+package com.example.bankcards.config;
+
+import com.example.bankcards.util.RequestTiming;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Connects repositories and JSON serialization to the per-request {@link RequestTiming}
+ * recorder used by {@link com.example.bankcards.security.ServerTimingFilter}.
+ * Both hooks cost a thread-local lookup when the request is not timed.
+ */
+@Configuration
+public class ServerTimingConfig {
+
+    /**
+     * Adds an interceptor to every Spring Data repository that records its calls in the {@code db} phase.
+     * The interceptor is added when the repository proxy is created, so repositories need no changes.
+     *
+     * @return the post processor of the repository factory beans
+     */
+    @Bean
+    public static BeanPostProcessor repositoryTimingPostProcessor() {
+        MethodInterceptor interceptor = invocation -> {
+            RequestTiming.begin(RequestTiming.Phase.DB);
+            try {
+                return invocation.proceed();
+            } finally {
+                RequestTiming.end(RequestTiming.Phase.DB);
+            }
+        };
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(interceptor)));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Replaces the default Jackson message converter with one that records
+     * the serialization of response bodies in the {@code json} phase.
+     *
+     * @param objectMapper the object mapper configured by Spring Boot
+     * @return the message converter
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                    throws IOException {
+                RequestTiming.begin(RequestTiming.Phase.JSON);
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    RequestTiming.end(RequestTiming.Phase.JSON);
+                }
+            }
+        };
+    }
+}
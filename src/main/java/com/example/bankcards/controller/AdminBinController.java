@@ -0,0 +1,45 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.entity.user.Role;
+import com.example.bankcards.service.BinRegistry;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller for administrative access to the card programs (BINs).
+ * All methods are accessible only by users with the ADMIN role {@link Role}.
+ */
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/admin")
+public class AdminBinController {
+
+    private final BinRegistry binRegistry;
+
+    /**
+     * Retrieves the active card programs currently loaded in the registry.
+     *
+     * @return A list of {@link BinRegistry.BinRule} objects ordered by BIN
+     */
+    @GetMapping("/bins")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<BinRegistry.BinRule>> getBins() {
+        return ResponseEntity.ok(binRegistry.getAllRules());
+    }
+
+    /**
+     * Reloads the card programs from the database, so changes take effect without waiting for the scheduled reload.
+     *
+     * @return The active card programs after the reload
+     */
+    @PostMapping("/bins/reload")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<BinRegistry.BinRule>> reloadBins() {
+        binRegistry.reload();
+        return ResponseEntity.ok(binRegistry.getAllRules());
+    }
+}
@@ -2,15 +2,28 @@ package com.example.bankcards.controller;
 
 import com.example.bankcards.dto.CardCreationRequest;
 import com.example.bankcards.dto.CardDTO;
+import com.example.bankcards.dto.CardImportReport;
+import com.example.bankcards.dto.CountedPage;
+import com.example.bankcards.dto.CursorPage;
+import com.example.bankcards.dto.ExportFormat;
 import com.example.bankcards.entity.user.Role;
 import com.example.bankcards.service.AdminCardService;
+import com.example.bankcards.service.CardExportService;
+import com.example.bankcards.service.CardImportService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Controller for administrative actions on bank cards.
@@ -21,19 +34,48 @@ import org.springframework.web.bind.annotation.*;
 @AllArgsConstructor
 @RequestMapping("/api/admin")
 public class AdminCardController {
+    public static final String COUNT_STRATEGY_HEADER = "X-Total-Count-Strategy";
+    /**
+     * The timeout of a card export; a value below zero means the export never times out.
+     */
+    static final long EXPORT_TIMEOUT_MILLIS = -1;
 
     private final AdminCardService adminCardService;
+    private final CardImportService cardImportService;
+    private final CardExportService cardExportService;
 
     /**
      * Retrieves a paginated list of all cards.
+     * The total count is approximate or cached unless an exact count is requested;
+     * the strategy used is returned in the {@value #COUNT_STRATEGY_HEADER} header.
      *
      * @param pageable Pagination parameters (size, page, sort)
+     * @param exact Whether the total count must be exact
      * @return A page of {@link CardDTO} objects
      */
     @GetMapping("/cards")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Page<CardDTO>> getAllCards(@PageableDefault Pageable pageable) {
-        return ResponseEntity.ok(adminCardService.getAllCards(pageable));
+    public ResponseEntity<Page<CardDTO>> getAllCards(@PageableDefault Pageable pageable,
+                                                     @RequestParam(defaultValue = "false") boolean exact) {
+        CountedPage<CardDTO> cards = adminCardService.getAllCards(pageable, exact);
+        return ResponseEntity.ok()
+                .header(COUNT_STRATEGY_HEADER, cards.getCountStrategy().name())
+                .body(cards.getPage());
+    }
+
+    /**
+     * Retrieves a slice of all cards using keyset pagination.
+     * Avoids offset scans and total counts, so deep slices cost the same as the first one.
+     *
+     * @param cursor The cursor returned with the previous slice; omit it for the first slice
+     * @param size Number of records per slice
+     * @return A {@link CursorPage} of {@link CardDTO} objects with a cursor to the next slice
+     */
+    @GetMapping("/cards/cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<CardDTO>> getAllCardsByCursor(@RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(adminCardService.getAllCardsAfter(cursor, size));
     }
 
     /**
@@ -48,6 +90,45 @@ public class AdminCardController {
         return ResponseEntity.ok(adminCardService.createCard(request));
     }
 
+    /**
+     * Creates cards in bulk from a CSV body with the columns {@code cardNumber,userId,balance}.
+     * The body is streamed, so the input size is not limited by memory.
+     *
+     * @param csv The CSV request body
+     * @return A {@link CardImportReport} with the number of created cards and per-row errors
+     * @throws IOException if reading the request body fails
+     */
+    @PostMapping(value = "/cards/import", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CardImportReport> importCards(InputStream csv) throws IOException {
+        return ResponseEntity.ok(cardImportService.importCards(csv));
+    }
+
+    /**
+     * Exports all cards with masked numbers as NDJSON or CSV.
+     * Rows are streamed to the client as they are read from the database, on the async task executor.
+     * The export may run for a long time, so unlike other asynchronous requests it has no timeout.
+     *
+     * @param format   The output format, {@code ndjson} or {@code csv}
+     * @param response The response the cards are written to
+     * @return An asynchronous task that writes the exported cards
+     */
+    @GetMapping("/cards/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public WebAsyncTask<Void> exportCards(@RequestParam(defaultValue = "ndjson") String format,
+                                          HttpServletResponse response) {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        response.setContentType(exportFormat.getMediaType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("cards." + exportFormat.getExtension())
+                .build()
+                .toString());
+        return new WebAsyncTask<>(EXPORT_TIMEOUT_MILLIS, () -> {
+            cardExportService.exportCards(exportFormat, response.getOutputStream());
+            return null;
+        });
+    }
+
     /**
      * Retrieves information about a specific card by its ID.
      *
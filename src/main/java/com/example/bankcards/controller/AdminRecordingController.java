@@ -0,0 +1,81 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.entity.user.Role;
+import com.example.bankcards.service.FlightRecordingService;
+import lombok.AllArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Controller for on-demand JDK Flight Recorder recordings of the running application.
+ * All methods are accessible only by users with the ADMIN role {@link Role}.
+ */
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/admin/jfr")
+public class AdminRecordingController {
+
+    private final FlightRecordingService flightRecordingService;
+
+    /**
+     * Retrieves the state of the current or last flight recording.
+     *
+     * @return The {@link FlightRecordingService.RecordingStatus} of the recording
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FlightRecordingService.RecordingStatus> getStatus() {
+        return ResponseEntity.ok(flightRecordingService.getStatus());
+    }
+
+    /**
+     * Starts a flight recording that stops by itself after the given duration.
+     *
+     * @param duration The ISO-8601 duration of the recording, e.g. {@code PT2M}; capped at the configured maximum
+     * @return The status of the started recording
+     */
+    @PostMapping("/start")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FlightRecordingService.RecordingStatus> start(
+            @RequestParam(required = false) Duration duration) {
+        return ResponseEntity.ok(flightRecordingService.start(duration));
+    }
+
+    /**
+     * Stops the running flight recording.
+     *
+     * @return The status of the stopped recording
+     */
+    @PostMapping("/stop")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FlightRecordingService.RecordingStatus> stop() {
+        return ResponseEntity.ok(flightRecordingService.stop());
+    }
+
+    /**
+     * Downloads the file of the last stopped recording, to be opened in JDK Mission Control or {@code jfr print}.
+     *
+     * @return The recording file
+     */
+    @GetMapping("/recording")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Resource> download() {
+        Path file = flightRecordingService.getRecordingFile();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(file.getFileName().toString())
+                        .build()
+                        .toString())
+                .body(new FileSystemResource(file));
+    }
+}
@@ -1,17 +1,31 @@
 package com.example.bankcards.controller;
 
+import com.example.bankcards.dto.CardBalanceDTO;
 import com.example.bankcards.dto.CardDTO;
+import com.example.bankcards.dto.CursorPage;
 import com.example.bankcards.dto.TransferRequest;
 import com.example.bankcards.entity.user.Role;
+import com.example.bankcards.exception.exceptions.DomainException;
 import com.example.bankcards.service.CardService;
+import com.example.bankcards.service.CardStreamService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Controller for user-level operations on bank cards.
@@ -25,9 +39,13 @@ import org.springframework.web.bind.annotation.*;
 public class CardController {
 
     private final CardService cardService;
+    private final CardStreamService cardStreamService;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Transfers funds between two cards.
+     * The time including the commit is recorded in the {@code cards.transfer} timer,
+     * tagged with the outcome: {@code success}, the error code of a rejected transfer, or {@code error}.
      *
      * @param request The {@link TransferRequest} containing source card ID, target card ID, and amount
      * @param authentication Authentication object to identify the current user. Provided by Spring Security
@@ -37,11 +55,25 @@ public class CardController {
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<String> transferBetweenCards(@RequestBody TransferRequest request,
                                                        Authentication authentication) {
-        cardService.transferBetweenCards(
-                authentication,
-                request.getSourceCardId(),
-                request.getTargetCardId(),
-                request.getAmount());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            cardService.transferBetweenCards(
+                    authentication,
+                    request.getSourceCardId(),
+                    request.getTargetCardId(),
+                    request.getAmount());
+            outcome = "success";
+        } catch (DomainException e) {
+            outcome = e.getErrorCode().name().toLowerCase(Locale.ROOT);
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("cards.transfer")
+                    .description("Time of card-to-card transfers including the commit")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
 
         return ResponseEntity.ok("Transfer completed successfully");
     }
@@ -63,30 +95,94 @@ public class CardController {
 
     /**
      * Retrieves a paginated list of all cards owned by the authenticated user.
+     * The response carries an ETag derived from the version of the user's cards;
+     * if it matches {@code If-None-Match}, 304 Not Modified is returned without querying the cards.
      *
      * @param pageable Pagination parameters (size, page, sort)
      * @param authentication Authentication object to identify the current user. Provided by Spring Security
-     * @return A page of {@link CardDTO} objects representing the user's cards
+     * @param request The current request, used to evaluate {@code If-None-Match}
+     * @return A page of {@link CardDTO} objects representing the user's cards, or 304 Not Modified
      */
     @GetMapping("/cards")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<Page<CardDTO>> getAllUserCards(@PageableDefault Pageable pageable,
-                                                         Authentication authentication) {
-        return ResponseEntity.ok(cardService.getAllUserCards(authentication, pageable));
+                                                         Authentication authentication,
+                                                         WebRequest request) {
+        String eTag = cardService.getUserCardsETag(authentication, pageable);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(cardService.getAllUserCards(authentication, pageable));
+    }
+
+    /**
+     * Retrieves a slice of cards owned by the authenticated user using keyset pagination.
+     * Avoids offset scans and total counts, so deep slices cost the same as the first one.
+     *
+     * @param cursor The cursor returned with the previous slice; omit it for the first slice
+     * @param size Number of records per slice
+     * @param authentication Authentication object to identify the current user. Provided by Spring Security
+     * @return A {@link CursorPage} of {@link CardDTO} objects with a cursor to the next slice
+     */
+    @GetMapping("/cards/cursor")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<CursorPage<CardDTO>> getUserCardsByCursor(@RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) Integer size,
+                                                                    Authentication authentication) {
+        return ResponseEntity.ok(cardService.getUserCardsAfter(authentication, cursor, size));
     }
 
     /**
      * Retrieves the balance of a specific user's card.
+     * The response carries an ETag derived from the card version;
+     * if it matches {@code If-None-Match}, 304 Not Modified is returned without loading the card.
      *
      * @param id The ID of the card whose balance is requested
      * @param authentication Authentication object to identify the current user. Provided by Spring Security
-     * @return The {@link CardDTO} object which includes the current balance
+     * @param request The current request, used to evaluate {@code If-None-Match}
+     * @return The {@link CardDTO} object which includes the current balance, or 304 Not Modified
      */
     @GetMapping("/card/balance/{id}")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<CardDTO> getCardBalance(@PathVariable Long id,
-                                                  Authentication authentication) {
+                                                  Authentication authentication,
+                                                  WebRequest request) {
+        String eTag = cardService.getCardBalanceETag(authentication, id);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         CardDTO cardBalanceById = cardService.getCardBalanceById(authentication, id);
-        return ResponseEntity.ok(cardBalanceById);
+        return ResponseEntity.ok().eTag(eTag).body(cardBalanceById);
+    }
+
+    /**
+     * Retrieves the balances and statuses of several of the authenticated user's cards in one request.
+     * Cards that do not exist or belong to another user are omitted from the result.
+     *
+     * @param ids The IDs of the cards, at most {@value CardService#MAX_BALANCE_IDS}
+     * @param authentication Authentication object to identify the current user. Provided by Spring Security
+     * @return A map of card ID to {@link CardBalanceDTO}
+     */
+    @GetMapping("/cards/balances")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<Map<Long, CardBalanceDTO>> getCardBalances(@RequestParam List<Long> ids,
+                                                                     Authentication authentication) {
+        return ResponseEntity.ok(cardService.getCardBalances(authentication, ids));
+    }
+
+    /**
+     * Opens a Server-Sent Events stream of balance and status changes to the authenticated user's cards.
+     * Each committed change is sent as a {@code card} event with the card ID, balance and status;
+     * comments are sent periodically to keep the connection open.
+     *
+     * @param authentication Authentication object to identify the current user. Provided by Spring Security
+     * @return The emitter of the event stream
+     */
+    @GetMapping(path = "/cards/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('USER')")
+    public SseEmitter streamCardChanges(Authentication authentication) {
+        return cardStreamService.subscribe(authentication.getName());
     }
 }
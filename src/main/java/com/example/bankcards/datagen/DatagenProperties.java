@@ -0,0 +1,75 @@
+package com.example.bankcards.datagen;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * Settings of the synthetic dataset generator, bound from {@code datagen}.
+ * The defaults describe a typical retail portfolio: most users hold one or two cards,
+ * a few corporate users hold many cards with large balances and attract most of the traffic.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("datagen")
+public class DatagenProperties {
+
+    /**
+     * The number of users to generate.
+     */
+    private int users = 100_000;
+    /**
+     * The number of chunks loaded in parallel, each over its own connection.
+     */
+    private int threads = 4;
+    /**
+     * The number of users per chunk; each chunk is loaded with two {@code COPY} statements and committed separately.
+     */
+    private int chunkSize = 10_000;
+    /**
+     * The random seed; the same seed, users and chunk size produce the same dataset.
+     */
+    private long seed = 42;
+    /**
+     * The BIN/IIN prefix of the generated card numbers; it must exist in {@code card_bins}.
+     */
+    private String bin = "4000";
+    /**
+     * The mean number of cards of a regular user, at least 1.
+     */
+    private double cardsPerUserMean = 1.8;
+    /**
+     * The maximum number of cards of a regular user.
+     */
+    private int maxCardsPerUser = 10;
+    /**
+     * The share of corporate users with many cards ("hot" cards).
+     */
+    private double hotUserRatio = 0.001;
+    /**
+     * The number of cards of a corporate user, at most 100.
+     */
+    private int cardsPerHotUser = 50;
+    /**
+     * The share of cards that have already expired.
+     */
+    private double expiredRatio = 0.1;
+    /**
+     * The share of cards that are blocked, among the cards that have not expired.
+     */
+    private double blockedRatio = 0.03;
+    /**
+     * The median balance of a regular card; balances are log-normally distributed around it.
+     */
+    private BigDecimal medianBalance = BigDecimal.valueOf(500);
+    /**
+     * The median balance of a corporate card.
+     */
+    private BigDecimal hotMedianBalance = BigDecimal.valueOf(250_000);
+    /**
+     * The spread of the balances, the standard deviation of their natural logarithm.
+     */
+    private double balanceSigma = 1.5;
+}
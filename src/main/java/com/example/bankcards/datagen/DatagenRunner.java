@@ -0,0 +1,57 @@
+package com.example.bankcards.datagen;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Command-line entry point of the dataset generator, active with the {@code datagen} profile.
+ * Runs after Liquibase has migrated the schema, loads the dataset and shuts the application down:
+ * {@code java -jar bankcards-exec.jar --spring.profiles.active=datagen --datagen.users=5000000}.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+@EnableConfigurationProperties(DatagenProperties.class)
+public class DatagenRunner implements ApplicationRunner {
+
+    private final DataSource dataSource;
+    private final DatagenProperties properties;
+    private final ConfigurableApplicationContext context;
+
+    public DatagenRunner(DataSource dataSource, DatagenProperties properties, ConfigurableApplicationContext context) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.context = context;
+    }
+
+    /**
+     * Generates the dataset and exits with status 0, or with status 1 if generation fails.
+     *
+     * @param args the application arguments, not used; settings come from {@code datagen.*}
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Generating {} users in chunks of {} on {} threads",
+                properties.getUsers(), properties.getChunkSize(), properties.getThreads());
+        int exitCode = 0;
+        try {
+            DatasetGenerator.Result result = new DatasetGenerator(dataSource, properties).generate();
+            log.info("Generated {} users (IDs from {}) and {} cards in {} ms, {} cards/s",
+                    result.users(), result.firstUserId(), result.cards(), result.millis(),
+                    result.cards() * 1000 / Math.max(1, result.millis()));
+        } catch (Exception e) {
+            log.error("Dataset generation failed", e);
+            exitCode = 1;
+        }
+        int status = exitCode;
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+}
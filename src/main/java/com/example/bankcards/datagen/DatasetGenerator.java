@@ -0,0 +1,318 @@
+package com.example.bankcards.datagen;
+
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.service.CardNumberGenerator;
+import com.example.bankcards.util.CardNumbers;
+import com.example.bankcards.util.SimpleCardEncryptConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates synthetic users and cards and loads them with the Postgres {@code COPY} protocol.
+ * <p>
+ * The users are split into chunks that are generated and loaded in parallel, each chunk in its own
+ * transaction over its own connection. User IDs are reserved from the {@code users} sequence up front,
+ * so every chunk knows the IDs of its users and can load their cards without a round-trip.
+ * Card numbers are derived from the user ID and encrypted with {@link SimpleCardEncryptConverter},
+ * exactly as the entity mapping would store them. Each chunk uses its own random generator seeded
+ * from the chunk index, so the dataset does not depend on the number of threads.
+ * <p>
+ * Every generated user has the username {@code gen-user-<id>}, or {@code gen-corp-<id>} for corporate
+ * users, and the password {@value #PASSWORD}.
+ */
+@Slf4j
+public class DatasetGenerator {
+
+    public static final String PASSWORD = "pass";
+    /**
+     * The BCrypt hash of {@value #PASSWORD}, the same as in {@code db-2.0.seed_data.sql}.
+     */
+    public static final String PASSWORD_HASH = "$2a$10$4UyfXYuj8YDmWHyNmFtO7O43PutPUJMKa5vLRHFDSQ6NKTJXZ83zK";
+
+    /**
+     * Generated card numbers use account number {@code userId * 100 + n}, below the blocks handed out
+     * by {@link CardNumberGenerator}, which start at the {@code first_account_block} of the BIN in {@code card_bins}.
+     */
+    public static final int MAX_CARDS_PER_USER = 100;
+
+    private static final String RESERVE_USER_IDS_SQL = "SELECT setval(pg_get_serial_sequence('users', 'id'), "
+            + "nextval(pg_get_serial_sequence('users', 'id')) + ? - 1)";
+    private static final String FIRST_ACCOUNT_BLOCK_SQL = "SELECT first_account_block FROM card_bins WHERE bin = ?";
+    private static final String COPY_USERS_SQL = "COPY users (id, username, first_name, last_name, password, role) "
+            + "FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_CARDS_SQL = "COPY cards (card_number, owner_name, expiration_date, status, balance, user_id) "
+            + "FROM STDIN WITH (FORMAT csv)";
+
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Alex", "Maria", "Ivan", "Olga", "Peter", "Anna",
+            "Sergey", "Elena", "Michael", "Sofia", "Dmitry", "Natalia", "David", "Emma"};
+    private static final String[] LAST_NAMES = {"Smith", "Doe", "Ivanov", "Petrova", "Brown", "Sokolov", "Miller",
+            "Kuznetsova", "Wilson", "Popov", "Taylor", "Volkova", "Clark", "Morozov", "Lewis", "Novikova"};
+
+    private final DataSource dataSource;
+    private final DatagenProperties properties;
+    private final SimpleCardEncryptConverter converter = new SimpleCardEncryptConverter();
+    private final long accounts;
+    private final long binPrefix;
+
+    public DatasetGenerator(DataSource dataSource, DatagenProperties properties) {
+        if (properties.getMaxCardsPerUser() > MAX_CARDS_PER_USER || properties.getCardsPerHotUser() > MAX_CARDS_PER_USER) {
+            throw new IllegalArgumentException("A user can have at most " + MAX_CARDS_PER_USER + " generated cards");
+        }
+        if (properties.getCardsPerUserMean() < 1) {
+            throw new IllegalArgumentException("datagen.cards-per-user-mean must be at least 1");
+        }
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.accounts = pow10(CardNumbers.DIGITS - 1 - properties.getBin().length());
+        this.binPrefix = Long.parseLong(properties.getBin()) * accounts;
+    }
+
+    /**
+     * Result of a generator run.
+     *
+     * @param users        the number of inserted users
+     * @param cards        the number of inserted cards
+     * @param firstUserId  the ID of the first inserted user; the users have consecutive IDs
+     * @param millis       the duration of the run
+     */
+    public record Result(long users, long cards, long firstUserId, long millis) {
+    }
+
+    /**
+     * Generates and loads the configured number of users with their cards, then analyzes the tables
+     * so the planner and the estimated card count see the new row counts.
+     * Chunks that were committed before a failure stay loaded.
+     *
+     * @return the numbers of inserted rows
+     * @throws IllegalArgumentException if the BIN does not exist or its generated account range is too small
+     * @throws SQLException if a chunk fails to load
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the chunks
+     */
+    public Result generate() throws SQLException, InterruptedException {
+        long start = System.nanoTime();
+        int users = properties.getUsers();
+        long accountLimit = Math.min(accounts, firstGeneratedAccount());
+        long firstUserId = reserveUserIds(users);
+        if ((firstUserId + users) * MAX_CARDS_PER_USER > accountLimit) {
+            throw new IllegalArgumentException("Too many users for the account number range of BIN " + properties.getBin());
+        }
+
+        int chunkSize = properties.getChunkSize();
+        int chunks = (users + chunkSize - 1) / chunkSize;
+        LocalDate today = LocalDate.now();
+        AtomicLong loadedUsers = new AtomicLong();
+        AtomicLong loadedCards = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getThreads());
+        try {
+            List<Future<?>> futures = new ArrayList<>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int index = chunk;
+                int chunkUsers = Math.min(chunkSize, users - chunk * chunkSize);
+                futures.add(executor.submit(() -> {
+                    long cards = loadChunk(index, firstUserId + (long) index * chunkSize, chunkUsers, today);
+                    long done = loadedUsers.addAndGet(chunkUsers);
+                    loadedCards.addAndGet(cards);
+                    if (done * 10 / users != (done - chunkUsers) * 10 / users) {
+                        log.info("Loaded {} of {} users", done, users);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            executor.shutdownNow();
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IllegalStateException("Dataset generation failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+
+        analyze();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return new Result(loadedUsers.get(), loadedCards.get(), firstUserId, millis);
+    }
+
+    /**
+     * Generates one chunk of users and cards and loads it in one transaction.
+     *
+     * @param index       the index of the chunk, which seeds its random generator
+     * @param firstUserId the ID of the first user of the chunk
+     * @param users       the number of users in the chunk
+     * @param today       the current date
+     * @return the number of loaded cards
+     * @throws SQLException if the copy fails
+     */
+    private long loadChunk(int index, long firstUserId, int users, LocalDate today) throws SQLException {
+        SplittableRandom random = new SplittableRandom(properties.getSeed() + index);
+        StringBuilder usersCsv = new StringBuilder(users * 96);
+        StringBuilder cardsCsv = new StringBuilder((int) (users * properties.getCardsPerUserMean() * 96));
+        long cards = writeChunk(firstUserId, users, random, today, usersCsv, cardsCsv);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                copyManager.copyIn(COPY_USERS_SQL, new StringReader(usersCsv.toString()));
+                copyManager.copyIn(COPY_CARDS_SQL, new StringReader(cardsCsv.toString()));
+                connection.commit();
+            } catch (SQLException | IOException e) {
+                connection.rollback();
+                throw e instanceof SQLException sqlException ? sqlException : new SQLException("Failed to stream COPY data", e);
+            }
+        }
+        return cards;
+    }
+
+    /**
+     * Writes the CSV rows of a chunk of users and their cards.
+     * Regular users get 1 + a geometrically distributed number of cards, corporate users a fixed number.
+     * Expired cards expire at the end of a month within the last two years, the others within the next five;
+     * balances are log-normal around the configured median.
+     *
+     * @param firstUserId the ID of the first user of the chunk
+     * @param users       the number of users
+     * @param random      the random generator of the chunk
+     * @param today       the current date
+     * @param usersCsv    the buffer for the {@code users} rows
+     * @param cardsCsv    the buffer for the {@code cards} rows
+     * @return the number of card rows written
+     */
+    long writeChunk(long firstUserId, int users, SplittableRandom random, LocalDate today,
+                    StringBuilder usersCsv, StringBuilder cardsCsv) {
+        double extraCardProbability = 1 - 1 / properties.getCardsPerUserMean();
+        long cards = 0;
+        for (long userId = firstUserId; userId < firstUserId + users; userId++) {
+            boolean hot = random.nextDouble() < properties.getHotUserRatio();
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            usersCsv.append(userId).append(',')
+                    .append(hot ? "gen-corp-" : "gen-user-").append(userId).append(',')
+                    .append(firstName).append(',')
+                    .append(lastName).append(',')
+                    .append(PASSWORD_HASH).append(",USER\n");
+
+            int userCards;
+            if (hot) {
+                userCards = properties.getCardsPerHotUser();
+            } else {
+                userCards = 1;
+                while (userCards < properties.getMaxCardsPerUser() && random.nextDouble() < extraCardProbability) {
+                    userCards++;
+                }
+            }
+            for (int n = 0; n < userCards; n++) {
+                long payload = binPrefix + userId * MAX_CARDS_PER_USER + n;
+                String cardNumber = CardNumbers.format(payload * 10 + CardNumbers.luhnCheckDigit(payload));
+
+                CardStatus status;
+                LocalDate expirationDate;
+                if (random.nextDouble() < properties.getExpiredRatio()) {
+                    status = CardStatus.EXPIRED;
+                    expirationDate = endOfMonth(today.minusDays(1 + random.nextInt(730)));
+                    if (!expirationDate.isBefore(today)) {
+                        expirationDate = endOfMonth(today.minusMonths(1));
+                    }
+                } else {
+                    status = random.nextDouble() < properties.getBlockedRatio() ? CardStatus.BLOCKED : CardStatus.ACTIVE;
+                    expirationDate = endOfMonth(today.plusDays(random.nextInt(5 * 365)));
+                }
+                BigDecimal median = hot ? properties.getHotMedianBalance() : properties.getMedianBalance();
+                double balance = median.doubleValue() * Math.exp(properties.getBalanceSigma() * random.nextGaussian());
+
+                cardsCsv.append(converter.convertToDatabaseColumn(cardNumber)).append(',')
+                        .append(firstName).append(' ').append(lastName).append(',')
+                        .append(expirationDate).append(',')
+                        .append(status.name()).append(',')
+                        .append(BigDecimal.valueOf(balance).setScale(2, RoundingMode.HALF_UP).toPlainString()).append(',')
+                        .append(userId).append('\n');
+            }
+            cards += userCards;
+        }
+        return cards;
+    }
+
+    /**
+     * Returns the first account number of the BIN that {@link CardNumberGenerator} may hand out:
+     * the start of the block the BIN was seeded with.
+     * Synthetic account numbers must stay below it.
+     *
+     * @return the first generated account number
+     * @throws IllegalArgumentException if the BIN is not in {@code card_bins}
+     * @throws SQLException if the query fails
+     */
+    private long firstGeneratedAccount() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(FIRST_ACCOUNT_BLOCK_SQL)) {
+            statement.setString(1, properties.getBin());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    throw new IllegalArgumentException("Unknown card BIN " + properties.getBin());
+                }
+                return resultSet.getLong(1) * CardNumberGenerator.BLOCK_SIZE;
+            }
+        }
+    }
+
+    /**
+     * Reserves a range of consecutive user IDs from the {@code users} sequence.
+     *
+     * @param users the number of IDs to reserve
+     * @return the first reserved ID
+     * @throws SQLException if the sequence cannot be advanced
+     */
+    private long reserveUserIds(int users) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(RESERVE_USER_IDS_SQL)) {
+            statement.setInt(1, users);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1) - users + 1;
+            }
+        }
+    }
+
+    private void analyze() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE users");
+            statement.execute("ANALYZE cards");
+        }
+    }
+
+    private static LocalDate endOfMonth(LocalDate date) {
+        return date.withDayOfMonth(date.lengthOfMonth());
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+}
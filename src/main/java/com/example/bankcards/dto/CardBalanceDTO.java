@@ -0,0 +1,31 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.entity.card.CardStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Compact DTO with the balance and status of a card, returned by the bulk balance lookup
+ * keyed by card ID. Instances are created directly from JPQL constructor expressions.
+ */
+@Getter
+@AllArgsConstructor
+public class CardBalanceDTO {
+
+    /**
+     * The unique identifier of the card. Not serialized, since it is the key of the response map.
+     */
+    @JsonIgnore
+    private final Long id;
+    /**
+     * The current balance of the card.
+     */
+    private final BigDecimal balance;
+    /**
+     * The current status of the card (ACTIVE, BLOCKED, EXPIRED).
+     */
+    private final CardStatus status;
+}
@@ -14,6 +14,7 @@ public class CardCreationRequest {
 
     /**
      * The card number. Trimming is applied if not null.
+     * Optional: if absent, a unique number is generated on the server.
      */
     private final String cardNumber;
     /**
@@ -24,6 +25,11 @@ public class CardCreationRequest {
      * The initial balance of the card. If null, it defaults to 0.
      */
     private final BigDecimal balance;
+    /**
+     * The BIN/IIN of the card program. Optional: if absent, the program is derived from the card number,
+     * or the default program is used for a generated number.
+     */
+    private final String bin;
 
     /**
      * Constructs a new {@code CardCreationRequest} with the provided values.
@@ -31,19 +37,33 @@ public class CardCreationRequest {
      * @param cardNumber the card number (will be trimmed if not null)
      * @param userId the user ID associated with the card
      * @param balance the initial balance (defaults to 0 if null)
+     * @param bin the BIN/IIN of the card program (will be trimmed if not null)
      */
     @JsonCreator
     public CardCreationRequest(
             @JsonProperty("cardNumber") String cardNumber,
             @JsonProperty("userId") Long userId,
-            @JsonProperty("balance") BigDecimal balance) {
+            @JsonProperty("balance") BigDecimal balance,
+            @JsonProperty("bin") String bin) {
 
         this.cardNumber = trimOrNull(cardNumber);
         this.userId = userId;
         this.balance = balance == null ? BigDecimal.ZERO : balance;
+        this.bin = trimOrNull(bin);
 
     }
 
+    /**
+     * Constructs a new {@code CardCreationRequest} without an explicit card program.
+     *
+     * @param cardNumber the card number (will be trimmed if not null)
+     * @param userId the user ID associated with the card
+     * @param balance the initial balance (defaults to 0 if null)
+     */
+    public CardCreationRequest(String cardNumber, Long userId, BigDecimal balance) {
+        this(cardNumber, userId, balance, null);
+    }
+
     /**
      * Trims the given string if it is not null; otherwise returns null.
      *
@@ -11,6 +11,8 @@ import java.time.LocalDate;
 
 /**
  * DTO for representing a bank card with masked card number and other relevant details.
+ * The card number is always masked on construction, so instances can be created directly
+ * from JPQL constructor expressions without exposing the plain number.
  */
 @Builder
 @Getter
@@ -45,7 +47,7 @@ public class CardDTO {
      * Constructs a new {@code CardDTO} with the provided card details.
      *
      * @param id             the card's unique identifier
-     * @param cardNumber     the card number (masked)
+     * @param cardNumber     the card number, masked with {@link CardUtil#maskCardNumber(String)}
      * @param ownerName      the name of the card owner
      * @param expirationDate the card's expiration date
      * @param status         the current status of the card
@@ -57,7 +59,7 @@ public class CardDTO {
                    CardStatus status,
                    BigDecimal balance) {
         this.id = id;
-        this.cardNumber = cardNumber;
+        this.cardNumber = CardUtil.maskCardNumber(cardNumber);
         this.ownerName = ownerName;
         this.expirationDate = expirationDate;
         this.status = status;
@@ -74,7 +76,7 @@ public class CardDTO {
         if (card != null) {
             return CardDTO.builder()
                     .id(card.getId())
-                    .cardNumber(CardUtil.maskCardNumber(card.getCardNumber()))
+                    .cardNumber(card.getCardNumber())
                     .ownerName(card.getOwnerName())
                     .expirationDate(card.getExpirationDate())
                     .status(card.getStatus())
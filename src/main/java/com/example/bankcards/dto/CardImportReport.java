@@ -0,0 +1,60 @@
+package com.example.bankcards.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Summary of a bulk card import, including per-row errors.
+ */
+@Getter
+public class CardImportReport {
+
+    /**
+     * The number of data rows read from the input.
+     */
+    private final long totalRows;
+    /**
+     * The number of cards created.
+     */
+    private final long importedRows;
+    /**
+     * The number of rows rejected.
+     */
+    private final long failedRows;
+    /**
+     * Errors of rejected rows, limited to the first {@code maxErrors} ones.
+     */
+    private final List<RowError> errors;
+    /**
+     * Whether some row errors were omitted from {@link #errors}.
+     */
+    private final boolean errorsTruncated;
+
+    /**
+     * Constructs a new {@code CardImportReport} with the provided values.
+     *
+     * @param totalRows       the number of data rows read
+     * @param importedRows    the number of cards created
+     * @param failedRows      the number of rows rejected
+     * @param errors          errors of rejected rows
+     * @param errorsTruncated whether some row errors were omitted
+     */
+    public CardImportReport(long totalRows, long importedRows, long failedRows,
+                            List<RowError> errors, boolean errorsTruncated) {
+        this.totalRows = totalRows;
+        this.importedRows = importedRows;
+        this.failedRows = failedRows;
+        this.errors = errors;
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    /**
+     * An error of a single input row.
+     *
+     * @param line    the line number in the input, starting from 1
+     * @param message the reason the row was rejected
+     */
+    public record RowError(long line, String message) {
+    }
+}
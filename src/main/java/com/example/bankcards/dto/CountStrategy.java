@@ -0,0 +1,19 @@
+package com.example.bankcards.dto;
+
+/**
+ * Describes how the total element count of a page was obtained.
+ */
+public enum CountStrategy {
+    /**
+     * An exact {@code COUNT(*)} executed for the request.
+     */
+    EXACT,
+    /**
+     * The Postgres planner estimate from {@code pg_class.reltuples}.
+     */
+    ESTIMATED,
+    /**
+     * An exact count refreshed periodically in the background.
+     */
+    CACHED
+}
@@ -0,0 +1,33 @@
+package com.example.bankcards.dto;
+
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+
+/**
+ * Wraps a {@link Page} together with the {@link CountStrategy} used to compute its total count.
+ *
+ * @param <T> the type of the page content
+ */
+@Getter
+public class CountedPage<T> {
+
+    /**
+     * The page of results.
+     */
+    private final Page<T> page;
+    /**
+     * The strategy that produced the page's total element count.
+     */
+    private final CountStrategy countStrategy;
+
+    /**
+     * Constructs a new {@code CountedPage} with the provided values.
+     *
+     * @param page          the page of results
+     * @param countStrategy the strategy that produced the total count
+     */
+    public CountedPage(Page<T> page, CountStrategy countStrategy) {
+        this.page = page;
+        this.countStrategy = countStrategy;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.util.CursorCodec;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A slice of results fetched with keyset (cursor) pagination.
+ * Unlike {@link org.springframework.data.domain.Page}, it carries no total count,
+ * only an opaque token that continues the listing after the last returned element.
+ *
+ * @param <T> the type of the elements in the slice
+ */
+@Getter
+public class CursorPage<T> {
+
+    /**
+     * The number of elements returned when the client does not specify a size.
+     */
+    public static final int DEFAULT_SIZE = 20;
+    /**
+     * The upper bound for the requested slice size.
+     */
+    public static final int MAX_SIZE = 1000;
+
+    /**
+     * The elements of this slice.
+     */
+    private final List<T> content;
+    /**
+     * The requested number of elements in the slice.
+     */
+    private final int size;
+    /**
+     * Whether more elements are available after this slice.
+     */
+    private final boolean hasNext;
+    /**
+     * The token to pass as {@code cursor} to fetch the next slice, or null if this is the last one.
+     */
+    private final String nextCursor;
+
+    /**
+     * Constructs a new {@code CursorPage} with the provided values.
+     *
+     * @param content    the elements of the slice
+     * @param size       the requested slice size
+     * @param hasNext    whether more elements are available
+     * @param nextCursor the token for the next slice, or null
+     */
+    public CursorPage(List<T> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Builds a slice from rows fetched with a limit of {@code size + 1}.
+     * The extra row only signals that another slice exists and is dropped from the content.
+     *
+     * @param rows         the fetched rows, ordered by key
+     * @param size         the requested slice size
+     * @param keyExtractor function that returns the keyset key of a row
+     * @param <T>          the type of the rows
+     * @return a new {@code CursorPage}
+     */
+    public static <T> CursorPage<T> fromOverfetched(List<T> rows, int size, Function<T, Long> keyExtractor) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext
+                ? CursorCodec.encode(keyExtractor.apply(content.get(content.size() - 1)))
+                : null;
+        return new CursorPage<>(content, size, hasNext, nextCursor);
+    }
+
+    /**
+     * Clamps the requested size to the range {@code [1, MAX_SIZE]}.
+     *
+     * @param size the requested size, may be null
+     * @return the effective size
+     */
+    public static int effectiveSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
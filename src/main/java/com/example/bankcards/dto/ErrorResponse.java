@@ -0,0 +1,24 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.exception.ErrorCode;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Body of error responses: a stable machine-readable code and a human-readable message.
+ *
+ * @param code    the error code
+ * @param message the error message
+ */
+public record ErrorResponse(ErrorCode code, String message) {
+
+    /**
+     * Creates a response entity with this body and the status of the error code.
+     *
+     * @param code    the error code
+     * @param message the error message
+     * @return the response entity
+     */
+    public static ResponseEntity<ErrorResponse> of(ErrorCode code, String message) {
+        return ResponseEntity.status(code.getStatus()).body(new ErrorResponse(code, message));
+    }
+}
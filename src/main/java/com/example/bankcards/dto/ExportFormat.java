@@ -0,0 +1,49 @@
+package com.example.bankcards.dto;
+
+import com.example.bankcards.exception.exceptions.CardException;
+import lombok.Getter;
+
+/**
+ * Output formats supported by the card export.
+ */
+@Getter
+public enum ExportFormat {
+    /**
+     * Newline-delimited JSON, one card object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+    /**
+     * Comma-separated values with a header line.
+     */
+    CSV("text/csv", "csv");
+
+    /**
+     * The media type of the exported content.
+     */
+    private final String mediaType;
+    /**
+     * The file extension of the exported content.
+     */
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    /**
+     * Resolves a format from a request parameter, ignoring case.
+     *
+     * @param value the parameter value, e.g. {@code ndjson} or {@code csv}
+     * @return the matching format
+     * @throws CardException if the format is not supported
+     */
+    public static ExportFormat fromParameter(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new CardException("Unsupported export format");
+    }
+}
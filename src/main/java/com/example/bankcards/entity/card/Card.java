@@ -1,10 +1,14 @@
 package com.example.bankcards.entity.card;
 
 import com.example.bankcards.entity.user.BankUser;
+import com.example.bankcards.util.EncryptedCacheMutabilityPlan;
 import com.example.bankcards.util.SimpleCardEncryptConverter;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Mutability;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -12,9 +16,12 @@ import java.time.LocalDate;
 /**
  * Represents a bank card entity stored in the database.
  * Includes encryption for sensitive data like the card number.
+ * Cached in the {@code cards} second-level cache region; the cached state holds the encrypted number.
  */
 @Table(name = "cards")
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cards")
 @Getter
 @Setter
 public class Card {
@@ -30,10 +37,12 @@ public class Card {
     private Long id;
 
     /**
-     * The card number, which is encrypted using {@link SimpleCardEncryptConverter}.
+     * The card number, which is encrypted using {@link SimpleCardEncryptConverter},
+     * in the database and in the second-level cache ({@link EncryptedCacheMutabilityPlan}).
      * Must be unique and non-null.
      */
     @Convert(converter = SimpleCardEncryptConverter.class)
+    @Mutability(EncryptedCacheMutabilityPlan.class)
     @Column(name = "card_number", unique = true, nullable = false)
     private String cardNumber;
 
@@ -78,6 +87,13 @@ public class Card {
     @JoinColumn(name = "user_id")
     private BankUser bankUser;
 
+    /**
+     * The version of the card, incremented by Hibernate on every update.
+     * Used for optimistic locking and as the ETag of the card's balance.
+     */
+    @Version
+    private Long version;
+
     @Override
     public boolean equals(Object object) {
         if (this == object) return true;
@@ -1,8 +0,0 @@
-package com.example.bankcards.entity.card;
-
-import lombok.Getter;
-
-public class CardBINorIIN {
-    @Getter
-    private static final String cardBINorIIN = "4000";
-}
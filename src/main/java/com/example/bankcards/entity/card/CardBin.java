@@ -0,0 +1,65 @@
+package com.example.bankcards.entity.card;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Represents a card program identified by its BIN/IIN prefix, together with the product rules
+ * applied to cards issued under it.
+ */
+@Table(name = "card_bins")
+@Entity
+@Getter
+@Setter
+public class CardBin {
+
+    public CardBin() {
+    }
+
+    /**
+     * The unique identifier of the card program in the database.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The BIN/IIN prefix of the card numbers, from 1 to 8 digits.
+     * Must be unique and non-null.
+     */
+    @Column(nullable = false, unique = true, length = 8)
+    private String bin;
+
+    /**
+     * The name of the card product.
+     */
+    @Column(nullable = false)
+    private String productName;
+
+    /**
+     * The number of years a newly issued card stays valid.
+     */
+    @Column(nullable = false)
+    private int expiryYears;
+
+    /**
+     * The maximum balance a card may be issued with, or null if it is not limited.
+     */
+    private BigDecimal maxInitialBalance;
+
+    /**
+     * The block of account numbers the BIN was seeded with; generated card numbers start at it.
+     * Set by the database when the BIN is inserted.
+     */
+    @Column(insertable = false, updatable = false)
+    private Long firstAccountBlock;
+
+    /**
+     * Whether new cards may be issued and validated under this BIN.
+     */
+    @Column(nullable = false)
+    private boolean active;
+}
@@ -0,0 +1,54 @@
+package com.example.bankcards.entity.outbox;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * A message for downstream systems, stored in the transaction of the change it describes
+ * and removed once the relay has delivered it.
+ */
+@Table(name = "outbox_messages")
+@Entity
+@Getter
+@Setter
+public class OutboxMessage {
+
+    public OutboxMessage() {
+    }
+
+    /**
+     * The unique identifier of the message; messages are delivered in ID order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The type of the message, e.g. {@code card.created}.
+     */
+    @Column(nullable = false, length = 64)
+    private String type;
+
+    /**
+     * The ID of the card the message is about.
+     */
+    private Long aggregateId;
+
+    /**
+     * The message body as a JSON document.
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false, columnDefinition = "jsonb")
+    private String payload;
+
+    /**
+     * The time the message was stored.
+     */
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,13 @@
+package com.example.bankcards.event;
+
+/**
+ * Operations recorded in the audit log.
+ */
+public enum AuditAction {
+    TRANSFER,
+    CARD_BLOCK_REQUESTED,
+    CARD_BLOCKED,
+    CARD_UNBLOCKED,
+    CARD_DELETED,
+    ADMIN_GRANTED
+}
@@ -0,0 +1,45 @@
+package com.example.bankcards.event;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+
+/**
+ * An entry of the audit log. Published by services inside the transaction of the audited operation
+ * and recorded only if that transaction commits.
+ *
+ * @param occurredAt the time of the operation
+ * @param actor      the username of the user who performed the operation, or {@value #SYSTEM_ACTOR}
+ * @param action     the operation
+ * @param cardId     the ID of the affected card, or null
+ * @param userId     the ID of the affected user, or null
+ * @param details    additional details, or null
+ */
+public record AuditEvent(Instant occurredAt,
+                         String actor,
+                         AuditAction action,
+                         Long cardId,
+                         Long userId,
+                         String details) {
+
+    /**
+     * The actor of operations performed without an authenticated user, such as scheduled jobs.
+     */
+    public static final String SYSTEM_ACTOR = "system";
+
+    /**
+     * Creates an event performed now by the user of the current security context.
+     *
+     * @param action  the operation
+     * @param cardId  the ID of the affected card, or null
+     * @param userId  the ID of the affected user, or null
+     * @param details additional details, or null
+     * @return a new event
+     */
+    public static AuditEvent of(AuditAction action, Long cardId, Long userId, String details) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String actor = authentication == null ? SYSTEM_ACTOR : authentication.getName();
+        return new AuditEvent(Instant.now(), actor, action, cardId, userId, details);
+    }
+}
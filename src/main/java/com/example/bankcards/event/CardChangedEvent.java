@@ -0,0 +1,37 @@
+package com.example.bankcards.event;
+
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.math.BigDecimal;
+
+/**
+ * Published when the balance or status of a card changes.
+ * Listeners that notify clients handle it after the transaction commits,
+ * so rolled-back changes are never announced.
+ *
+ * @param cardId        the ID of the card
+ * @param ownerUsername the username of the card owner, or null if the card has no owner; not sent to clients
+ * @param balance       the balance after the change
+ * @param status        the status after the change
+ * @param version       the version of the card after the change, which orders the changes of one card
+ */
+public record CardChangedEvent(Long cardId,
+                               @JsonIgnore String ownerUsername,
+                               BigDecimal balance,
+                               CardStatus status,
+                               Long version) {
+
+    /**
+     * Creates an event describing the current state of a card.
+     * The card must have been flushed, so that its version is the one the change commits with.
+     *
+     * @param card the changed card
+     * @return a new event
+     */
+    public static CardChangedEvent of(Card card) {
+        String owner = card.getBankUser() == null ? null : card.getBankUser().getUsername();
+        return new CardChangedEvent(card.getId(), owner, card.getBalance(), card.getStatus(), card.getVersion());
+    }
+}
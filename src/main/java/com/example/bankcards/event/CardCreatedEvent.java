@@ -0,0 +1,34 @@
+package com.example.bankcards.event;
+
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Published when a card is issued. Carries no card number, so it can be passed to downstream systems as is.
+ *
+ * @param cardId         the ID of the new card
+ * @param userId         the ID of the card owner
+ * @param expirationDate the expiration date of the card
+ * @param balance        the initial balance
+ * @param status         the initial status
+ */
+public record CardCreatedEvent(Long cardId,
+                               Long userId,
+                               LocalDate expirationDate,
+                               BigDecimal balance,
+                               CardStatus status) {
+
+    /**
+     * Creates an event describing a newly saved card.
+     *
+     * @param card the new card, with its ID assigned
+     * @return a new event
+     */
+    public static CardCreatedEvent of(Card card) {
+        Long userId = card.getBankUser() == null ? null : card.getBankUser().getId();
+        return new CardCreatedEvent(card.getId(), userId, card.getExpirationDate(), card.getBalance(), card.getStatus());
+    }
+}
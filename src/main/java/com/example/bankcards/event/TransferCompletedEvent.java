@@ -0,0 +1,13 @@
+package com.example.bankcards.event;
+
+import java.math.BigDecimal;
+
+/**
+ * Published when funds are transferred between two cards.
+ *
+ * @param sourceCardId the ID of the debited card
+ * @param targetCardId the ID of the credited card
+ * @param amount       the transferred amount
+ */
+public record TransferCompletedEvent(Long sourceCardId, Long targetCardId, BigDecimal amount) {
+}
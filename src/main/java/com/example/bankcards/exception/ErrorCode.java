@@ -0,0 +1,46 @@
+package com.example.bankcards.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Stable error codes returned to clients in the {@code code} field of error responses.
+ * Clients should branch on the code rather than on the message, which may change.
+ */
+public enum ErrorCode {
+
+    CARD_ERROR(HttpStatus.BAD_REQUEST),
+    CARD_NOT_FOUND(HttpStatus.NOT_FOUND),
+    CARD_STATUS_CONFLICT(HttpStatus.CONFLICT),
+    CARD_ALREADY_EXISTS(HttpStatus.CONFLICT),
+    CARD_CREATION_FAILED(HttpStatus.UNPROCESSABLE_ENTITY),
+    INSUFFICIENT_FUNDS(HttpStatus.UNPROCESSABLE_ENTITY),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST),
+    INVALID_USER_DATA(HttpStatus.UNPROCESSABLE_ENTITY),
+    EMPTY_CREDENTIALS(HttpStatus.UNPROCESSABLE_ENTITY),
+    REGISTRATION_FAILED(HttpStatus.BAD_REQUEST),
+    USER_ALREADY_EXISTS(HttpStatus.CONFLICT),
+    LOGIN_FAILED(HttpStatus.UNAUTHORIZED),
+    USER_NOT_FOUND(HttpStatus.UNAUTHORIZED),
+    BAD_CREDENTIALS(HttpStatus.UNAUTHORIZED),
+    INVALID_TOKEN(HttpStatus.UNAUTHORIZED),
+    ACCESS_DENIED(HttpStatus.FORBIDDEN),
+    METHOD_NOT_ALLOWED(HttpStatus.METHOD_NOT_ALLOWED),
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS),
+    RECORDING_STATE_CONFLICT(HttpStatus.CONFLICT),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR);
+
+    private final HttpStatus status;
+
+    ErrorCode(HttpStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * Returns the HTTP status of responses with this code.
+     *
+     * @return the HTTP status
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.bankcards.exception;
 
-import org.springframework.http.HttpStatus;
+import com.example.bankcards.dto.ErrorResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
  * Centralized exception handler that captures unhandled exceptions and returns appropriate HTTP responses.
  */
 @RestControllerAdvice
+@Slf4j
 public class GlobalExceptionHandler {
 
     /**
@@ -18,18 +20,21 @@ public class GlobalExceptionHandler {
      * @return A response with status code 405 (Method Not Allowed)
      */
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
-    public ResponseEntity<String> handleHttpRequestMethodNotSupportedException() {
-        return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED).body("Method Not Allowed");
+    public ResponseEntity<ErrorResponse> handleHttpRequestMethodNotSupportedException() {
+        return ErrorResponse.of(ErrorCode.METHOD_NOT_ALLOWED, "Method Not Allowed");
     }
 
     /**
      * Handles general runtime exceptions that are not caught by more specific handlers.
+     * These are unexpected failures, so the exception is logged with its stack trace
+     * and its message is not sent to the client.
      *
      * @param e The exception that occurred
-     * @return A response with status code 500 (Internal Server Error) and the exception message
+     * @return A response with status code 500 (Internal Server Error)
      */
     @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<String> handleRuntimeException(RuntimeException e) {
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+    public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException e) {
+        log.error("Unhandled exception", e);
+        return ErrorResponse.of(ErrorCode.INTERNAL_ERROR, "Internal server error");
     }
 }
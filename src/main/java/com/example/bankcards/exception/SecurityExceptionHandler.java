@@ -1,9 +1,10 @@
 package com.example.bankcards.exception;
 
-import com.example.bankcards.exception.exceptions.*;
+import com.example.bankcards.dto.ErrorResponse;
+import com.example.bankcards.exception.exceptions.DomainException;
+import com.example.bankcards.exception.exceptions.LoginException;
 import io.jsonwebtoken.JwtException;
 import org.springframework.core.annotation.Order;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -12,108 +13,62 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 /**
  * Custom exception handler for security and domain-specific exceptions.
- * Provides meaningful HTTP responses for different types of errors.
+ * Responds with an {@link ErrorResponse} whose status is determined by the {@link ErrorCode}.
  */
 @Order(1)
 @RestControllerAdvice
 public class SecurityExceptionHandler {
 
     /**
-     * Handles security-related exceptions such as JWT issues, login failures, or invalid user data.
+     * Handles expected business failures: card operations, invalid user data and registration errors.
      *
      * @param ex The exception that occurred
-     * @return A response with the appropriate HTTP status and message
+     * @return A response with the status and code of the exception's {@link ErrorCode}
      */
-    @ExceptionHandler({
-            JwtException.class,
-            LoginException.class,
-            InvalidUserDataException.class
-    })
-    public ResponseEntity<String> handleSecurityExceptions(RuntimeException ex) {
-        HttpStatus status;
-        if (ex instanceof JwtException) {
-            status = HttpStatus.UNAUTHORIZED;
-        } else if (ex instanceof LoginException) {
-            status = HttpStatus.UNAUTHORIZED;
-        } else if (ex instanceof InvalidUserDataException) {
-            status = HttpStatus.UNPROCESSABLE_ENTITY;
-        } else {
-            status = HttpStatus.FORBIDDEN;
-        }
-        return new ResponseEntity<>(ex.getMessage(), status);
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ErrorResponse> handleDomainException(DomainException ex) {
+        return ErrorResponse.of(ex.getErrorCode(), ex.getMessage());
     }
 
     /**
-     * Handles exceptions related to card operations such as creation, existence, and status.
+     * Handles login failures.
      *
      * @param ex The exception that occurred
-     * @return A response with the appropriate HTTP status and message
-     */
-    @ExceptionHandler({
-            CardException.class,
-            CardStatusException.class,
-            CardCreationException.class,
-            CardDoesNotExistException.class,
-            CardAlreadyExistsException.class,
-            InsufficientFundsException.class
-    })
-    public ResponseEntity<String> handleCardException(CardException ex) {
-        HttpStatus status;
-        if (ex instanceof CardStatusException) {
-            status = HttpStatus.CONFLICT;
-        } else if (ex instanceof CardAlreadyExistsException) {
-            status = HttpStatus.CONFLICT;
-        } else if (ex instanceof CardCreationException) {
-            status = HttpStatus.UNPROCESSABLE_ENTITY;
-        } else if (ex instanceof CardDoesNotExistException) {
-            status = HttpStatus.NOT_FOUND;
-        } else if (ex instanceof InsufficientFundsException) {
-            status = HttpStatus.UNPROCESSABLE_ENTITY;
-        } else {
-            status = HttpStatus.BAD_REQUEST;
-        }
-        return new ResponseEntity<>(ex.getMessage(), status);
-    }
-
-    /**
-     * Handles access denied exceptions thrown by Spring Security.
-     *
-     * @return A response with HTTP status 403 (Forbidden)
+     * @return A response with HTTP status 401 (Unauthorized)
      */
-    @ExceptionHandler(AccessDeniedException.class)
-    public ResponseEntity<String> handleAccessDeniedException() {
-        return new ResponseEntity<>("Access denied", HttpStatus.FORBIDDEN);
+    @ExceptionHandler(LoginException.class)
+    public ResponseEntity<ErrorResponse> handleLoginException(LoginException ex) {
+        return ErrorResponse.of(ex.getErrorCode(), ex.getMessage());
     }
 
     /**
-     * Handles bad credentials exceptions during authentication.
+     * Handles invalid or expired JWT tokens.
      *
+     * @param ex The exception that occurred
      * @return A response with HTTP status 401 (Unauthorized)
      */
-    @ExceptionHandler(BadCredentialsException.class)
-    public ResponseEntity<String> handleBadCredentialsException() {
-        return new ResponseEntity<>("Bad credentials", HttpStatus.UNAUTHORIZED);
+    @ExceptionHandler(JwtException.class)
+    public ResponseEntity<ErrorResponse> handleJwtException(JwtException ex) {
+        return ErrorResponse.of(ErrorCode.INVALID_TOKEN, ex.getMessage());
     }
 
     /**
-     * Handles user already exists exceptions during registration.
+     * Handles access denied exceptions thrown by Spring Security.
      *
-     * @param ex The exception that occurred
-     * @return A response with HTTP status 409 (Conflict)
+     * @return A response with HTTP status 403 (Forbidden)
      */
-    @ExceptionHandler(UserAlreadyExistsException.class)
-    public ResponseEntity<String> handleUserAlreadyExistsException(UserAlreadyExistsException ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleAccessDeniedException() {
+        return ErrorResponse.of(ErrorCode.ACCESS_DENIED, "Access denied");
     }
 
     /**
-     * Handles registration-related exceptions.
+     * Handles bad credentials exceptions during authentication.
      *
-     * @param ex The exception that occurred
-     * @return A response with HTTP status 400 (Bad Request)
+     * @return A response with HTTP status 401 (Unauthorized)
      */
-    @ExceptionHandler(RegistrationException.class)
-    public ResponseEntity<String> handleRegistrationException(RegistrationException ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    @ExceptionHandler(BadCredentialsException.class)
+    public ResponseEntity<ErrorResponse> handleBadCredentialsException() {
+        return ErrorResponse.of(ErrorCode.BAD_CREDENTIALS, "Bad credentials");
     }
 }
@@ -1,7 +1,9 @@
 package com.example.bankcards.exception.exceptions;
 
+import com.example.bankcards.exception.ErrorCode;
+
 public class CardAlreadyExistsException extends CardCreationException {
     public CardAlreadyExistsException(String message) {
-        super(message);
+        super(ErrorCode.CARD_ALREADY_EXISTS, message);
     }
 }
@@ -1,7 +1,13 @@
 package com.example.bankcards.exception.exceptions;
 
+import com.example.bankcards.exception.ErrorCode;
+
 public class CardCreationException extends CardException {
     public CardCreationException(String message) {
-        super(message);
+        super(ErrorCode.CARD_CREATION_FAILED, message);
+    }
+
+    protected CardCreationException(ErrorCode errorCode, String message) {
+        super(errorCode, message);
     }
 }
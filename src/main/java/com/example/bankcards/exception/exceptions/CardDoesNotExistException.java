@@ -1,7 +1,9 @@
 package com.example.bankcards.exception.exceptions;
 
+import com.example.bankcards.exception.ErrorCode;
+
 public class CardDoesNotExistException extends CardException {
     public CardDoesNotExistException(String message) {
-        super(message);
+        super(ErrorCode.CARD_NOT_FOUND, message);
     }
 }
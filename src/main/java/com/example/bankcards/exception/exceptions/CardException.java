@@ -1,7 +1,13 @@
 package com.example.bankcards.exception.exceptions;
 
-public class CardException extends RuntimeException {
+import com.example.bankcards.exception.ErrorCode;
+
+public class CardException extends DomainException {
     public CardException(String message) {
-        super(message);
+        this(ErrorCode.CARD_ERROR, message);
+    }
+
+    protected CardException(ErrorCode errorCode, String message) {
+        super(errorCode, message);
     }
 }
@@ -1,7 +1,9 @@
 package com.example.bankcards.exception.exceptions;
 
+import com.example.bankcards.exception.ErrorCode;
+
 public class CardStatusException extends CardException {
     public CardStatusException(String message) {
-        super(message);
+        super(ErrorCode.CARD_STATUS_CONFLICT, message);
     }
 }
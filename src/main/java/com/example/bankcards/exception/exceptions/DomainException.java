@@ -0,0 +1,23 @@
+package com.example.bankcards.exception.exceptions;
+
+import com.example.bankcards.exception.ErrorCode;
+
+/**
+ * Base class of the expected business failures, such as insufficient funds or a blocked card.
+ * These are rejected requests rather than bugs, and they are thrown often, so they neither
+ * capture a stack trace nor record suppressed exceptions. Each one carries the {@link ErrorCode}
+ * that determines the response status and the code sent to the client.
+ */
+public class DomainException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    public DomainException(ErrorCode errorCode, String message) {
+        super(message, null, false, false);
+        this.errorCode = errorCode;
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+}
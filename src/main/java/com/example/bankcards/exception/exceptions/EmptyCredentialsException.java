@@ -1,7 +1,9 @@
 package com.example.bankcards.exception.exceptions;
 
+import com.example.bankcards.exception.ErrorCode;
+
 public class EmptyCredentialsException extends InvalidUserDataException {
     public EmptyCredentialsException(String message) {
-        super(message);
+        super(ErrorCode.EMPTY_CREDENTIALS, message);
     }
 }
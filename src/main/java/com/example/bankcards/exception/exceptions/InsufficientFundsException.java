@@ -1,7 +1,9 @@
 package com.example.bankcards.exception.exceptions;
 
+import com.example.bankcards.exception.ErrorCode;
+
 public class InsufficientFundsException extends CardException {
     public InsufficientFundsException(String message) {
-        super(message);
+        super(ErrorCode.INSUFFICIENT_FUNDS, message);
     }
 }
@@ -0,0 +1,9 @@
+package com.example.bankcards.exception.exceptions;
+
+import com.example.bankcards.exception.ErrorCode;
+
+public class InvalidCursorException extends CardException {
+    public InvalidCursorException(String message) {
+        super(ErrorCode.INVALID_CURSOR, message);
+    }
+}
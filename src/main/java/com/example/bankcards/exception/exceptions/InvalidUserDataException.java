@@ -1,7 +1,13 @@
 package com.example.bankcards.exception.exceptions;
 
-public class InvalidUserDataException extends RuntimeException {
+import com.example.bankcards.exception.ErrorCode;
+
+public class InvalidUserDataException extends DomainException {
     public InvalidUserDataException(String message) {
-        super(message);
+        super(ErrorCode.INVALID_USER_DATA, message);
+    }
+
+    protected InvalidUserDataException(ErrorCode errorCode, String message) {
+        super(errorCode, message);
     }
 }
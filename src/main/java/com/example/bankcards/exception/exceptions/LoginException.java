@@ -1,9 +1,31 @@
 package com.example.bankcards.exception.exceptions;
 
+import com.example.bankcards.exception.ErrorCode;
 import org.springframework.security.core.AuthenticationException;
 
+/**
+ * Login failure. Extends {@link AuthenticationException} so Spring Security handles it,
+ * but like {@link DomainException} it carries an {@link ErrorCode} and no stack trace.
+ */
 public class LoginException extends AuthenticationException {
+
+    private final ErrorCode errorCode;
+
     public LoginException(String message) {
+        this(ErrorCode.LOGIN_FAILED, message);
+    }
+
+    protected LoginException(ErrorCode errorCode, String message) {
         super(message);
+        this.errorCode = errorCode;
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
     }
 }
@@ -0,0 +1,9 @@
+package com.example.bankcards.exception.exceptions;
+
+import com.example.bankcards.exception.ErrorCode;
+
+public class RecordingStateException extends DomainException {
+    public RecordingStateException(String message) {
+        super(ErrorCode.RECORDING_STATE_CONFLICT, message);
+    }
+}
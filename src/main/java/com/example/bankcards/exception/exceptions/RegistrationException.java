@@ -1,7 +1,13 @@
 package com.example.bankcards.exception.exceptions;
 
-public class RegistrationException extends RuntimeException {
+import com.example.bankcards.exception.ErrorCode;
+
+public class RegistrationException extends DomainException {
     public RegistrationException(String message) {
-        super(message);
+        super(ErrorCode.REGISTRATION_FAILED, message);
+    }
+
+    protected RegistrationException(ErrorCode errorCode, String message) {
+        super(errorCode, message);
     }
 }
@@ -1,7 +1,9 @@
 package com.example.bankcards.exception.exceptions;
 
+import com.example.bankcards.exception.ErrorCode;
+
 public class UserAlreadyExistsException extends RegistrationException {
     public UserAlreadyExistsException(String message) {
-        super(message);
+        super(ErrorCode.USER_ALREADY_EXISTS, message);
     }
 }
@@ -1,7 +1,9 @@
 package com.example.bankcards.exception.exceptions;
 
+import com.example.bankcards.exception.ErrorCode;
+
 public class UserDoesNotExistException extends LoginException {
     public UserDoesNotExistException(String message) {
-        super(message);
+        super(ErrorCode.USER_NOT_FOUND, message);
     }
 }
@@ -0,0 +1,56 @@
+package com.example.bankcards.jfr;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+
+/**
+ * Pseudonymizes card IDs for flight recordings, which may leave the production environment.
+ * An ID is replaced by a truncated HMAC-SHA256 with a key generated at startup and never stored,
+ * so events of one recording can be correlated by card, but the IDs cannot be recovered from them.
+ */
+final class CardIdHash {
+
+    private static final int HASH_BYTES = 8;
+
+    private static final SecretKeySpec KEY = newKey();
+
+    private static final ThreadLocal<Mac> MAC = ThreadLocal.withInitial(CardIdHash::newMac);
+
+    private CardIdHash() {
+    }
+
+    /**
+     * Returns the pseudonym of a card ID.
+     *
+     * @param id the card ID
+     * @return 16 hex digits, the same for the same ID until the application restarts
+     */
+    static String of(long id) {
+        Mac mac = MAC.get();
+        byte[] input = new byte[Long.BYTES];
+        for (int i = 0; i < Long.BYTES; i++) {
+            input[i] = (byte) (id >>> (56 - 8 * i));
+        }
+        byte[] hash = mac.doFinal(input);
+        return HexFormat.of().formatHex(hash, 0, HASH_BYTES);
+    }
+
+    private static SecretKeySpec newKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return new SecretKeySpec(key, "HmacSHA256");
+    }
+
+    private static Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(KEY);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.bankcards.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Encryption or decryption of a card number by the JPA attribute converter.
+ * Emitted for every operation while enabled, so the stack trace is off to keep the event small.
+ */
+@Name("com.example.bankcards.CardCrypto")
+@Label("Card Number Crypto")
+@Category({"Bank Cards", "Crypto"})
+@Description("Encryption or decryption of a card number")
+@StackTrace(false)
+public class CryptoEvent extends Event {
+
+    @Label("Operation")
+    @Description("encrypt or decrypt")
+    private String operation;
+
+    public CryptoEvent(String operation) {
+        this.operation = operation;
+    }
+}
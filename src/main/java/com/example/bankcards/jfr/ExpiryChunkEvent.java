@@ -0,0 +1,43 @@
+package com.example.bankcards.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One chunk of the card expiry job: selecting the IDs of a chunk of expired cards and updating them.
+ */
+@Name("com.example.bankcards.ExpiryChunk")
+@Label("Card Expiry Chunk")
+@Category({"Bank Cards", "Jobs"})
+@Description("A chunk of cards marked as expired by the expiry job")
+@StackTrace(false)
+public class ExpiryChunkEvent extends Event {
+
+    @Label("Chunk")
+    @Description("The number of the chunk within the run, starting at 0")
+    private int chunk;
+
+    @Label("Selected Cards")
+    private int selected;
+
+    @Label("Expired Cards")
+    @Description("Cards updated, fewer than selected if some changed status in the meantime")
+    private int expired;
+
+    /**
+     * Sets the result of the chunk.
+     *
+     * @param chunk    the number of the chunk within the run
+     * @param selected the number of selected cards
+     * @param expired  the number of cards marked as expired
+     */
+    public void set(int chunk, int selected, int expired) {
+        this.chunk = chunk;
+        this.selected = selected;
+        this.expired = expired;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.bankcards.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+
+/**
+ * A card-to-card transfer, from the start of the service call to the end of its transaction.
+ * Card IDs are pseudonymized and the amount is reduced to its order of magnitude,
+ * so a recording can be shared without exposing card data.
+ * <p>
+ * The event is committed after the transaction completes, so the commit time is included.
+ * Nothing is computed unless a recording with this event enabled is running.
+ */
+@Name("com.example.bankcards.Transfer")
+@Label("Card Transfer")
+@Category({"Bank Cards", "Transfers"})
+@Description("A card-to-card transfer including the lock waits and the commit")
+@StackTrace(false)
+public class TransferEvent extends Event {
+
+    private static final BigDecimal[] BUCKET_BOUNDS = {
+            BigDecimal.ONE, BigDecimal.TEN, BigDecimal.valueOf(100),
+            BigDecimal.valueOf(1_000), BigDecimal.valueOf(10_000), BigDecimal.valueOf(100_000)
+    };
+    private static final String[] BUCKETS = {
+            "<1", "1-10", "10-100", "100-1K", "1K-10K", "10K-100K", ">=100K"
+    };
+
+    @Label("Source Card")
+    @Description("Pseudonym of the source card ID")
+    private String sourceCard;
+
+    @Label("Target Card")
+    @Description("Pseudonym of the target card ID")
+    private String targetCard;
+
+    @Label("Amount")
+    @Description("Order of magnitude of the transferred amount")
+    private String amountBucket;
+
+    @Label("Lock Wait")
+    @Description("Time spent waiting for the row locks of both cards")
+    @Timespan(Timespan.NANOSECONDS)
+    private long lockWait;
+
+    @Label("Commit Time")
+    @Description("Time spent flushing and committing the transaction")
+    @Timespan(Timespan.NANOSECONDS)
+    private long commitTime;
+
+    @Label("Outcome")
+    @Description("committed, rolled back or unknown")
+    private String outcome;
+
+    /**
+     * Starts timing a transfer if the event is enabled and a transaction is active,
+     * and arranges for the event to be committed when the transaction completes.
+     *
+     * @param sourceCardId the ID of the source card
+     * @param targetCardId the ID of the target card
+     * @param amount       the amount to transfer
+     * @return the started event, or null if the transfer is not recorded
+     */
+    public static TransferEvent beginInTransaction(Long sourceCardId, Long targetCardId, BigDecimal amount) {
+        TransferEvent event = new TransferEvent();
+        if (!event.isEnabled() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        event.begin();
+        event.sourceCard = sourceCardId == null ? null : CardIdHash.of(sourceCardId);
+        event.targetCard = targetCardId == null ? null : CardIdHash.of(targetCardId);
+        event.amountBucket = amountBucket(amount);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            private long commitStart;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitStart = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (commitStart != 0) {
+                    event.commitTime = System.nanoTime() - commitStart;
+                }
+                event.outcome = switch (status) {
+                    case STATUS_COMMITTED -> "committed";
+                    case STATUS_ROLLED_BACK -> "rolled back";
+                    default -> "unknown";
+                };
+                event.commit();
+            }
+        });
+        return event;
+    }
+
+    /**
+     * Records the time spent waiting for the row locks.
+     *
+     * @param nanos the lock wait in nanoseconds
+     */
+    public void setLockWait(long nanos) {
+        this.lockWait = nanos;
+    }
+
+    static String amountBucket(BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            if (amount.compareTo(BUCKET_BOUNDS[i]) < 0) {
+                return BUCKETS[i];
+            }
+        }
+        return BUCKETS[BUCKETS.length - 1];
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.bankcards.outbox;
+
+import com.example.bankcards.entity.outbox.OutboxMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends relayed messages to a local file, one JSON object per line.
+ * Each batch is flushed to disk before it is acknowledged. Useful for tests and local runs.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+
+    public FileOutboxSink(@Value("${outbox.file.path:outbox.jsonl}") Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public void deliver(List<OutboxMessage> messages) throws IOException {
+        StringBuilder lines = new StringBuilder(messages.size() * 160);
+        for (OutboxMessage message : messages) {
+            lines.append("{\"id\":").append(message.getId())
+                    .append(",\"type\":\"").append(message.getType())
+                    .append("\",\"aggregateId\":").append(message.getAggregateId())
+                    .append(",\"createdAt\":\"").append(message.getCreatedAt())
+                    .append("\",\"payload\":").append(message.getPayload())
+                    .append("}\n");
+        }
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC)) {
+            writer.write(lines.toString());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.bankcards.outbox;
+
+import com.example.bankcards.entity.outbox.OutboxMessage;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Posts each batch of relayed messages to an HTTP endpoint as a JSON array.
+ * The batch counts as delivered only if the endpoint responds with a 2xx status;
+ * any other status or an I/O error makes the relay retry the batch later.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "http")
+public class HttpOutboxSink implements OutboxSink {
+
+    private final RestClient restClient;
+    private final String url;
+
+    public HttpOutboxSink(RestClient.Builder builder,
+                          @Value("${outbox.http.url}") String url,
+                          @Value("${outbox.http.timeout:PT5S}") Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = builder.requestFactory(requestFactory).build();
+        this.url = url;
+    }
+
+    @Override
+    public void deliver(List<OutboxMessage> messages) {
+        List<Message> body = messages.stream()
+                .map(message -> new Message(message.getId(), message.getType(), message.getAggregateId(),
+                        message.getCreatedAt().toString(), message.getPayload()))
+                .toList();
+        restClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    /**
+     * The JSON form of a message; the payload is embedded as raw JSON.
+     */
+    private record Message(Long id, String type, Long aggregateId, String createdAt,
+                           @JsonRawValue String payload) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.bankcards.outbox;
+
+import com.example.bankcards.entity.outbox.OutboxMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Writes relayed messages to the application log. Used when no other sink is configured.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LoggingOutboxSink implements OutboxSink {
+
+    @Override
+    public void deliver(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            log.info("Outbox message {} {}: {}", message.getId(), message.getType(), message.getPayload());
+        }
+    }
+}
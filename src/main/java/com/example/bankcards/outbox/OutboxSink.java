@@ -0,0 +1,23 @@
+package com.example.bankcards.outbox;
+
+import com.example.bankcards.entity.outbox.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Destination of the messages relayed from the outbox.
+ * The relay calls a sink with batches in message ID order and deletes a batch only after
+ * the call returns, so a sink must throw if any message of the batch was not accepted.
+ * A batch may be delivered again after a failure or a crash, so receivers must tolerate
+ * duplicates, e.g. by the message ID.
+ */
+public interface OutboxSink {
+
+    /**
+     * Delivers a batch of messages.
+     *
+     * @param messages the messages to deliver, ordered by ID
+     * @throws Exception if the batch was not delivered completely
+     */
+    void deliver(List<OutboxMessage> messages) throws Exception;
+}
@@ -0,0 +1,67 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.event.AuditEvent;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Writes audit log entries in batches with plain JDBC.
+ * Entries are append-only and never read back by the application, so JPA is not involved.
+ */
+@Repository
+@AllArgsConstructor
+public class AuditLogRepo {
+
+    private static final String INSERT_SQL = "INSERT INTO audit_log "
+            + "(occurred_at, actor, action, card_id, user_id, details) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+
+    /**
+     * Inserts the given entries in a single JDBC batch and transaction.
+     *
+     * @param events the entries to insert
+     * @throws SQLException if the insert fails; no entry of the batch is stored then
+     */
+    public void insertBatch(List<AuditEvent> events) throws SQLException {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        boolean autoCommit = connection.getAutoCommit();
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            connection.setAutoCommit(false);
+            for (AuditEvent event : events) {
+                statement.setTimestamp(1, Timestamp.from(event.occurredAt()));
+                statement.setString(2, event.actor());
+                statement.setString(3, event.action().name());
+                setNullableLong(statement, 4, event.cardId());
+                setNullableLong(statement, 5, event.userId());
+                statement.setString(6, event.details());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static void setNullableLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.BIGINT);
+        } else {
+            statement.setLong(index, value);
+        }
+    }
+}
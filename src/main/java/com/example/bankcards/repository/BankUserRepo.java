@@ -1,7 +1,10 @@
 package com.example.bankcards.repository;
 
 import com.example.bankcards.entity.user.BankUser;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -14,10 +17,12 @@ public interface BankUserRepo extends JpaRepository<BankUser, Long> {
 
     /**
      * Finds a user by their username.
+     * The result is kept in the query cache, since this lookup runs on every authenticated request.
      *
      * @param username the username to search for
      * @return an {@link Optional} containing the user if found, or empty otherwise
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<BankUser> findByUsername(String username);
 
     /**
@@ -0,0 +1,42 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.card.CardBin;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Provides data access operations for the {@link CardBin} entity.
+ */
+@Repository
+public interface CardBinRepo extends JpaRepository<CardBin, Long> {
+
+    /**
+     * Finds all card programs that are currently active.
+     *
+     * @return the active card programs
+     */
+    List<CardBin> findAllByActiveTrue();
+
+    /**
+     * Atomically reserves the next block of account numbers of a BIN for card number generation.
+     * The row lock taken by the update serializes concurrent reservations from all nodes.
+     * The reservation commits in its own transaction, so the row lock is released right away and a block
+     * handed out from memory is never returned to the database when the caller's transaction rolls back.
+     *
+     * @param bin the BIN/IIN prefix
+     * @return the reserved block, or null if the BIN does not exist
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = """
+            update card_bins set next_account_block = next_account_block + 1
+            where bin = :bin
+            returning next_account_block - 1
+            """, nativeQuery = true)
+    Long reserveAccountBlock(@Param("bin") String bin);
+}
@@ -0,0 +1,118 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.service.OutboxService;
+import com.example.bankcards.util.SimpleCardEncryptConverter;
+import lombok.AllArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Loads cards in bulk with the Postgres {@code COPY} protocol.
+ * Bypasses JPA entirely, so card numbers are encrypted here with {@link SimpleCardEncryptConverter}
+ * exactly as the entity mapping would do, and the {@link OutboxService#CARD_CREATED} messages that
+ * {@link OutboxService} would store for each card are written here as well.
+ * Uses the connection of the current transaction.
+ */
+@Repository
+@AllArgsConstructor
+public class CardCopyRepo {
+
+    /**
+     * The rows are copied into a temporary table first, as {@code COPY} cannot return the generated IDs.
+     * The table lives as long as the pooled connection; {@link #INSERT_SQL} empties it, and so does every commit.
+     */
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMP TABLE IF NOT EXISTS card_import_staging ON COMMIT DELETE ROWS AS
+            SELECT card_number, owner_name, expiration_date, status, balance, user_id FROM cards WITH NO DATA
+            """;
+    private static final String COPY_SQL = "COPY card_import_staging "
+            + "(card_number, owner_name, expiration_date, status, balance, user_id) FROM STDIN WITH (FORMAT csv)";
+    /**
+     * Moves the staged rows into {@code cards} and stores one outbox message per inserted card, with the
+     * payload of a serialized {@link com.example.bankcards.event.CardCreatedEvent}. The staged rows are
+     * deleted by the same statement, so several copies in one transaction never insert a row twice.
+     */
+    private static final String INSERT_SQL = """
+            WITH staged AS (
+                DELETE FROM card_import_staging
+                RETURNING card_number, owner_name, expiration_date, status, balance, user_id
+            ), inserted AS (
+                INSERT INTO cards (card_number, owner_name, expiration_date, status, balance, user_id)
+                SELECT card_number, owner_name, expiration_date, status, balance, user_id FROM staged
+                RETURNING id, user_id, expiration_date, balance, status
+            )
+            INSERT INTO outbox_messages (type, aggregate_id, payload)
+            SELECT '""" + OutboxService.CARD_CREATED + "', id, " + """
+                jsonb_build_object('cardId', id, 'userId', user_id,
+                    'expirationDate', expiration_date, 'balance', balance, 'status', status)
+            FROM inserted
+            """;
+
+    private final DataSource dataSource;
+    private final SimpleCardEncryptConverter converter = new SimpleCardEncryptConverter();
+
+    /**
+     * Inserts the given cards with a single {@code COPY} statement and a single insert from the staging table,
+     * together with their {@code card.created} outbox messages. Must be called in a transaction.
+     * IDs are assigned by the database; the passed entities are not updated.
+     *
+     * @param cards the cards to insert, with a set {@code bankUser}
+     * @return the number of inserted rows
+     * @throws SQLException if the copy fails, e.g. on a unique constraint violation
+     */
+    public long copyCards(List<Card> cards) throws SQLException {
+        StringBuilder csv = new StringBuilder(cards.size() * 96);
+        for (Card card : cards) {
+            csv.append(converter.convertToDatabaseColumn(card.getCardNumber())).append(',');
+            appendQuoted(csv, card.getOwnerName()).append(',');
+            csv.append(card.getExpirationDate()).append(',')
+                    .append(card.getStatus().name()).append(',')
+                    .append(card.getBalance().toPlainString()).append(',')
+                    .append(card.getBankUser().getId()).append('\n');
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_SQL);
+                CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+                copyManager.copyIn(COPY_SQL, new StringReader(csv.toString()));
+                return statement.executeUpdate(INSERT_SQL);
+            }
+        } catch (IOException e) {
+            throw new SQLException("Failed to stream COPY data", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Appends a value as a quoted CSV field, doubling embedded quotes.
+     *
+     * @param csv   the buffer to append to
+     * @param value the value to append
+     * @return the buffer
+     */
+    private static StringBuilder appendQuoted(StringBuilder csv, String value) {
+        csv.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+}
@@ -1,15 +1,30 @@
 package com.example.bankcards.repository;
 
+import com.example.bankcards.dto.CardBalanceDTO;
+import com.example.bankcards.dto.CardDTO;
 import com.example.bankcards.entity.card.Card;
 import com.example.bankcards.entity.card.CardStatus;
-import com.example.bankcards.entity.user.BankUser;
+import com.example.bankcards.service.OutboxService;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Provides data access operations for the {@link Card} entity.
@@ -25,6 +40,16 @@ public interface CardRepo extends JpaRepository<Card, Long> {
      */
     boolean existsByCardNumber(String number);
 
+    /**
+     * Returns those of the given card numbers that already belong to existing cards.
+     * Numbers are compared in encrypted form, so the lookup uses the unique index on {@code card_number}.
+     *
+     * @param numbers the card numbers to check
+     * @return the subset of numbers that already exist
+     */
+    @Query("select c.cardNumber from Card c where c.cardNumber in :numbers")
+    List<String> findExistingCardNumbers(@Param("numbers") Collection<String> numbers);
+
     /**
      * Checks whether a card with the given ID exists.
      *
@@ -34,20 +59,230 @@ public interface CardRepo extends JpaRepository<Card, Long> {
     boolean existsById(Long id);
 
     /**
-     * Retrieves a paginated list of all cards owned by a specific user.
+     * Finds a card by its ID and locks the row for update until the end of the transaction.
+     * The row is always read from the database, bypassing the second-level cache,
+     * so modifications are based on the latest committed state.
+     *
+     * @param id the card ID
+     * @return an {@link Optional} containing the locked card if found, or empty otherwise
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Card c where c.id = :id")
+    Optional<Card> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Finds a card by its ID if it belongs to the given user, and locks the row for update until the end
+     * of the transaction. Rows of other users are never locked, so callers cannot hold locks on cards
+     * they do not own. The row is always read from the database, bypassing the second-level cache.
+     *
+     * @param id     the card ID
+     * @param userId the ID of the card owner
+     * @return an {@link Optional} containing the locked card if it exists and is owned by the user, or empty otherwise
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Card c where c.id = :id and c.bankUser.id = :userId")
+    Optional<Card> findByIdAndBankUserIdForUpdate(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Finds the version of a card if it belongs to the user with the given username.
+     * Reads a single column, so conditional requests can be validated without loading the card.
+     *
+     * @param id       the card ID
+     * @param username the username of the owner
+     * @return an {@link Optional} containing the version, or empty if the card does not exist or has another owner
+     */
+    @Query("select c.version from Card c where c.id = :id and c.bankUser.username = :username")
+    Optional<Long> findVersionByIdAndOwnerUsername(@Param("id") Long id, @Param("username") String username);
+
+    /**
+     * Computes the aggregate version of the cards of the user with the given username: the number of cards,
+     * the sum of their versions and the highest card ID. Creating or deleting a card changes the count or
+     * the highest ID, and every update increments a card version, so any change yields a new value.
+     * Reads the {@code (user_id, id) INCLUDE (version)} index only, without loading the cards.
+     *
+     * @param username the username of the owner
+     * @return the aggregate version, e.g. {@code 3-17-1042}; {@code 0-0-0} if the user has no cards
+     */
+    @Query(value = """
+            select count(*) || '-' || coalesce(sum(c.version), 0) || '-' || coalesce(max(c.id), 0)
+            from cards c
+            join users u on u.id = c.user_id
+            where u.username = :username
+            """, nativeQuery = true)
+    String findCardsVersionByUsername(@Param("username") String username);
+
+    /**
+     * Retrieves the balances and statuses of those of the given cards that belong to the user
+     * with the given username, in a single query. Cards of other users are silently skipped.
+     *
+     * @param ids      the card IDs
+     * @param username the username of the owner
+     * @return the balances of the matching cards
+     */
+    @Query("""
+            select new com.example.bankcards.dto.CardBalanceDTO(c.id, c.balance, c.status)
+            from Card c
+            where c.id in :ids and c.bankUser.username = :username
+            """)
+    List<CardBalanceDTO> findBalancesByIdsAndOwnerUsername(@Param("ids") Collection<Long> ids,
+                                                           @Param("username") String username);
+
+    /**
+     * Retrieves a paginated list of all cards as {@link CardDTO} projections.
+     * Rows are selected straight into DTOs, so no entities are attached to the persistence context.
+     *
+     * @param pageable pagination parameters (size, page, sort)
+     * @return a page of card DTOs with masked card numbers
+     */
+    @Query(value = """
+            select new com.example.bankcards.dto.CardDTO(
+                c.id, c.cardNumber, c.ownerName, c.expirationDate, c.status, c.balance)
+            from Card c
+            """,
+            countQuery = "select count(c) from Card c")
+    Page<CardDTO> findAllCardDTOs(Pageable pageable);
+
+    /**
+     * Retrieves the content of a page of all cards as {@link CardDTO} projections
+     * without executing a count query.
      *
-     * @param bankUser the user whose cards are being fetched
      * @param pageable pagination parameters (size, page, sort)
-     * @return a page of cards associated with the user
+     * @return a list of card DTOs with masked card numbers
+     */
+    @Query("""
+            select new com.example.bankcards.dto.CardDTO(
+                c.id, c.cardNumber, c.ownerName, c.expirationDate, c.status, c.balance)
+            from Card c
+            """)
+    List<CardDTO> findCardDTOs(Pageable pageable);
+
+    /**
+     * Streams all cards ordered by ID as {@link CardDTO} projections.
+     * Rows are fetched from a server-side cursor in batches, so the result set is never held in memory.
+     * Must be called inside a transaction, and the stream must be closed after use.
+     *
+     * @return a stream of card DTOs with masked card numbers
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            select new com.example.bankcards.dto.CardDTO(
+                c.id, c.cardNumber, c.ownerName, c.expirationDate, c.status, c.balance)
+            from Card c
+            order by c.id
+            """)
+    Stream<CardDTO> streamAllCardDTOs();
+
+    /**
+     * Returns the Postgres planner estimate of the number of rows in the {@code cards} table.
+     * The value is maintained by {@code ANALYZE} and autovacuum, and is -1 if the table was never analyzed.
+     *
+     * @return the estimated number of cards
      */
-    Page<Card> findAllByBankUser(BankUser bankUser, Pageable pageable);
+    @Query(value = "select cast(reltuples as bigint) from pg_class where oid = to_regclass('cards')",
+            nativeQuery = true)
+    Long estimateCount();
 
     /**
-     * Finds all cards with the specified status that have expired before the given date.
+     * Retrieves a paginated list of cards owned by the user with the given username
+     * as {@link CardDTO} projections, without loading the user or card entities.
      *
-     * @param status the card status to filter by
+     * @param username the username of the card owner
+     * @param pageable pagination parameters (size, page, sort)
+     * @return a page of card DTOs with masked card numbers
+     */
+    @Query(value = """
+            select new com.example.bankcards.dto.CardDTO(
+                c.id, c.cardNumber, c.ownerName, c.expirationDate, c.status, c.balance)
+            from Card c
+            where c.bankUser.username = :username
+            """,
+            countQuery = "select count(c) from Card c where c.bankUser.username = :username")
+    Page<CardDTO> findAllCardDTOsByUsername(@Param("username") String username, Pageable pageable);
+
+    /**
+     * Retrieves cards with an ID greater than the given one, ordered by ID, as {@link CardDTO} projections.
+     * Used for keyset pagination, so neither an offset scan nor a count query is executed.
+     *
+     * @param afterId the ID of the last card of the previous slice, or 0 for the first slice
+     * @param limit   the maximum number of cards to return
+     * @return a list of card DTOs with masked card numbers
+     */
+    @Query("""
+            select new com.example.bankcards.dto.CardDTO(
+                c.id, c.cardNumber, c.ownerName, c.expirationDate, c.status, c.balance)
+            from Card c
+            where c.id > :afterId
+            order by c.id
+            """)
+    List<CardDTO> findCardDTOsAfter(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Retrieves cards owned by the user with the given username with an ID greater than the given one,
+     * ordered by ID, as {@link CardDTO} projections. Used for keyset pagination.
+     *
+     * @param username the username of the card owner
+     * @param afterId  the ID of the last card of the previous slice, or 0 for the first slice
+     * @param limit    the maximum number of cards to return
+     * @return a list of card DTOs with masked card numbers
+     */
+    @Query("""
+            select new com.example.bankcards.dto.CardDTO(
+                c.id, c.cardNumber, c.ownerName, c.expirationDate, c.status, c.balance)
+            from Card c
+            where c.bankUser.username = :username and c.id > :afterId
+            order by c.id
+            """)
+    List<CardDTO> findCardDTOsByUsernameAfter(@Param("username") String username,
+                                               @Param("afterId") long afterId,
+                                               Limit limit);
+
+    /**
+     * Finds the IDs of cards with the specified status that have expired before the given date
+     * and have an ID greater than the given one, ordered by ID. Used to process expired cards in chunks.
+     *
+     * @param status         the card status to filter by
      * @param expirationDate the cutoff date for checking expiration
-     * @return a list of cards matching the criteria
+     * @param afterId        the ID of the last card of the previous chunk, or 0 for the first chunk
+     * @param limit          the maximum number of IDs to return
+     * @return the IDs of the matching cards
+     */
+    @Query("""
+            select c.id from Card c
+            where c.status = :status and c.expirationDate < :expirationDate and c.id > :afterId
+            order by c.id
+            """)
+    List<Long> findIdsByStatusAndExpirationDateBefore(@Param("status") CardStatus status,
+                                                      @Param("expirationDate") LocalDate expirationDate,
+                                                      @Param("afterId") long afterId,
+                                                      Limit limit);
+
+    /**
+     * Marks those of the given cards that are still active as expired, in a single statement and its own
+     * transaction, and stores a {@link OutboxService#CARD_CHANGED} outbox message for each of them with the
+     * payload of a serialized {@link com.example.bankcards.event.CardChangedEvent}, as {@link OutboxService}
+     * would for an entity update. The versions of the updated cards are incremented as Hibernate would
+     * on an entity update, and only the {@code cards} cache region is invalidated.
+     *
+     * @param ids the card IDs
+     * @return the number of expired cards
      */
-    List<Card> findByStatusAndExpirationDateBefore(CardStatus status, LocalDate expirationDate);
-}
\ No newline at end of file
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "cards"))
+    @Query(value = """
+            with expired as (
+                update cards set status = 'EXPIRED', version = version + 1
+                where id in (:ids) and status = 'ACTIVE'
+                returning id, balance, status, version
+            )
+            insert into outbox_messages (type, aggregate_id, payload)
+            select '""" + OutboxService.CARD_CHANGED + "', id, " + """
+                jsonb_build_object('cardId', id, 'balance', balance, 'status', status, 'version', version)
+            from expired
+            """, nativeQuery = true)
+    int expireCards(@Param("ids") Collection<Long> ids);
+}
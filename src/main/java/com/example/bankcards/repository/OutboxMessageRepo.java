@@ -0,0 +1,39 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.outbox.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Provides data access operations for the {@link OutboxMessage} entity.
+ */
+@Repository
+public interface OutboxMessageRepo extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Locks the oldest undelivered messages for the rest of the transaction.
+     * Rows locked by another relay are skipped, so several relays can run at once
+     * without delivering the same message twice or waiting for each other.
+     *
+     * @param limit the maximum number of messages to lock
+     * @return the locked messages ordered by ID
+     */
+    @Query(value = "SELECT * FROM outbox_messages ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxMessage> lockNextBatch(@Param("limit") int limit);
+
+    /**
+     * Estimates the number of undelivered messages from the lowest and highest ID.
+     * Both are read from the ends of the primary key index, so the cost does not grow with the backlog,
+     * unlike {@code count(*)}. Messages deleted out of order and IDs of rolled back transactions
+     * are counted as well, so the estimate may be too high but never too low.
+     *
+     * @return the estimated number of messages, or 0 if the outbox is empty
+     */
+    @Query(value = "SELECT COALESCE(max(id) - min(id) + 1, 0) FROM outbox_messages", nativeQuery = true)
+    long estimatePendingMessages();
+}
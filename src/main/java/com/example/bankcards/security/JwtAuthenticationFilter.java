@@ -1,15 +1,18 @@
 package com.example.bankcards.security;
 
+import com.example.bankcards.dto.ErrorResponse;
+import com.example.bankcards.exception.ErrorCode;
 import com.example.bankcards.util.JwtUtil;
+import com.example.bankcards.util.RequestTiming;
 import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -20,13 +23,15 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A Spring Security filter that processes JWT tokens from the request header
  * and authenticates users if the token is valid.
+ * The time spent parsing and verifying tokens is recorded in the {@code auth.jwt} timer
+ * and, for timed requests, in the {@code jwt} and {@code user} phases of {@link RequestTiming}.
  */
 @Component
-@AllArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     public static final String BEARER_PREFIX = "Bearer ";
@@ -34,6 +39,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final Timer validTokenTimer;
+    private final Timer invalidTokenTimer;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.validTokenTimer = jwtTimer(meterRegistry, "valid");
+        this.invalidTokenTimer = jwtTimer(meterRegistry, "invalid");
+    }
 
     /**
      * Processes each HTTP request to extract and validate the JWT token.
@@ -52,6 +66,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
 
+        // time spent in token parsing and verification only, without loading the user
+        long jwtNanos = 0;
+        long jwtStart = 0;
         try {
 
             var authHeader = request.getHeader(HEADER_NAME);
@@ -61,12 +78,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
 
             var jwt = authHeader.substring(BEARER_PREFIX.length());
+            jwtStart = System.nanoTime();
             var username = jwtUtil.extractUserName(jwt);
+            jwtNanos = System.nanoTime() - jwtStart;
+            jwtStart = 0;
 
             if (StringUtils.isNotEmpty(username) && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                UserDetails userDetails;
+                RequestTiming.begin(RequestTiming.Phase.USER);
+                try {
+                    userDetails = userDetailsService.loadUserByUsername(username);
+                } finally {
+                    RequestTiming.end(RequestTiming.Phase.USER);
+                }
 
-                if (jwtUtil.isTokenValid(jwt, userDetails)) {
+                jwtStart = System.nanoTime();
+                boolean valid = jwtUtil.isTokenValid(jwt, userDetails);
+                jwtNanos += System.nanoTime() - jwtStart;
+                (valid ? validTokenTimer : invalidTokenTimer).record(jwtNanos, TimeUnit.NANOSECONDS);
+                RequestTiming.record(RequestTiming.Phase.JWT, jwtNanos);
+                if (valid) {
                     UsernamePasswordAuthenticationToken authenticationToken =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails,
@@ -78,35 +109,49 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 }
             }
         } catch (JwtException e) {
+            if (jwtStart != 0) {
+                jwtNanos += System.nanoTime() - jwtStart;
+            }
+            invalidTokenTimer.record(jwtNanos, TimeUnit.NANOSECONDS);
+            RequestTiming.record(RequestTiming.Phase.JWT, jwtNanos);
             log.error("Invalid JWT token: {}", e.getMessage());
-            sendErrorResponse(response, "Invalid or expired token", HttpStatus.UNAUTHORIZED.value());
+            sendErrorResponse(response, ErrorCode.INVALID_TOKEN, "Invalid or expired token");
             return;
         } catch (UsernameNotFoundException e) {
             log.error("User not found for JWT token: {}", e.getMessage());
-            sendErrorResponse(response, "User not found", HttpStatus.FORBIDDEN.value());
+            sendErrorResponse(response, ErrorCode.ACCESS_DENIED, "User not found");
             return;
 
         } catch (Exception e) {
             log.error("Unexpected error in JwtAuthenticationFilter: {}", e.getMessage(), e);
-            sendErrorResponse(response, "An unexpected error occurred",
-                    HttpStatus.INTERNAL_SERVER_ERROR.value());
+            sendErrorResponse(response, ErrorCode.INTERNAL_ERROR, "An unexpected error occurred");
             return;
         }
         filterChain.doFilter(request, response);
     }
 
     /**
-     * Sends a JSON-formatted error response with the specified message and HTTP status code.
+     * Sends a JSON-formatted error response in the format of {@link ErrorResponse},
+     * with the HTTP status of the error code.
      *
-     * @param response the HTTP response to write the error to
-     * @param message  the error message
-     * @param status   the HTTP status code
+     * @param response  the HTTP response to write the error to
+     * @param errorCode the error code
+     * @param message   the error message
      * @throws IOException if an I/O error occurs while writing the response
      */
-    private void sendErrorResponse(HttpServletResponse response, String message, int status) throws IOException {
-        response.setStatus(status);
+    static void sendErrorResponse(HttpServletResponse response, ErrorCode errorCode, String message)
+            throws IOException {
+        response.setStatus(errorCode.getStatus().value());
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
-        response.getWriter().write("{\"error\": \"" + message + "\"}");
+        response.getWriter().write("{\"code\": \"" + errorCode + "\", \"message\": \"" + message + "\"}");
+    }
+
+    private static Timer jwtTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.jwt")
+                .description("Time spent parsing and verifying JWT tokens")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 }
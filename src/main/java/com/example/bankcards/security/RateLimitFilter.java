@@ -0,0 +1,129 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A Spring Security filter that limits the request rate of each client per endpoint group.
+ * Runs after {@link JwtAuthenticationFilter}, so authenticated requests are limited by username
+ * and a client cannot escape its limit by changing IP addresses. Rejected requests receive
+ * 429 Too Many Requests with a {@code Retry-After} header before they reach the database.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final List<LimitedEndpoints> endpoints;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.endpoints = properties.getRules().stream()
+                .map(rule -> new LimitedEndpoints(rule, new TokenBucketRateLimiter(
+                        rule.getCapacity(), rule.getRefillPeriod(), properties.getMaxKeys()),
+                        Counter.builder("rate_limit.rejected")
+                                .description("Requests rejected by a rate limit rule")
+                                .tag("rule", rule.getName())
+                                .register(meterRegistry)))
+                .toList();
+    }
+
+    /**
+     * Checks the request against the first matching rule and rejects it if the client's bucket is empty.
+     *
+     * @param request     the HTTP request
+     * @param response    the HTTP response
+     * @param filterChain the next filter in the chain
+     * @throws ServletException if a servlet exception occurs
+     * @throws IOException      if an I/O error occurs
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        LimitedEndpoints limited = findEndpoints(request);
+        if (limited != null) {
+            String key = clientKey(request, limited.rule().getKey());
+            long waitNanos = limited.limiter().tryAcquire(key);
+            if (waitNanos > 0) {
+                log.debug("Rate limit '{}' exceeded by {}", limited.rule().getName(), key);
+                limited.rejected().increment();
+                sendTooManyRequests(response, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Skips rate limiting entirely if it is disabled.
+     *
+     * @param request the HTTP request
+     * @return true if rate limiting is disabled
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || endpoints.isEmpty();
+    }
+
+    private LimitedEndpoints findEndpoints(HttpServletRequest request) {
+        String path = request.getServletPath();
+        for (LimitedEndpoints limited : endpoints) {
+            String method = limited.rule().getMethod();
+            if (method != null && !method.equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            for (String pattern : limited.rule().getPaths()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return limited;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String clientKey(HttpServletRequest request, RateLimitProperties.KeyType keyType) {
+        if (keyType == RateLimitProperties.KeyType.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return authentication.getName();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * Sends a JSON-formatted 429 response with the number of seconds to wait in {@code Retry-After}.
+     *
+     * @param response  the HTTP response to write the error to
+     * @param waitNanos the time until a token is available
+     * @throws IOException if an I/O error occurs while writing the response
+     */
+    private static void sendTooManyRequests(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        JwtAuthenticationFilter.sendErrorResponse(response, ErrorCode.TOO_MANY_REQUESTS, "Too many requests");
+    }
+
+    private record LimitedEndpoints(RateLimitProperties.Rule rule, TokenBucketRateLimiter limiter, Counter rejected) {
+    }
+}
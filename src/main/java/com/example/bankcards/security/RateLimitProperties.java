@@ -0,0 +1,81 @@
+package com.example.bankcards.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request rate limits, bound from {@code app.rate-limit}.
+ * Each rule limits the requests matching its paths with a token bucket per client;
+ * a request is checked against the first matching rule only.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("app.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Whether requests are rate limited at all.
+     */
+    private boolean enabled = true;
+    /**
+     * The maximum number of clients tracked per rule. When the table is full,
+     * the client whose bucket refills first is forgotten.
+     */
+    private int maxKeys = 65536;
+    /**
+     * The rules, in the order they are matched.
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    /**
+     * How the client of a request is identified.
+     */
+    public enum KeyType {
+        /**
+         * By the username of the authenticated user, or by IP address for anonymous requests.
+         */
+        USER,
+        /**
+         * By the remote IP address.
+         */
+        IP
+    }
+
+    /**
+     * A rate limit for a group of endpoints.
+     */
+    @Getter
+    @Setter
+    public static class Rule {
+
+        /**
+         * The name of the rule, used in logs.
+         */
+        private String name;
+        /**
+         * Ant-style path patterns of the limited endpoints.
+         */
+        private List<String> paths = new ArrayList<>();
+        /**
+         * The HTTP method of the limited endpoints, or null for any method.
+         */
+        private String method;
+        /**
+         * How clients are identified.
+         */
+        private KeyType key = KeyType.USER;
+        /**
+         * The maximum number of requests a client can make in a burst.
+         */
+        private int capacity = 100;
+        /**
+         * The time in which an empty bucket refills completely.
+         */
+        private Duration refillPeriod = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.util.RequestTiming;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A Spring Security filter that breaks the time of a request down into {@link RequestTiming.Phase phases}:
+ * JWT verification, the user lookup, repository calls, card number decryption and JSON serialization.
+ * Runs before {@link JwtAuthenticationFilter}, so the whole authentication is included.
+ * <p>
+ * A request is timed when it is sampled ({@code app.server-timing.sample-rate}) or when it carries the
+ * {@value #REQUEST_HEADER} header. The breakdown is added as a {@code Server-Timing} header when the
+ * response is committed, if the caller is an administrator, and every timed request of an administrator
+ * or sampled request is logged. Requests that are not timed only pay for a header lookup here and a
+ * thread-local lookup at each phase.
+ */
+@Component
+@Slf4j
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    /**
+     * The request header that asks for the timing of a single request.
+     */
+    public static final String REQUEST_HEADER = "X-Server-Timing";
+    public static final String RESPONSE_HEADER = "Server-Timing";
+
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+
+    private final boolean enabled;
+    private final double sampleRate;
+
+    public ServerTimingFilter(ServerTimingProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.sampleRate = properties.getSampleRate();
+    }
+
+    /**
+     * Times the request if it is sampled or asks for timing, and reports the phases.
+     *
+     * @param request     the HTTP request
+     * @param response    the HTTP response
+     * @param filterChain the next filter in the chain
+     * @throws ServletException if a servlet exception occurs
+     * @throws IOException      if an I/O error occurs
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if (!sampled && request.getHeader(REQUEST_HEADER) == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestTiming timing = RequestTiming.start();
+        TimingResponseWrapper wrapper = new TimingResponseWrapper(response, timing);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            // responses without a body are never committed inside the chain
+            if (!response.isCommitted()) {
+                wrapper.addTimingHeader();
+            }
+            RequestTiming.clear();
+            if (sampled || isAdmin()) {
+                log.info("Request timing: method={} uri={} status={} user={} {}",
+                        request.getMethod(), request.getRequestURI(), response.getStatus(),
+                        request.getRemoteUser(), timing.toLogValue());
+            }
+        }
+    }
+
+    /**
+     * Skips timing entirely if it is disabled.
+     *
+     * @param request the HTTP request
+     * @return true if timing is disabled
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    private static boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (ADMIN_AUTHORITY.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the {@code Server-Timing} header just before the response is committed,
+     * while the headers can still be changed, without buffering the body.
+     */
+    private static final class TimingResponseWrapper extends OnCommittedResponseWrapper {
+
+        private final RequestTiming timing;
+        private boolean headerAdded;
+
+        TimingResponseWrapper(HttpServletResponse response, RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            addTimingHeader();
+        }
+
+        void addTimingHeader() {
+            if (headerAdded) {
+                return;
+            }
+            headerAdded = true;
+            if (isAdmin()) {
+                ((HttpServletResponse) getResponse()).setHeader(RESPONSE_HEADER, timing.toHeaderValue());
+            }
+        }
+    }
+}
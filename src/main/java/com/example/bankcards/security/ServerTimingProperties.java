@@ -0,0 +1,26 @@
+package com.example.bankcards.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-request timing, bound from {@code app.server-timing}.
+ * A request is timed when it is sampled or when it asks for timing with the
+ * {@link ServerTimingFilter#REQUEST_HEADER} header; the breakdown is returned
+ * in the {@code Server-Timing} header to administrators only.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("app.server-timing")
+public class ServerTimingProperties {
+
+    /**
+     * Whether requests can be timed at all.
+     */
+    private boolean enabled = true;
+    /**
+     * The fraction of requests, from 0 to 1, that are timed and logged without being asked to.
+     */
+    private double sampleRate = 0.0;
+}
@@ -0,0 +1,73 @@
+package com.example.bankcards.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link PasswordEncoder} that records the time of every hash and check of its delegate
+ * in the {@code auth.password} timer. With BCrypt this is most of the cost of a login,
+ * and it grows with the configured strength.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Timer mismatchTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encodeTimer = timer(meterRegistry, "encode", "none");
+        this.matchTimer = timer(meterRegistry, "matches", "match");
+        this.mismatchTimer = timer(meterRegistry, "matches", "mismatch");
+    }
+
+    /**
+     * Hashes a raw password with the delegate.
+     *
+     * @param rawPassword the password to hash
+     * @return the encoded password
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+
+    /**
+     * Checks a raw password against an encoded one with the delegate.
+     *
+     * @param rawPassword     the password to check
+     * @param encodedPassword the stored encoded password
+     * @return true if the passwords match
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        (matches ? matchTimer : mismatchTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return matches;
+    }
+
+    /**
+     * Tells whether the encoded password should be hashed again, e.g. with a higher strength.
+     *
+     * @param encodedPassword the stored encoded password
+     * @return the answer of the delegate
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation, String outcome) {
+        return Timer.builder("auth.password")
+                .description("Time spent hashing and checking passwords")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
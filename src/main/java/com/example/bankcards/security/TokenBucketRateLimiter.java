@@ -0,0 +1,119 @@
+package com.example.bankcards.security;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * An in-memory token bucket rate limiter keyed by client.
+ * <p>
+ * A bucket is stored as a single timestamp: the time at which it will be full again.
+ * Taking a token moves that time one refill interval forward, and the request is rejected
+ * if the bucket would then need more than a full refill period, i.e. if it is empty.
+ * Buckets live in a fixed-size open-addressing table split into stripes with their own lock,
+ * so a check costs a bounded number of probes, allocates nothing, and only contends with
+ * clients hashed to the same stripe. A slot whose bucket is already full holds no state
+ * and is reused; if all probed slots are in use, the bucket that refills first is evicted.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final int STRIPES = 64;
+    private static final int MAX_PROBES = 8;
+
+    private final long capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier nanoClock;
+
+    private final int slotsPerStripe;
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final String[] keys;
+    private final long[] fullAt;
+
+    /**
+     * Creates a rate limiter using the system clock.
+     *
+     * @param capacity     the maximum number of requests in a burst
+     * @param refillPeriod the time in which an empty bucket refills completely
+     * @param maxKeys      the maximum number of clients tracked at once
+     */
+    public TokenBucketRateLimiter(int capacity, Duration refillPeriod, int maxKeys) {
+        this(capacity, refillPeriod, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, Duration refillPeriod, int maxKeys, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+            throw new IllegalArgumentException("Rate limit capacity and refill period must be positive");
+        }
+        this.capacity = capacity;
+        this.intervalNanos = Math.max(1, refillPeriod.toNanos() / capacity);
+        this.burstNanos = intervalNanos * capacity;
+        this.nanoClock = nanoClock;
+        this.slotsPerStripe = Integer.highestOneBit((Math.max(MAX_PROBES, maxKeys / STRIPES) - 1) << 1);
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        keys = new String[STRIPES * slotsPerStripe];
+        fullAt = new long[STRIPES * slotsPerStripe];
+    }
+
+    /**
+     * Takes a token from the bucket of a client.
+     *
+     * @param key the client key
+     * @return 0 if the request is allowed, otherwise the number of nanoseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        int stripe = hash >>> 26;
+        int base = stripe * slotsPerStripe;
+        int mask = slotsPerStripe - 1;
+        int start = (hash ^ (hash >>> 16)) & mask;
+        ReentrantLock lock = locks[stripe];
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            int free = -1;
+            int oldest = -1;
+            for (int probe = 0; probe < MAX_PROBES; probe++) {
+                int slot = base + ((start + probe) & mask);
+                String slotKey = keys[slot];
+                if (slotKey != null && slotKey.equals(key)) {
+                    return take(slot, now);
+                }
+                if (free < 0 && (slotKey == null || fullAt[slot] - now <= 0)) {
+                    free = slot;
+                }
+                if (oldest < 0 || fullAt[slot] - fullAt[oldest] < 0) {
+                    oldest = slot;
+                }
+            }
+            int slot = free >= 0 ? free : oldest;
+            keys[slot] = key;
+            fullAt[slot] = now;
+            return take(slot, now);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the maximum number of requests in a burst.
+     *
+     * @return the bucket capacity
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    private long take(int slot, long now) {
+        long start = fullAt[slot] - now < 0 ? now : fullAt[slot];
+        long next = start + intervalNanos;
+        long excess = next - now - burstNanos;
+        if (excess > 0) {
+            return excess;
+        }
+        fullAt[slot] = next;
+        return 0;
+    }
+}
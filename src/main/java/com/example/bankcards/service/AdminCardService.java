@@ -2,23 +2,37 @@ package com.example.bankcards.service;
 
 import com.example.bankcards.dto.CardCreationRequest;
 import com.example.bankcards.dto.CardDTO;
+import com.example.bankcards.dto.CountStrategy;
+import com.example.bankcards.dto.CountedPage;
+import com.example.bankcards.dto.CursorPage;
 import com.example.bankcards.entity.card.Card;
 import com.example.bankcards.entity.card.CardStatus;
 import com.example.bankcards.entity.user.BankUser;
 import com.example.bankcards.entity.user.Role;
+import com.example.bankcards.event.AuditAction;
+import com.example.bankcards.event.AuditEvent;
+import com.example.bankcards.event.CardChangedEvent;
+import com.example.bankcards.event.CardCreatedEvent;
 import com.example.bankcards.exception.exceptions.CardAlreadyExistsException;
 import com.example.bankcards.exception.exceptions.CardCreationException;
 import com.example.bankcards.exception.exceptions.CardDoesNotExistException;
 import com.example.bankcards.exception.exceptions.CardStatusException;
+import com.example.bankcards.exception.exceptions.InvalidCursorException;
 import com.example.bankcards.repository.CardRepo;
+import com.example.bankcards.util.CardNumbers;
 import com.example.bankcards.util.CardValidator;
+import com.example.bankcards.util.CursorCodec;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Handles card management operations for administrators.
@@ -30,14 +44,24 @@ public class AdminCardService {
 
     private final CardRepo cardRepo;
     private final BankUserService bankUserService;
+    private final CardCountService cardCountService;
+    private final CardNumberGenerator cardNumberGenerator;
+    private final BinRegistry binRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Creates a new bank card based on the {@link CardCreationRequest} data.
      * Validates the input and ensures the user is not an admin before creation.
+     * If the request has no card number, a unique one is generated by {@link CardNumberGenerator};
+     * a supplied number must lie below the generated range of its BIN.
+     * The card program is resolved through {@link BinRegistry}; its expiry term and
+     * initial balance limit are applied to the new card.
      *
      * @param request the card creation request
      * @return the created card as a {@link CardDTO}
      * @throws CardCreationException if the request or card number is invalid
+     * @throws CardCreationException if the BIN is unknown or the initial balance exceeds its limit
+     * @throws CardCreationException if the card number is in the range of generated numbers of its BIN
      * @throws CardAlreadyExistsException if a card with the same number already exists
      * @throws CardCreationException if the user is an admin (admins cannot own cards)
      */
@@ -47,13 +71,37 @@ public class AdminCardService {
         if (!validRequest) {
             throw new CardCreationException("Invalid card creation request");
         }
-        boolean validCardNumber = CardValidator.isValidCardNumber(request.getCardNumber());
-        if (!validCardNumber) {
-            throw new CardCreationException("Invalid card number");
+        BinRegistry.BinRule rule;
+        String cardNumber;
+        if (CardValidator.isCardNumberMissing(request)) {
+            rule = request.getBin() == null
+                    ? binRegistry.getDefaultRule()
+                    : binRegistry.findByBin(request.getBin())
+                    .orElseThrow(() -> new CardCreationException("Unknown card BIN"));
+            cardNumber = null;
+        } else {
+            cardNumber = request.getCardNumber();
+            boolean validCardNumber = CardValidator.isValidCardNumber(cardNumber);
+            if (!validCardNumber) {
+                throw new CardCreationException("Invalid card number");
+            }
+            rule = binRegistry.find(cardNumber);
+            if (rule == null) {
+                throw new CardCreationException("Unknown card BIN");
+            }
+            if (request.getBin() != null && !request.getBin().equals(rule.bin())) {
+                throw new CardCreationException("Card number does not match the requested BIN");
+            }
+            if (!rule.allowsSuppliedNumber(CardNumbers.parseFormatted(cardNumber))) {
+                throw new CardCreationException("Card number is in the range reserved for generated numbers");
+            }
+            boolean exists = cardRepo.existsByCardNumber(cardNumber);
+            if (exists) {
+                throw new CardAlreadyExistsException("Card already exists");
+            }
         }
-        boolean exists = cardRepo.existsByCardNumber(request.getCardNumber());
-        if (exists) {
-            throw new CardAlreadyExistsException("Card already exists");
+        if (!rule.allowsInitialBalance(request.getBalance())) {
+            throw new CardCreationException("Initial balance exceeds the limit of the card program");
         }
 
         BankUser bankUser = bankUserService.getById(request.getUserId())
@@ -63,27 +111,68 @@ public class AdminCardService {
             throw new CardCreationException("Admin cannot own a card");
         }
 
+        if (cardNumber == null) {
+            cardNumber = cardNumberGenerator.nextCardNumber(rule.bin());
+        }
+
         Card card = new Card();
-        card.setCardNumber(request.getCardNumber());
+        card.setCardNumber(cardNumber);
         card.setBalance(request.getBalance());
         card.setStatus(CardStatus.ACTIVE);
         card.setOwnerName(bankUser.getFirstName() + " " + bankUser.getLastName());
-        card.setExpirationDate(LocalDate.now().plusYears(5));
+        card.setExpirationDate(LocalDate.now().plusYears(rule.expiryYears()));
         card.setBankUser(bankUser);
 
         cardRepo.save(card);
+        eventPublisher.publishEvent(CardCreatedEvent.of(card));
 
         return CardDTO.fromEntity(card);
     }
 
     /**
      * Retrieves a paginated list of all cards in the system.
+     * Cards are projected directly into DTOs in a read-only transaction.
      *
      * @param pageable pagination parameters (size, page, sort)
      * @return a page of {@link CardDTO} objects
      */
+    @Transactional(readOnly = true)
     public Page<CardDTO> getAllCards(Pageable pageable) {
-        return cardRepo.findAll(pageable).map(CardDTO::fromEntity);
+        return cardRepo.findAllCardDTOs(pageable);
+    }
+
+    /**
+     * Retrieves a paginated list of all cards in the system, computing the total count
+     * with the strategy configured in {@link CardCountService} unless an exact count is requested.
+     *
+     * @param pageable pagination parameters (size, page, sort)
+     * @param exact    whether an exact count is required
+     * @return a page of {@link CardDTO} objects with the strategy used for its total count
+     */
+    @Transactional(readOnly = true)
+    public CountedPage<CardDTO> getAllCards(Pageable pageable, boolean exact) {
+        if (exact) {
+            return new CountedPage<>(cardRepo.findAllCardDTOs(pageable), CountStrategy.EXACT);
+        }
+        List<CardDTO> content = cardRepo.findCardDTOs(pageable);
+        CardCountService.Count count = cardCountService.countAllCards(false);
+        Page<CardDTO> page = PageableExecutionUtils.getPage(content, pageable, count::total);
+        return new CountedPage<>(page, count.strategy());
+    }
+
+    /**
+     * Retrieves a slice of all cards in the system using keyset pagination.
+     *
+     * @param cursor the cursor returned with the previous slice, or null for the first slice
+     * @param size   the requested slice size
+     * @return a slice of {@link CardDTO} objects with a cursor to the next slice
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CardDTO> getAllCardsAfter(String cursor, Integer size) {
+        int limit = CursorPage.effectiveSize(size);
+        List<CardDTO> rows = cardRepo.findCardDTOsAfter(CursorCodec.decode(cursor), Limit.of(limit + 1));
+        return CursorPage.fromOverfetched(rows, limit, CardDTO::getId);
     }
 
     /**
@@ -93,6 +182,7 @@ public class AdminCardService {
      * @return the card as a {@link CardDTO}
      * @throws CardDoesNotExistException if the card does not exist
      */
+    @Transactional(readOnly = true)
     public CardDTO getCardById(Long id) {
         Card card = cardRepo.findById(id).orElseThrow(
                 () -> new CardDoesNotExistException("Card does not exist"));
@@ -109,13 +199,17 @@ public class AdminCardService {
      */
     @Transactional
     public CardDTO blockCard(Long id) {
-        Card card = cardRepo.findById(id).orElseThrow(
+        Card card = cardRepo.findByIdForUpdate(id).orElseThrow(
                 () -> new CardDoesNotExistException("Card does not exist"));
         if (card.getStatus() == CardStatus.BLOCKED) {
             throw new CardStatusException("Card is already blocked");
         }
         card.setStatus(CardStatus.BLOCKED);
         Card save = cardRepo.save(card);
+        // the event carries the version assigned by the flush
+        cardRepo.flush();
+        eventPublisher.publishEvent(CardChangedEvent.of(card));
+        eventPublisher.publishEvent(AuditEvent.of(AuditAction.CARD_BLOCKED, id, ownerId(card), null));
         return CardDTO.fromEntity(save);
     }
 
@@ -129,13 +223,17 @@ public class AdminCardService {
      */
     @Transactional
     public CardDTO unblockCard(Long id) {
-        Card card = cardRepo.findById(id).orElseThrow(
+        Card card = cardRepo.findByIdForUpdate(id).orElseThrow(
                 () -> new CardDoesNotExistException("Card does not exist"));
         if (card.getStatus() == CardStatus.ACTIVE) {
             throw new CardStatusException("Card is already active");
         }
         card.setStatus(CardStatus.ACTIVE);
         Card save = cardRepo.save(card);
+        // the event carries the version assigned by the flush
+        cardRepo.flush();
+        eventPublisher.publishEvent(CardChangedEvent.of(card));
+        eventPublisher.publishEvent(AuditEvent.of(AuditAction.CARD_UNBLOCKED, id, ownerId(card), null));
         return CardDTO.fromEntity(save);
     }
 
@@ -150,6 +248,11 @@ public class AdminCardService {
         Card card = cardRepo.findById(id).orElseThrow(
                 () -> new CardDoesNotExistException("Card does not exist"));
         cardRepo.delete(card);
+        eventPublisher.publishEvent(AuditEvent.of(AuditAction.CARD_DELETED, id, ownerId(card), null));
+    }
+
+    private static Long ownerId(Card card) {
+        return card.getBankUser() == null ? null : card.getBankUser().getId();
     }
 }
 
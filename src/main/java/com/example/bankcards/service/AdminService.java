@@ -3,7 +3,10 @@ package com.example.bankcards.service;
 import com.example.bankcards.dto.RegistrationRequest;
 import com.example.bankcards.entity.user.BankUser;
 import com.example.bankcards.entity.user.Role;
+import com.example.bankcards.event.AuditAction;
+import com.example.bankcards.event.AuditEvent;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,6 +20,7 @@ public class AdminService {
 
     private final AuthService authService;
     private final BankUserService bankUserService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Promotes a user to the ADMIN role.
@@ -31,6 +35,7 @@ public class AdminService {
         if (bankUser.getRole() != Role.ADMIN) {
             bankUser.setRole(Role.ADMIN);
             bankUserService.saveUser(bankUser);
+            eventPublisher.publishEvent(AuditEvent.of(AuditAction.ADMIN_GRANTED, null, id, null));
         }
     }
 
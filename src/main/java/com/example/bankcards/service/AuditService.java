@@ -0,0 +1,225 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.event.AuditEvent;
+import com.example.bankcards.repository.AuditLogRepo;
+import com.example.bankcards.util.MpscRingBuffer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records audit events without adding a database write to the audited operations.
+ * Committed events are put into a bounded lock-free ring buffer, and a dedicated writer thread
+ * inserts them into the {@code audit_log} table in batches. When the buffer is full,
+ * events are either dropped at once or the publishing thread waits for a bounded time
+ * before dropping, depending on the overflow policy. Dropped events, failed writes and the
+ * delay between an operation and its audit entry being stored are tracked.
+ */
+@Service
+@Slf4j
+public class AuditService {
+
+    /**
+     * What to do with an event when the buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Drop the event at once; audited operations are never delayed.
+         */
+        DROP,
+        /**
+         * Wait up to the block timeout for the writer to make room, then drop the event.
+         */
+        BLOCK
+    }
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AuditLogRepo auditLogRepo;
+    private final MpscRingBuffer<AuditEvent> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+
+    private final List<AuditEvent> batch;
+    private final LongAdder writtenEvents = new LongAdder();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder failedEvents = new LongAdder();
+    private volatile long lastFlushLagMillis;
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public AuditService(AuditLogRepo auditLogRepo,
+                        @Value("${audit.buffer-size:8192}") int bufferSize,
+                        @Value("${audit.batch-size:500}") int batchSize,
+                        @Value("${audit.flush-interval:PT0.2S}") Duration flushInterval,
+                        @Value("${audit.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                        @Value("${audit.block-timeout:PT0.05S}") Duration blockTimeout) {
+        this.auditLogRepo = auditLogRepo;
+        this.buffer = new MpscRingBuffer<>(bufferSize);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Starts the writer thread.
+     */
+    @PostConstruct
+    void start() {
+        running = true;
+        Thread thread = new Thread(this::writeLoop, "audit-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    /**
+     * Stops the writer thread and writes the events that are still buffered.
+     *
+     * @throws InterruptedException if interrupted while waiting for the writer to stop
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        Thread thread = writer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+            if (thread.isAlive()) {
+                log.warn("Audit writer did not stop, {} events may be lost", buffer.size());
+                return;
+            }
+        }
+        while (flush() > 0) {
+            // write everything published before shutdown
+        }
+    }
+
+    /**
+     * Buffers an audit event once the transaction of the audited operation has committed.
+     *
+     * @param event the audit event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAuditEvent(AuditEvent event) {
+        record(event);
+    }
+
+    /**
+     * Puts an event into the buffer, applying the overflow policy if it is full.
+     *
+     * @param event the audit event
+     * @return true if the event was buffered, false if it was dropped
+     */
+    public boolean record(AuditEvent event) {
+        if (buffer.offer(event)) {
+            return true;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            LockSupport.unpark(writer);
+            long deadline = System.nanoTime() + blockTimeoutNanos;
+            while (deadline - System.nanoTime() > 0) {
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                if (buffer.offer(event)) {
+                    return true;
+                }
+            }
+        }
+        droppedEvents.increment();
+        log.debug("Audit buffer is full, dropped {} event for card {}", event.action(), event.cardId());
+        return false;
+    }
+
+    /**
+     * Writes one batch of buffered events. Called by the writer thread only.
+     *
+     * @return the number of events taken from the buffer
+     */
+    int flush() {
+        batch.clear();
+        int count = buffer.drainTo(batch, batchSize);
+        if (count == 0) {
+            return 0;
+        }
+        try {
+            auditLogRepo.insertBatch(batch);
+            writtenEvents.add(count);
+            lastFlushLagMillis = Duration.between(batch.get(0).occurredAt(), Instant.now()).toMillis();
+        } catch (SQLException | RuntimeException e) {
+            failedEvents.add(count);
+            log.error("Failed to write {} audit events: {}", count, e.getMessage());
+        }
+        return count;
+    }
+
+    private void writeLoop() {
+        while (running) {
+            if (flush() < batchSize) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of events waiting to be written.
+     *
+     * @return the number of buffered events
+     */
+    public int getPendingEvents() {
+        return buffer.size();
+    }
+
+    /**
+     * Returns the number of events written to the audit log.
+     *
+     * @return the number of written events
+     */
+    public long getWrittenEvents() {
+        return writtenEvents.sum();
+    }
+
+    /**
+     * Returns the number of events dropped because the buffer was full.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * Returns the number of events lost because a batch insert failed.
+     *
+     * @return the number of failed events
+     */
+    public long getFailedEvents() {
+        return failedEvents.sum();
+    }
+
+    /**
+     * Returns the time between the oldest event of the last written batch and the end of its insert.
+     *
+     * @return the flush lag in milliseconds
+     */
+    public long getLastFlushLagMillis() {
+        return lastFlushLagMillis;
+    }
+}
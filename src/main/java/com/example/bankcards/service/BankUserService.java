@@ -8,6 +8,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -65,6 +67,16 @@ public class BankUserService {
         return bankUserRepo.findById(id);
     }
 
+    /**
+     * Retrieves all users with the given IDs in a single query.
+     *
+     * @param ids the IDs of the users
+     * @return the users found; missing IDs are skipped
+     */
+    public List<BankUser> getAllByIds(Collection<Long> ids) {
+        return bankUserRepo.findAllById(ids);
+    }
+
     /**
      * Retrieves a user by username.
      *
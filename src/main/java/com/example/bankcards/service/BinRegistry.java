@@ -0,0 +1,226 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.card.CardBin;
+import com.example.bankcards.repository.CardBinRepo;
+import com.example.bankcards.util.CardNumbers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory registry of the active card programs from the {@code card_bins} table.
+ * Card numbers are resolved to their program through a digit trie of the BIN/IIN prefixes,
+ * so a lookup costs at most one step per prefix digit and never touches the database.
+ * The registry is loaded on first use and reloaded periodically or on demand;
+ * a reload swaps the whole snapshot at once, so lookups never see a partially built trie.
+ */
+@Service
+@Slf4j
+public class BinRegistry {
+
+    private final CardBinRepo cardBinRepo;
+    private final String defaultBin;
+
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    public BinRegistry(CardBinRepo cardBinRepo,
+                       @Value("${cards.bins.default:4000}") String defaultBin) {
+        this.cardBinRepo = cardBinRepo;
+        this.defaultBin = defaultBin;
+    }
+
+    /**
+     * Product rules of a card program.
+     *
+     * @param bin                the BIN/IIN prefix
+     * @param productName        the name of the card product
+     * @param expiryYears        the number of years a new card stays valid
+     * @param maxInitialBalance  the maximum initial balance, or null if it is not limited
+     * @param firstAccountBlock  the first block of account numbers handed out by {@link CardNumberGenerator}
+     */
+    public record BinRule(String bin, String productName, int expiryYears, BigDecimal maxInitialBalance,
+                          long firstAccountBlock) {
+
+        /**
+         * Checks whether a card may be issued with the given initial balance.
+         *
+         * @param balance the initial balance
+         * @return true if the balance does not exceed the limit of the program
+         */
+        public boolean allowsInitialBalance(BigDecimal balance) {
+            return maxInitialBalance == null || balance.compareTo(maxInitialBalance) <= 0;
+        }
+
+        /**
+         * Checks whether a card number may be supplied by the caller instead of being generated.
+         * Only account numbers below the generated range of the program are accepted,
+         * so a supplied number never collides with one generated later.
+         *
+         * @param digits the card number as returned by {@link CardNumbers#parse}, under this BIN
+         * @return true if the account number is below the first generated block
+         */
+        public boolean allowsSuppliedNumber(long digits) {
+            long accounts = 1;
+            for (int i = bin.length(); i < CardNumbers.DIGITS - 1; i++) {
+                accounts *= 10;
+            }
+            long account = digits / 10 % accounts;
+            return account / CardNumberGenerator.BLOCK_SIZE < firstAccountBlock;
+        }
+    }
+
+    /**
+     * Finds the program of a card number by the longest matching BIN/IIN prefix.
+     * Dashes in the card number are skipped. Does not allocate.
+     *
+     * @param cardNumber the card number, with or without dashes
+     * @return the matching rule, or null if no active program matches
+     */
+    public BinRule find(CharSequence cardNumber) {
+        if (cardNumber == null) {
+            return null;
+        }
+        Node node = snapshot().root;
+        BinRule match = null;
+        for (int i = 0; i < cardNumber.length(); i++) {
+            char c = cardNumber.charAt(i);
+            if (c == '-') {
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                break;
+            }
+            node = node.children[c - '0'];
+            if (node == null) {
+                break;
+            }
+            if (node.rule != null) {
+                match = node.rule;
+            }
+        }
+        return match;
+    }
+
+    /**
+     * Finds an active program by its exact BIN/IIN.
+     *
+     * @param bin the BIN/IIN prefix
+     * @return an {@link Optional} containing the rule if the program is active, or empty otherwise
+     */
+    public Optional<BinRule> findByBin(String bin) {
+        return Optional.ofNullable(snapshot().byBin.get(bin));
+    }
+
+    /**
+     * Returns the program used for generated card numbers when no BIN is requested.
+     *
+     * @return the rule of the default program
+     * @throws IllegalStateException if the default BIN is not an active program
+     */
+    public BinRule getDefaultRule() {
+        return findByBin(defaultBin)
+                .orElseThrow(() -> new IllegalStateException("Default card BIN " + defaultBin + " is not active"));
+    }
+
+    /**
+     * Returns all active programs ordered by BIN.
+     *
+     * @return the active programs
+     */
+    public List<BinRule> getAllRules() {
+        return snapshot().byBin.values().stream()
+                .sorted(Comparator.comparing(BinRule::bin))
+                .toList();
+    }
+
+    /**
+     * Reloads the active programs from the database and replaces the current snapshot.
+     * Also runs on a schedule, so changes made directly in the database are picked up without a restart.
+     *
+     * @return the number of active programs
+     */
+    @Scheduled(fixedDelayString = "${cards.bins.reload-interval:PT5M}")
+    public int reload() {
+        Snapshot loaded = Snapshot.of(cardBinRepo.findAllByActiveTrue());
+        snapshot = loaded;
+        log.info("Loaded {} active card BINs", loaded.byBin.size());
+        return loaded.byBin.size();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            loadLock.lock();
+            try {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * An immutable view of the registry: the prefix trie and the rules by exact BIN.
+     */
+    private record Snapshot(Node root, Map<String, BinRule> byBin) {
+
+        static Snapshot of(List<CardBin> bins) {
+            Node root = new Node();
+            Map<String, BinRule> byBin = new HashMap<>();
+            for (CardBin bin : bins) {
+                if (!isValidBin(bin.getBin()) || bin.getFirstAccountBlock() == null) {
+                    log.warn("Skipping invalid card BIN '{}'", bin.getBin());
+                    continue;
+                }
+                BinRule rule = new BinRule(bin.getBin(), bin.getProductName(),
+                        bin.getExpiryYears(), bin.getMaxInitialBalance(), bin.getFirstAccountBlock());
+                Node node = root;
+                for (int i = 0; i < rule.bin().length(); i++) {
+                    int digit = rule.bin().charAt(i) - '0';
+                    if (node.children[digit] == null) {
+                        node.children[digit] = new Node();
+                    }
+                    node = node.children[digit];
+                }
+                node.rule = rule;
+                byBin.put(rule.bin(), rule);
+            }
+            return new Snapshot(root, Map.copyOf(byBin));
+        }
+
+        private static boolean isValidBin(String bin) {
+            if (bin == null || bin.isEmpty() || bin.length() >= CardNumbers.DIGITS) {
+                return false;
+            }
+            for (int i = 0; i < bin.length(); i++) {
+                if (bin.charAt(i) < '0' || bin.charAt(i) > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A trie node with one child per decimal digit. Nodes are only modified while a snapshot is built.
+     */
+    private static final class Node {
+        private final Node[] children = new Node[10];
+        private BinRule rule;
+    }
+}
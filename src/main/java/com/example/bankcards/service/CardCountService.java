@@ -0,0 +1,79 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.CountStrategy;
+import com.example.bankcards.repository.CardRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Provides the total number of cards for unfiltered admin listings.
+ * Depending on the configured {@link CountStrategy}, the total is served from the Postgres
+ * planner estimate or from a periodically refreshed cached count instead of a {@code COUNT(*)}
+ * over the whole table on every request.
+ */
+@Service
+@Slf4j
+public class CardCountService {
+
+    private final CardRepo cardRepo;
+    private final CountStrategy defaultStrategy;
+    private final AtomicLong cachedCount = new AtomicLong(-1);
+
+    public CardCountService(CardRepo cardRepo,
+                            @Value("${cards.count.strategy:ESTIMATED}") CountStrategy defaultStrategy) {
+        this.cardRepo = cardRepo;
+        this.defaultStrategy = defaultStrategy;
+    }
+
+    /**
+     * Result of a count: the total and the strategy that produced it.
+     *
+     * @param total    the total number of cards
+     * @param strategy the strategy that produced the total
+     */
+    public record Count(long total, CountStrategy strategy) {
+    }
+
+    /**
+     * Counts all cards using the configured strategy, or exactly if requested.
+     * Falls back to an exact count when the estimate or the cached value is not available yet.
+     *
+     * @param exact whether an exact count is required
+     * @return the total number of cards and the strategy used
+     */
+    public Count countAllCards(boolean exact) {
+        if (!exact) {
+            if (defaultStrategy == CountStrategy.ESTIMATED) {
+                Long estimate = cardRepo.estimateCount();
+                if (estimate != null && estimate >= 0) {
+                    return new Count(estimate, CountStrategy.ESTIMATED);
+                }
+            } else if (defaultStrategy == CountStrategy.CACHED) {
+                long cached = cachedCount.get();
+                if (cached >= 0) {
+                    return new Count(cached, CountStrategy.CACHED);
+                }
+            }
+        }
+        long total = cardRepo.count();
+        cachedCount.set(total);
+        return new Count(total, CountStrategy.EXACT);
+    }
+
+    /**
+     * Scheduled task that refreshes the cached exact count when the CACHED strategy is configured.
+     */
+    @Scheduled(fixedDelayString = "${cards.count.refresh-interval:PT1M}")
+    void refreshCachedCount() {
+        if (defaultStrategy != CountStrategy.CACHED) {
+            return;
+        }
+        long total = cardRepo.count();
+        cachedCount.set(total);
+        log.debug("Refreshed cached card count: {}", total);
+    }
+}
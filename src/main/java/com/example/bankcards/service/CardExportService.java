@@ -0,0 +1,100 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.CardDTO;
+import com.example.bankcards.dto.ExportFormat;
+import com.example.bankcards.repository.CardRepo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exports all cards with masked numbers as NDJSON or CSV.
+ * Rows are read through a forward-only database cursor and written as they arrive,
+ * so memory usage does not depend on the number of cards.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class CardExportService {
+
+    private final CardRepo cardRepo;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes all cards to the given output stream in the requested format.
+     * Runs in a read-only transaction, which Postgres requires to fetch rows with a cursor.
+     *
+     * @param format the output format
+     * @param out    the stream to write to; it is flushed but not closed
+     * @return the number of exported cards
+     * @throws IOException if writing fails
+     */
+    @Transactional(readOnly = true)
+    public long exportCards(ExportFormat format, OutputStream out) throws IOException {
+        long count;
+        try (Stream<CardDTO> cards = cardRepo.streamAllCardDTOs()) {
+            count = switch (format) {
+                case NDJSON -> writeNdjson(cards.iterator(), out);
+                case CSV -> writeCsv(cards.iterator(), out);
+            };
+        }
+        log.info("Exported {} cards as {}", count, format);
+        return count;
+    }
+
+    private long writeNdjson(Iterator<CardDTO> cards, OutputStream out) throws IOException {
+        long count = 0;
+        try (SequenceWriter writer = objectMapper.writerFor(CardDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            while (cards.hasNext()) {
+                writer.write(cards.next());
+                count++;
+            }
+        }
+        // the separator only goes between values; an empty export stays empty
+        if (count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<CardDTO> cards, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("id,cardNumber,ownerName,expirationDate,status,balance\n");
+        while (cards.hasNext()) {
+            CardDTO card = cards.next();
+            writer.write(String.valueOf(card.getId()));
+            writer.write(',');
+            writer.write(card.getCardNumber());
+            writer.write(",\"");
+            writer.write(card.getOwnerName().replace("\"", "\"\""));
+            writer.write("\",");
+            writer.write(card.getExpirationDate().toString());
+            writer.write(',');
+            writer.write(card.getStatus().name());
+            writer.write(',');
+            writer.write(card.getBalance().toPlainString());
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.CardImportReport;
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.entity.user.BankUser;
+import com.example.bankcards.entity.user.Role;
+import com.example.bankcards.repository.CardCopyRepo;
+import com.example.bankcards.repository.CardRepo;
+import com.example.bankcards.util.CardNumbers;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports cards in bulk from a CSV stream with the columns {@code cardNumber,userId,balance}.
+ * Card numbers are accepted as {@code XXXX-XXXX-XXXX-XXXX} or as 16 digits without dashes and are stored
+ * in the dashed form. An empty card number column means the number is generated by {@link CardNumberGenerator}
+ * under the default card program; otherwise the program is resolved from the number by {@link BinRegistry},
+ * and the number must lie below the generated range of the program, so it never collides with generated ones.
+ * The input is processed in chunks: rows are parsed and validated in parallel, duplicates and owners
+ * are resolved with one query per chunk, and valid rows are loaded with a single {@code COPY}.
+ * Memory usage is bounded by the chunk size regardless of the input size.
+ */
+@Service
+@AllArgsConstructor
+@Slf4j
+public class CardImportService {
+
+    static final int CHUNK_SIZE = 5000;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final CardRepo cardRepo;
+    private final CardCopyRepo cardCopyRepo;
+    private final BankUserService bankUserService;
+    private final CardNumberGenerator cardNumberGenerator;
+    private final BinRegistry binRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Imports all rows of the given CSV stream. A header line starting with {@code cardNumber} is skipped.
+     * Each chunk is committed separately, so rows imported before a failure stay imported.
+     *
+     * @param csv the CSV input
+     * @return a report with the number of imported rows and per-row errors
+     * @throws IOException if reading the input fails
+     */
+    public CardImportReport importCards(InputStream csv) throws IOException {
+        Progress progress = new Progress();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            List<RawRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && line.startsWith("cardNumber"))) {
+                    continue;
+                }
+                chunk.add(new RawRow(lineNumber, line));
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, progress);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, progress);
+            }
+        }
+        log.info("Card import finished: {} rows, {} imported, {} failed",
+                progress.total, progress.imported, progress.failed);
+        return new CardImportReport(progress.total, progress.imported, progress.failed,
+                progress.errors, progress.failed > progress.errors.size());
+    }
+
+    /**
+     * Validates and loads one chunk of rows in its own transaction.
+     *
+     * @param chunk    the rows of the chunk
+     * @param progress the accumulated import progress
+     */
+    private void importChunk(List<RawRow> chunk, Progress progress) {
+        progress.total += chunk.size();
+        List<ParsedRow> parsed = chunk.parallelStream().map(this::parse).toList();
+
+        List<ParsedRow> valid = new ArrayList<>(parsed.size());
+        Set<String> numbersInChunk = new HashSet<>();
+        for (ParsedRow row : parsed) {
+            if (row.error != null) {
+                progress.reject(row.line, row.error);
+            } else if (row.cardNumber != null && !numbersInChunk.add(row.cardNumber)) {
+                progress.reject(row.line, "Duplicate card number in input");
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<CardImportReport.RowError> rejected = new ArrayList<>();
+            Long imported = transactionTemplate.execute(status -> loadChunk(valid, rejected));
+            progress.imported += imported == null ? 0 : imported;
+            rejected.forEach(error -> progress.reject(error.line(), error.message()));
+        } catch (RuntimeException e) {
+            log.warn("Card import chunk starting at line {} failed: {}", valid.get(0).line, e.getMessage());
+            for (ParsedRow row : valid) {
+                progress.reject(row.line, "Chunk load failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Checks existing numbers and owners of the rows in bulk and copies the remaining rows.
+     *
+     * @param rows     the rows that passed parsing and in-chunk duplicate checks
+     * @param rejected collects the rows rejected by the checks
+     * @return the number of inserted rows
+     */
+    private long loadChunk(List<ParsedRow> rows, List<CardImportReport.RowError> rejected) {
+        List<String> providedNumbers = rows.stream()
+                .map(ParsedRow::cardNumber)
+                .filter(Objects::nonNull)
+                .toList();
+        Set<String> existing = providedNumbers.isEmpty()
+                ? Set.of()
+                : new HashSet<>(cardRepo.findExistingCardNumbers(providedNumbers));
+        Map<Long, BankUser> owners = bankUserService.getAllByIds(
+                        rows.stream().map(ParsedRow::userId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(BankUser::getId, Function.identity()));
+
+        LocalDate today = LocalDate.now();
+        List<Card> cards = new ArrayList<>(rows.size());
+        for (ParsedRow row : rows) {
+            BankUser owner = owners.get(row.userId);
+            if (row.cardNumber != null && existing.contains(row.cardNumber)) {
+                rejected.add(new CardImportReport.RowError(row.line, "Card already exists"));
+            } else if (owner == null) {
+                rejected.add(new CardImportReport.RowError(row.line, "User not found"));
+            } else if (owner.getRole() == Role.ADMIN) {
+                rejected.add(new CardImportReport.RowError(row.line, "Admin cannot own a card"));
+            } else {
+                Card card = new Card();
+                card.setCardNumber(row.cardNumber != null
+                        ? row.cardNumber
+                        : cardNumberGenerator.nextCardNumber(row.rule.bin()));
+                card.setBalance(row.balance);
+                card.setStatus(CardStatus.ACTIVE);
+                card.setOwnerName(owner.getFirstName() + " " + owner.getLastName());
+                card.setExpirationDate(today.plusYears(row.rule.expiryYears()));
+                card.setBankUser(owner);
+                cards.add(card);
+            }
+        }
+        if (cards.isEmpty()) {
+            return 0;
+        }
+        try {
+            return cardCopyRepo.copyCards(cards);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses and validates a single CSV row.
+     *
+     * @param raw the raw row
+     * @return the parsed row, or a row carrying the validation error
+     */
+    private ParsedRow parse(RawRow raw) {
+        String[] columns = raw.text.split(",", -1);
+        if (columns.length < 2 || columns.length > 3) {
+            return ParsedRow.error(raw.line, "Expected columns: cardNumber,userId,balance");
+        }
+        String cardNumber = columns[0].trim();
+        BinRegistry.BinRule rule;
+        if (cardNumber.isEmpty()) {
+            cardNumber = null;
+            rule = binRegistry.getDefaultRule();
+        } else {
+            long digits = CardNumbers.parse(cardNumber);
+            if (digits == CardNumbers.INVALID) {
+                return ParsedRow.error(raw.line, "Invalid card number");
+            }
+            cardNumber = CardNumbers.format(digits);
+            rule = binRegistry.find(cardNumber);
+            if (rule == null) {
+                return ParsedRow.error(raw.line, "Unknown card BIN");
+            }
+            if (!rule.allowsSuppliedNumber(digits)) {
+                return ParsedRow.error(raw.line, "Card number is in the range reserved for generated numbers");
+            }
+        }
+        long userId;
+        try {
+            userId = Long.parseLong(columns[1].trim());
+        } catch (NumberFormatException e) {
+            return ParsedRow.error(raw.line, "Invalid user ID");
+        }
+        BigDecimal balance = BigDecimal.ZERO;
+        if (columns.length == 3 && !columns[2].isBlank()) {
+            try {
+                balance = new BigDecimal(columns[2].trim());
+            } catch (NumberFormatException e) {
+                return ParsedRow.error(raw.line, "Invalid balance");
+            }
+            if (balance.signum() < 0 || balance.scale() > 2) {
+                return ParsedRow.error(raw.line, "Invalid balance");
+            }
+        }
+        if (!rule.allowsInitialBalance(balance)) {
+            return ParsedRow.error(raw.line, "Initial balance exceeds the limit of the card program");
+        }
+        return new ParsedRow(raw.line, cardNumber, rule, userId, balance, null);
+    }
+
+    /**
+     * A line of the input together with its line number.
+     */
+    private record RawRow(long line, String text) {
+    }
+
+    /**
+     * A parsed row, or a row that failed validation if {@code error} is set.
+     */
+    private record ParsedRow(long line, String cardNumber, BinRegistry.BinRule rule,
+                             Long userId, BigDecimal balance, String error) {
+        static ParsedRow error(long line, String error) {
+            return new ParsedRow(line, null, null, null, null, error);
+        }
+    }
+
+    /**
+     * Mutable import counters and the bounded list of reported errors.
+     */
+    private static final class Progress {
+        private long total;
+        private long imported;
+        private long failed;
+        private final List<CardImportReport.RowError> errors = new ArrayList<>();
+
+        private void reject(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new CardImportReport.RowError(line, message));
+            }
+        }
+    }
+}
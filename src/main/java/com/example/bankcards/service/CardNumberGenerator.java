@@ -0,0 +1,103 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.repository.CardBinRepo;
+import com.example.bankcards.util.CardNumbers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Generates unique Luhn-valid card numbers under the BIN/IIN prefixes of the card programs.
+ * For each BIN, a node reserves blocks of {@value #BLOCK_SIZE} account numbers from the
+ * {@code card_bins} row of the program and hands them out from memory,
+ * so numbers never collide between nodes and only one database round-trip is needed per block.
+ * A block is reserved in a transaction of its own, independent of the transaction of the caller,
+ * so numbers are not reused when the caller rolls back.
+ */
+@Component
+@Slf4j
+public class CardNumberGenerator {
+
+    /**
+     * The number of account numbers reserved by one block.
+     */
+    public static final long BLOCK_SIZE = 1000;
+
+    private final CardBinRepo cardBinRepo;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, AccountRange> ranges = new HashMap<>();
+
+    public CardNumberGenerator(CardBinRepo cardBinRepo) {
+        this.cardBinRepo = cardBinRepo;
+    }
+
+    /**
+     * Returns a new card number in the {@code XXXX-XXXX-XXXX-XXXX} format.
+     * The number consists of the BIN, a unique account number and a Luhn check digit.
+     *
+     * @param bin the BIN/IIN prefix of the card program
+     * @return a card number that has never been generated before
+     * @throws IllegalStateException if the BIN does not exist or its account number range is exhausted
+     */
+    public String nextCardNumber(String bin) {
+        long payload;
+        lock.lock();
+        try {
+            AccountRange range = ranges.computeIfAbsent(bin, AccountRange::new);
+            if (range.next == range.end) {
+                reserveBlock(range);
+            }
+            payload = range.binPrefix + range.next++;
+        } finally {
+            lock.unlock();
+        }
+        return CardNumbers.format(payload * 10 + CardNumbers.luhnCheckDigit(payload));
+    }
+
+    /**
+     * Reserves the next block of account numbers of the range's BIN.
+     */
+    private void reserveBlock(AccountRange range) {
+        Long block = cardBinRepo.reserveAccountBlock(range.bin);
+        if (block == null) {
+            throw new IllegalStateException("Unknown card BIN " + range.bin);
+        }
+        long start = block * BLOCK_SIZE;
+        if (start + BLOCK_SIZE > range.limit) {
+            throw new IllegalStateException("Card account number range of BIN " + range.bin + " is exhausted");
+        }
+        range.next = start;
+        range.end = start + BLOCK_SIZE;
+        log.debug("Reserved card account block {} of BIN {}", block, range.bin);
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+    /**
+     * The account numbers of one BIN reserved by this node and not handed out yet.
+     * Guarded by the generator lock.
+     */
+    private static final class AccountRange {
+        private final String bin;
+        private final long limit;
+        private final long binPrefix;
+        private long next;
+        private long end;
+
+        private AccountRange(String bin) {
+            int accountDigits = CardNumbers.DIGITS - 1 - bin.length();
+            this.bin = bin;
+            this.limit = pow10(accountDigits);
+            this.binPrefix = Long.parseLong(bin) * limit;
+        }
+    }
+}
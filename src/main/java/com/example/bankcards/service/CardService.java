@@ -1,16 +1,31 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.CardBalanceDTO;
 import com.example.bankcards.dto.CardDTO;
+import com.example.bankcards.dto.CursorPage;
 import com.example.bankcards.entity.card.Card;
 import com.example.bankcards.entity.card.CardStatus;
 import com.example.bankcards.entity.user.BankUser;
+import com.example.bankcards.event.AuditAction;
+import com.example.bankcards.event.AuditEvent;
+import com.example.bankcards.event.CardChangedEvent;
+import com.example.bankcards.event.TransferCompletedEvent;
 import com.example.bankcards.exception.exceptions.CardDoesNotExistException;
 import com.example.bankcards.exception.exceptions.CardException;
 import com.example.bankcards.exception.exceptions.CardStatusException;
 import com.example.bankcards.exception.exceptions.InsufficientFundsException;
+import com.example.bankcards.exception.exceptions.InvalidCursorException;
+import com.example.bankcards.jfr.ExpiryChunkEvent;
+import com.example.bankcards.jfr.TransferEvent;
 import com.example.bankcards.repository.CardRepo;
+import com.example.bankcards.util.CursorCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -20,8 +35,14 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Handles card operations such as transfers, balance checks, blocking cards,
@@ -32,18 +53,31 @@ import java.util.Objects;
 @Slf4j
 public class CardService {
 
+    /**
+     * The maximum number of distinct card IDs accepted by a bulk balance lookup.
+     */
+    public static final int MAX_BALANCE_IDS = 100;
+
+    /**
+     * The number of cards marked as expired per transaction by the expiry job.
+     */
+    static final int EXPIRY_CHUNK_SIZE = 1000;
+
     private final CardRepo cardRepo;
     private final BankUserService bankUserService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Transfers funds from one card to another.
+     * Recorded as a {@link TransferEvent} while a flight recording with the event enabled is running.
      *
      * @param authentication the current user's authentication context
      * @param sourceCardId   the ID of the source card
      * @param targetCardId   the ID of the target card
      * @param amount         the amount to transfer
      * @throws CardException            if the source and target cards are the same
-     * @throws CardDoesNotExistException if either card does not exist
+     * @throws CardDoesNotExistException if either card does not exist or is not owned by the user
      * @throws CardStatusException      if either card is blocked or expired
      * @throws InsufficientFundsException if the source card has insufficient funds
      */
@@ -53,19 +87,27 @@ public class CardService {
                                      Long targetCardId,
                                      BigDecimal amount) {
 
+        TransferEvent transferEvent = TransferEvent.beginInTransaction(sourceCardId, targetCardId, amount);
         String name = authentication.getName();
         BankUser bankUser = bankUserService.getByUsername(name);
 
         if (sourceCardId.equals(targetCardId)) {
             throw new CardException("Cannot transfer between the same card");
         }
-        Card sourceCard = cardRepo.findById(sourceCardId).orElseThrow(
-                () -> new CardDoesNotExistException("Source card does not exist"));
-        Card targetCard = cardRepo.findById(targetCardId).orElseThrow(
-                () -> new CardDoesNotExistException("Target card does not exist"));
-
-        validateCardOwnership(sourceCard, bankUser.getId());
-        validateCardOwnership(targetCard, bankUser.getId());
+        // Rows are locked in ID order so that opposite concurrent transfers cannot deadlock
+        Card sourceCard;
+        Card targetCard;
+        long lockStart = System.nanoTime();
+        if (sourceCardId < targetCardId) {
+            sourceCard = lockCard(sourceCardId, bankUser.getId(), "Source card does not exist");
+            targetCard = lockCard(targetCardId, bankUser.getId(), "Target card does not exist");
+        } else {
+            targetCard = lockCard(targetCardId, bankUser.getId(), "Target card does not exist");
+            sourceCard = lockCard(sourceCardId, bankUser.getId(), "Source card does not exist");
+        }
+        if (transferEvent != null) {
+            transferEvent.setLockWait(System.nanoTime() - lockStart);
+        }
 
         validateCardStatus(sourceCard);
         validateCardStatus(targetCard);
@@ -79,6 +121,13 @@ public class CardService {
 
         cardRepo.save(sourceCard);
         cardRepo.save(targetCard);
+        // the events carry the versions assigned by the flush
+        cardRepo.flush();
+        eventPublisher.publishEvent(CardChangedEvent.of(sourceCard));
+        eventPublisher.publishEvent(CardChangedEvent.of(targetCard));
+        eventPublisher.publishEvent(new TransferCompletedEvent(sourceCardId, targetCardId, amount));
+        eventPublisher.publishEvent(AuditEvent.of(AuditAction.TRANSFER, sourceCardId, bankUser.getId(),
+                "to card " + targetCardId + ", amount " + amount.toPlainString()));
     }
 
     /**
@@ -86,7 +135,7 @@ public class CardService {
      *
      * @param authentication the current user's authentication context
      * @param id             the ID of the card to block
-     * @throws CardDoesNotExistException if the card does not exist
+     * @throws CardDoesNotExistException if the card does not exist or is not owned by the user
      * @throws CardStatusException       if the card is already blocked or expired
      */
     @Transactional
@@ -94,10 +143,7 @@ public class CardService {
         String name = authentication.getName();
         BankUser bankUser = bankUserService.getByUsername(name);
 
-        Card card = cardRepo.findById(id).orElseThrow(
-                () -> new CardDoesNotExistException("Card does not exist"));
-
-        validateCardOwnership(card, bankUser.getId());
+        Card card = lockCard(id, bankUser.getId(), "Card does not exist");
 
         if (card.getStatus() == CardStatus.BLOCKED) {
             throw new CardStatusException("Card is already blocked");
@@ -107,20 +153,55 @@ public class CardService {
         }
         card.setStatus(CardStatus.BLOCKED);
         cardRepo.save(card);
+        cardRepo.flush();
+        eventPublisher.publishEvent(CardChangedEvent.of(card));
+        eventPublisher.publishEvent(AuditEvent.of(AuditAction.CARD_BLOCK_REQUESTED, id, bankUser.getId(), null));
     }
 
     /**
      * Retrieves all cards belonging to the authenticated user.
+     * Cards are projected directly into DTOs in a read-only transaction.
      *
      * @param authentication the current user's authentication context
      * @param pageable       pagination parameters
      * @return a page of cards as DTOs
      */
+    @Transactional(readOnly = true)
     public Page<CardDTO> getAllUserCards(Authentication authentication, Pageable pageable) {
-        String name = authentication.getName();
-        BankUser bankUser = bankUserService.getByUsername(name);
-        Page<Card> allByBankUser = cardRepo.findAllByBankUser(bankUser, pageable);
-        return allByBankUser.map(CardDTO::fromEntity);
+        return cardRepo.findAllCardDTOsByUsername(authentication.getName(), pageable);
+    }
+
+    /**
+     * Computes the ETag of a page of the authenticated user's cards from the aggregate version
+     * of the user's cards and the pagination parameters, without loading the cards.
+     *
+     * @param authentication the current user's authentication context
+     * @param pageable       pagination parameters
+     * @return the ETag value
+     */
+    @Transactional(readOnly = true)
+    public String getUserCardsETag(Authentication authentication, Pageable pageable) {
+        return "cards-" + cardRepo.findCardsVersionByUsername(authentication.getName())
+                + "-" + Integer.toHexString(pageable.toString().hashCode());
+    }
+
+    /**
+     * Retrieves a slice of cards belonging to the authenticated user using keyset pagination.
+     *
+     * @param authentication the current user's authentication context
+     * @param cursor         the cursor returned with the previous slice, or null for the first slice
+     * @param size           the requested slice size
+     * @return a slice of cards as DTOs with a cursor to the next slice
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CardDTO> getUserCardsAfter(Authentication authentication, String cursor, Integer size) {
+        int limit = CursorPage.effectiveSize(size);
+        List<CardDTO> rows = cardRepo.findCardDTOsByUsernameAfter(
+                authentication.getName(),
+                CursorCodec.decode(cursor),
+                Limit.of(limit + 1));
+        return CursorPage.fromOverfetched(rows, limit, CardDTO::getId);
     }
 
     /**
@@ -132,6 +213,7 @@ public class CardService {
      * @throws CardDoesNotExistException if the card does not exist
      * @throws CardException             if the user is not the owner of the card
      */
+    @Transactional(readOnly = true)
     public CardDTO getCardBalanceById(Authentication authentication, Long id) {
         String name = authentication.getName();
         BankUser bankUser = bankUserService.getByUsername(name);
@@ -141,6 +223,70 @@ public class CardService {
         return CardDTO.fromEntity(card);
     }
 
+    /**
+     * Retrieves the balances and statuses of several cards of the authenticated user in a single query.
+     * Cards that do not exist or belong to another user are left out of the result,
+     * so the response does not reveal which IDs exist.
+     *
+     * @param authentication the current user's authentication context
+     * @param ids            the IDs of the cards; duplicates are ignored
+     * @return the balances keyed by card ID, in the order of the requested IDs
+     * @throws CardException if no IDs or more than {@link #MAX_BALANCE_IDS} distinct IDs are requested
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, CardBalanceDTO> getCardBalances(Authentication authentication, Collection<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.remove(null);
+        if (distinctIds.isEmpty()) {
+            throw new CardException("At least one card ID is required");
+        }
+        if (distinctIds.size() > MAX_BALANCE_IDS) {
+            throw new CardException("At most " + MAX_BALANCE_IDS + " card IDs can be requested at once");
+        }
+        List<CardBalanceDTO> rows = cardRepo.findBalancesByIdsAndOwnerUsername(distinctIds, authentication.getName());
+        Map<Long, CardBalanceDTO> found = new HashMap<>();
+        for (CardBalanceDTO balance : rows) {
+            found.put(balance.getId(), balance);
+        }
+        Map<Long, CardBalanceDTO> result = new LinkedHashMap<>();
+        for (Long id : distinctIds) {
+            CardBalanceDTO balance = found.get(id);
+            if (balance != null) {
+                result.put(id, balance);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the ETag of a card's balance from the card version, without loading the card.
+     *
+     * @param authentication the current user's authentication context
+     * @param id             the ID of the card
+     * @return the ETag value, or null if the card does not exist or is not owned by the user
+     */
+    @Transactional(readOnly = true)
+    public String getCardBalanceETag(Authentication authentication, Long id) {
+        return cardRepo.findVersionByIdAndOwnerUsername(id, authentication.getName())
+                .map(version -> "card-" + id + "-" + version)
+                .orElse(null);
+    }
+
+    /**
+     * Loads a card of the user and locks its row for the rest of the transaction.
+     * A card of another user is treated as missing and its row is not locked.
+     *
+     * @param id      the ID of the card
+     * @param userId  the ID of the user who must own the card
+     * @param message the message of the exception thrown if the card does not exist
+     * @return the locked card
+     * @throws CardDoesNotExistException if the card does not exist or is not owned by the user
+     */
+    private Card lockCard(Long id, Long userId, String message) {
+        return cardRepo.findByIdAndBankUserIdForUpdate(id, userId).orElseThrow(
+                () -> new CardDoesNotExistException(message));
+    }
+
     /**
      * Validates that the card is active and not expired or blocked.
      *
@@ -168,19 +314,47 @@ public class CardService {
 
     /**
      * Scheduled task to update the status of expired cards daily.
-     * Cards whose expiration date is in the past are marked as expired.
+     * Cards whose expiration date is in the past are marked as expired in chunks of
+     * {@value #EXPIRY_CHUNK_SIZE}, each updated by a single statement in its own transaction,
+     * so the job never holds many row locks or loads the cards into memory.
+     * The update increments the card versions, so the ETags of the expired cards change, and stores
+     * a {@code card.changed} outbox message per expired card in the same transaction.
+     * The run time is recorded in the {@code cards.expiry.job} timer, the number of expired cards
+     * in the {@code cards.expiry.cards} counter, and each chunk as an {@link ExpiryChunkEvent}.
      */
     @Scheduled(cron = "0 0 0 * * ?")
     void updateExpiredCards() {
-        LocalDate today = LocalDate.now();
-        List<Card> activeCards = cardRepo.findByStatusAndExpirationDateBefore(
-                CardStatus.ACTIVE,
-                today
-        );
-
-        for (Card card : activeCards) {
-            card.setStatus(CardStatus.EXPIRED);
-            cardRepo.save(card);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int expired = 0;
+        int chunks = 0;
+        try {
+            LocalDate today = LocalDate.now();
+            long afterId = 0;
+            List<Long> ids;
+            do {
+                ExpiryChunkEvent chunkEvent = new ExpiryChunkEvent();
+                chunkEvent.begin();
+                ids = cardRepo.findIdsByStatusAndExpirationDateBefore(
+                        CardStatus.ACTIVE, today, afterId, Limit.of(EXPIRY_CHUNK_SIZE));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                int updated = cardRepo.expireCards(ids);
+                chunkEvent.set(chunks, ids.size(), updated);
+                chunkEvent.commit();
+                expired += updated;
+                chunks++;
+                afterId = ids.get(ids.size() - 1);
+            } while (ids.size() == EXPIRY_CHUNK_SIZE);
+        } finally {
+            sample.stop(Timer.builder("cards.expiry.job")
+                    .description("Duration of the card expiry job")
+                    .register(meterRegistry));
+            Counter.builder("cards.expiry.cards")
+                    .description("Cards marked as expired by the expiry job")
+                    .register(meterRegistry)
+                    .increment(expired);
+            log.info("Card expiry job marked {} cards as expired in {} chunks", expired, chunks);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,207 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.event.CardChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Pushes card balance and status changes to the card owners over Server-Sent Events.
+ * An open stream holds no request thread: the emitter is kept in memory until the client disconnects
+ * or the stream times out, so a node can keep many idle connections open.
+ * Changes are delivered only after the transaction that made them commits.
+ * <p>
+ * All writes to the streams of a user, changes and heartbeats alike, go through a queue of that user
+ * drained by a single task, so they are written one at a time in the order they were queued, and a slow
+ * client holds up at most one thread and never the scheduler. Changes of different transactions may be
+ * queued in another order than they committed; the card version in the event ID orders the changes of a card.
+ * <p>
+ * The drain tasks run on a bounded pool of this service ({@code cards.stream.threads} threads and
+ * {@code cards.stream.queue-capacity} queued users), so clients that stop reading stall only stream delivery
+ * and never the shared task executor used by asynchronous requests such as the card export.
+ */
+@Service
+@Slf4j
+public class CardStreamService {
+
+    static final String CARD_EVENT = "card";
+
+    private final Executor executor;
+    private final long timeoutMillis;
+
+    private final ConcurrentHashMap<String, UserStreams> streams = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CardStreamService(@Value("${cards.stream.threads:16}") int threads,
+                             @Value("${cards.stream.queue-capacity:10000}") int queueCapacity,
+                             @Value("${cards.stream.timeout:PT30M}") Duration timeout) {
+        this(new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("card-stream-")), timeout);
+    }
+
+    CardStreamService(Executor executor, Duration timeout) {
+        this.executor = executor;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Stops the delivery threads. Open streams are completed by the servlet container.
+     */
+    @PreDestroy
+    void stop() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Opens a stream of changes to the cards of a user.
+     * The stream starts with a comment, so the client sees the connection as established at once.
+     *
+     * @param username the username of the card owner
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(String username) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> remove(username, emitter));
+        emitter.onTimeout(() -> remove(username, emitter));
+        emitter.onError(e -> remove(username, emitter));
+        // sent before the stream is registered, so it precedes every queued write
+        if (send(username, emitter, SseEmitter.event().comment("connected"))) {
+            streams.compute(username, (key, userStreams) -> {
+                UserStreams result = userStreams == null ? new UserStreams(username) : userStreams;
+                result.emitters.add(emitter);
+                return result;
+            });
+        }
+        return emitter;
+    }
+
+    /**
+     * Queues a committed card change for all open streams of the card owner.
+     * Sending runs on the delivery pool, so a slow client does not hold up the committing thread.
+     * The event ID is the card ID and the card version, so a client can tell which changes of a card
+     * it has seen and order them, as changes of different cards may arrive out of commit order.
+     *
+     * @param event the card change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCardChanged(CardChangedEvent event) {
+        if (event.ownerUsername() == null) {
+            return;
+        }
+        UserStreams userStreams = streams.get(event.ownerUsername());
+        if (userStreams != null) {
+            userStreams.enqueue(() -> SseEmitter.event()
+                    .name(CARD_EVENT)
+                    .id(event.cardId() + "-" + event.version())
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * Queues a comment for every open stream, so proxies keep idle connections open
+     * and streams of disconnected clients are detected and released.
+     */
+    @Scheduled(fixedDelayString = "${cards.stream.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        streams.values().forEach(userStreams -> userStreams.enqueue(() -> SseEmitter.event().comment("heartbeat")));
+    }
+
+    /**
+     * Returns the number of open streams on this node.
+     *
+     * @return the number of open streams
+     */
+    public int getConnectionCount() {
+        return streams.values().stream().mapToInt(userStreams -> userStreams.emitters.size()).sum();
+    }
+
+    private boolean send(String username, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Closing card stream of {}: {}", username, e.getMessage());
+            remove(username, emitter);
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void remove(String username, SseEmitter emitter) {
+        streams.computeIfPresent(username, (key, userStreams) -> {
+            userStreams.emitters.remove(emitter);
+            return userStreams.emitters.isEmpty() ? null : userStreams;
+        });
+    }
+
+    /**
+     * The open streams of one user and the writes waiting to be sent to them.
+     * At most one drain task of a user is queued or running at a time.
+     */
+    private final class UserStreams {
+        private final String username;
+        private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+        private final Queue<Supplier<SseEmitter.SseEventBuilder>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private UserStreams(String username) {
+            this.username = username;
+        }
+
+        /**
+         * Queues a write to all streams of the user and starts a drain task unless one is active.
+         *
+         * @param event creates the event; called once per stream, as an event builder is sent only once
+         */
+        private void enqueue(Supplier<SseEmitter.SseEventBuilder> event) {
+            pending.add(event);
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // the writes stay queued for the next change or heartbeat
+                    draining.set(false);
+                    log.warn("Card stream delivery to {} was rejected: {}", username, e.getMessage());
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                Supplier<SseEmitter.SseEventBuilder> event;
+                while ((event = pending.poll()) != null) {
+                    for (SseEmitter emitter : emitters) {
+                        send(username, emitter, event.get());
+                    }
+                }
+                draining.set(false);
+                // a write queued after the last poll but before the flag was cleared started no task
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
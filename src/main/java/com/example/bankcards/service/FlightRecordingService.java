@@ -0,0 +1,195 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.exception.exceptions.RecordingStateException;
+import com.example.bankcards.jfr.CryptoEvent;
+import com.example.bankcards.jfr.ExpiryChunkEvent;
+import com.example.bankcards.jfr.TransferEvent;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Starts and stops JDK Flight Recorder recordings on demand, so production can be profiled
+ * without attaching an agent or restarting with JVM options. At most one recording exists at a time;
+ * it uses the JDK {@code profile} settings with the application events enabled,
+ * and is bounded in duration and size. The file of the last recording is kept until the next one starts.
+ */
+@Service
+@Slf4j
+public class FlightRecordingService {
+
+    private static final String RECORDING_NAME = "bankcards";
+
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private final Path directory;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Recording recording;
+    private Path file;
+
+    public FlightRecordingService(@Value("${app.jfr.max-duration:PT10M}") Duration maxDuration,
+                                  @Value("${app.jfr.max-size:200MB}") DataSize maxSize,
+                                  @Value("${app.jfr.directory:${java.io.tmpdir}}") Path directory) {
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.directory = directory;
+    }
+
+    /**
+     * The state of the current or last recording.
+     *
+     * @param state     the recording state: NEW, DELAYED, RUNNING, STOPPED or CLOSED, or NONE if there was no recording
+     * @param startTime the time the recording started, or null
+     * @param duration  the duration after which the recording stops by itself, or null
+     * @param size      the size of the recorded data in bytes
+     */
+    public record RecordingStatus(String state, Instant startTime, Duration duration, long size) {
+    }
+
+    /**
+     * Starts a new recording, discarding the file of the previous one.
+     * The recording stops by itself after the given duration, which is capped at {@code app.jfr.max-duration}.
+     *
+     * @param duration the duration of the recording, or null for the maximum
+     * @return the status of the new recording
+     * @throws RecordingStateException if a recording is already running
+     */
+    public RecordingStatus start(Duration duration) {
+        Duration bounded = duration == null || duration.isNegative() || duration.isZero()
+                || duration.compareTo(maxDuration) > 0 ? maxDuration : duration;
+        lock.lock();
+        try {
+            if (recording != null && recording.getState() == RecordingState.RUNNING) {
+                throw new RecordingStateException("A flight recording is already running");
+            }
+            discard();
+            Recording newRecording = new Recording(Configuration.getConfiguration("profile"));
+            newRecording.setName(RECORDING_NAME);
+            newRecording.enable(TransferEvent.class);
+            newRecording.enable(CryptoEvent.class);
+            newRecording.enable(ExpiryChunkEvent.class);
+            newRecording.setDuration(bounded);
+            newRecording.setMaxSize(maxSize.toBytes());
+            newRecording.setToDisk(true);
+            Path newFile = directory.resolve(RECORDING_NAME + "-" + System.currentTimeMillis() + ".jfr");
+            newRecording.setDestination(newFile);
+            newRecording.start();
+            recording = newRecording;
+            file = newFile;
+            log.info("Started flight recording for {} into {}", bounded, newFile);
+            return status(newRecording);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the flight recording", e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Could not load the JFR profile settings", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the running recording and writes its file.
+     *
+     * @return the status of the stopped recording
+     * @throws RecordingStateException if no recording is running
+     */
+    public RecordingStatus stop() {
+        lock.lock();
+        try {
+            if (recording == null || recording.getState() != RecordingState.RUNNING) {
+                throw new RecordingStateException("No flight recording is running");
+            }
+            recording.stop();
+            log.info("Stopped flight recording, written to {}", file);
+            return status(recording);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the status of the current or last recording.
+     *
+     * @return the recording status
+     */
+    public RecordingStatus getStatus() {
+        lock.lock();
+        try {
+            return recording == null ? new RecordingStatus("NONE", null, null, 0) : status(recording);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the file of the last recording once it has stopped, whether it was stopped
+     * by {@link #stop()} or reached its duration.
+     *
+     * @return the path of the recording file
+     * @throws RecordingStateException if there is no recording or it is still running
+     */
+    public Path getRecordingFile() {
+        lock.lock();
+        try {
+            if (recording == null) {
+                throw new RecordingStateException("No flight recording has been made");
+            }
+            RecordingState state = recording.getState();
+            if ((state != RecordingState.STOPPED && state != RecordingState.CLOSED) || !Files.exists(file)) {
+                throw new RecordingStateException("The flight recording has not been stopped yet");
+            }
+            return file;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the recording and deletes its file when the application shuts down.
+     */
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            discard();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete flight recording {}: {}", file, e.getMessage());
+            }
+            file = null;
+        }
+    }
+
+    private static RecordingStatus status(Recording recording) {
+        return new RecordingStatus(recording.getState().name(), recording.getStartTime(),
+                recording.getDuration(), recording.getSize());
+    }
+}
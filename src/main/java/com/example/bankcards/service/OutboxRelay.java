@@ -0,0 +1,131 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.outbox.OutboxMessage;
+import com.example.bankcards.outbox.OutboxSink;
+import com.example.bankcards.repository.OutboxMessageRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers outbox messages to the configured {@link OutboxSink} with at-least-once semantics.
+ * Each batch is locked with {@code FOR UPDATE SKIP LOCKED}, delivered, and deleted in one transaction,
+ * so a batch is removed only after the sink accepted it, and relays on several nodes share the work
+ * without blocking each other. A failed batch stays in the table and is retried on the next run.
+ */
+@Service
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxMessageRepo outboxMessageRepo;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    private final LongAdder deliveredMessages = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private volatile long lastDeliveryLagMillis;
+
+    public OutboxRelay(OutboxMessageRepo outboxMessageRepo,
+                       OutboxSink sink,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${outbox.relay.max-batches-per-run:50}") int maxBatchesPerRun) {
+        this.outboxMessageRepo = outboxMessageRepo;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    /**
+     * Delivers pending messages batch by batch until the outbox is drained,
+     * a batch fails, or the per-run limit is reached.
+     *
+     * @return the number of delivered messages
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:PT1S}")
+    public int relay() {
+        int delivered = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int count;
+            try {
+                count = transactionTemplate.execute(status -> relayBatch());
+            } catch (RuntimeException e) {
+                failedBatches.increment();
+                log.warn("Outbox delivery failed, will retry: {}", e.getMessage());
+                break;
+            }
+            delivered += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+        return delivered;
+    }
+
+    private int relayBatch() {
+        List<OutboxMessage> batch = outboxMessageRepo.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            sink.deliver(batch);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        outboxMessageRepo.deleteAllByIdInBatch(batch.stream().map(OutboxMessage::getId).toList());
+        deliveredMessages.add(batch.size());
+        lastDeliveryLagMillis = Duration.between(batch.get(0).getCreatedAt(), Instant.now()).toMillis();
+        return batch.size();
+    }
+
+    /**
+     * Returns the number of messages delivered by this node.
+     *
+     * @return the number of delivered messages
+     */
+    public long getDeliveredMessages() {
+        return deliveredMessages.sum();
+    }
+
+    /**
+     * Returns the number of batches that failed and were left for a retry.
+     *
+     * @return the number of failed batches
+     */
+    public long getFailedBatches() {
+        return failedBatches.sum();
+    }
+
+    /**
+     * Returns the time between storing the oldest message of the last delivered batch and its delivery.
+     *
+     * @return the delivery lag in milliseconds
+     */
+    public long getLastDeliveryLagMillis() {
+        return lastDeliveryLagMillis;
+    }
+
+    /**
+     * Returns an estimate of the number of messages waiting in the outbox on all nodes.
+     * Read on every metrics scrape, so it uses {@link OutboxMessageRepo#estimatePendingMessages()},
+     * whose cost does not grow with the backlog, instead of an exact count.
+     *
+     * @return the estimated number of undelivered messages
+     */
+    public long getPendingMessages() {
+        return outboxMessageRepo.estimatePendingMessages();
+    }
+}
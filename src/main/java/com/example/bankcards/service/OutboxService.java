@@ -0,0 +1,83 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.outbox.OutboxMessage;
+import com.example.bankcards.event.CardChangedEvent;
+import com.example.bankcards.event.CardCreatedEvent;
+import com.example.bankcards.event.TransferCompletedEvent;
+import com.example.bankcards.repository.OutboxMessageRepo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Stores card events for downstream systems in the outbox table.
+ * The listeners are synchronous and join the transaction of the card change, so a message
+ * is stored if and only if the change commits; {@link OutboxRelay} delivers it afterwards.
+ */
+@Service
+@AllArgsConstructor
+public class OutboxService {
+
+    public static final String CARD_CREATED = "card.created";
+    public static final String CARD_CHANGED = "card.changed";
+    public static final String CARD_TRANSFERRED = "card.transferred";
+
+    private final OutboxMessageRepo outboxMessageRepo;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Stores a message about an issued card.
+     *
+     * @param event the card creation event
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCardCreated(CardCreatedEvent event) {
+        append(CARD_CREATED, event.cardId(), event);
+    }
+
+    /**
+     * Stores a message about a changed balance or status of a card.
+     *
+     * @param event the card change event
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCardChanged(CardChangedEvent event) {
+        append(CARD_CHANGED, event.cardId(), event);
+    }
+
+    /**
+     * Stores a message about a transfer between cards.
+     *
+     * @param event the transfer event
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTransferCompleted(TransferCompletedEvent event) {
+        append(CARD_TRANSFERRED, event.sourceCardId(), event);
+    }
+
+    private void append(String type, Long aggregateId, Object payload) {
+        OutboxMessage message = new OutboxMessage();
+        message.setType(type);
+        message.setAggregateId(aggregateId);
+        message.setPayload(toJson(payload));
+        message.setCreatedAt(Instant.now());
+        outboxMessageRepo.save(message);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload " + payload.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.bankcards.util;
+
+/**
+ * Utility class for working with 16-digit card numbers in numeric form:
+ * parsing, Luhn check digits and formatting as {@code XXXX-XXXX-XXXX-XXXX}.
+ * Parsing and validation work on the characters in place and do not allocate,
+ * which matters for bulk imports that validate millions of numbers.
+ */
+public class CardNumbers {
+
+    /**
+     * The number of digits in a card number.
+     */
+    public static final int DIGITS = 16;
+
+    /**
+     * The length of a card number in the {@code XXXX-XXXX-XXXX-XXXX} format.
+     */
+    public static final int FORMATTED_LENGTH = DIGITS + 3;
+
+    /**
+     * Returned by {@link #parse(CharSequence)} when the input is not a card number.
+     */
+    public static final long INVALID = -1;
+
+    /**
+     * Parses a card number written either as {@code XXXX-XXXX-XXXX-XXXX} or as 16 digits without dashes.
+     *
+     * @param cardNumber the card number to parse, may be null
+     * @return the 16 digits as a number, or {@link #INVALID} if the input has a different format
+     */
+    public static long parse(CharSequence cardNumber) {
+        if (cardNumber == null) {
+            return INVALID;
+        }
+        int length = cardNumber.length();
+        if (length == FORMATTED_LENGTH) {
+            return parseDigits(cardNumber, true);
+        } else if (length == DIGITS) {
+            return parseDigits(cardNumber, false);
+        }
+        return INVALID;
+    }
+
+    /**
+     * Parses a card number in the {@code XXXX-XXXX-XXXX-XXXX} format only.
+     *
+     * @param cardNumber the card number to parse, may be null
+     * @return the 16 digits as a number, or {@link #INVALID} if the input has a different format
+     */
+    public static long parseFormatted(CharSequence cardNumber) {
+        if (cardNumber == null || cardNumber.length() != FORMATTED_LENGTH) {
+            return INVALID;
+        }
+        return parseDigits(cardNumber, true);
+    }
+
+    private static long parseDigits(CharSequence cardNumber, boolean dashed) {
+        long digits = 0;
+        for (int i = 0; i < cardNumber.length(); i++) {
+            char c = cardNumber.charAt(i);
+            if (dashed && isDashPosition(i)) {
+                if (c != '-') {
+                    return INVALID;
+                }
+            } else if (c >= '0' && c <= '9') {
+                digits = digits * 10 + (c - '0');
+            } else {
+                return INVALID;
+            }
+        }
+        return digits;
+    }
+
+    /**
+     * Checks whether the last digit of a card number is the Luhn check digit of the preceding ones.
+     *
+     * @param digits the card number as returned by {@link #parse(CharSequence)}
+     * @return true if the checksum is correct, false otherwise or if the number is {@link #INVALID}
+     */
+    public static boolean isLuhnValid(long digits) {
+        return digits >= 0 && luhnCheckDigit(digits / 10) == digits % 10;
+    }
+
+    /**
+     * Computes the Luhn check digit for the given 15-digit payload
+     * (all digits of a card number except the last one).
+     *
+     * @param payload the first 15 digits of the card number
+     * @return the check digit, from 0 to 9
+     */
+    public static int luhnCheckDigit(long payload) {
+        int sum = 0;
+        boolean doubleDigit = true;
+        for (long rest = payload; rest > 0; rest /= 10) {
+            int digit = (int) (rest % 10);
+            if (doubleDigit) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleDigit = !doubleDigit;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Formats a 16-digit card number as {@code XXXX-XXXX-XXXX-XXXX}, keeping leading zeros.
+     *
+     * @param digits the card number as a number
+     * @return the formatted card number
+     */
+    public static String format(long digits) {
+        char[] chars = new char[FORMATTED_LENGTH];
+        long rest = digits;
+        for (int i = chars.length - 1; i >= 0; i--) {
+            if (isDashPosition(i)) {
+                chars[i] = '-';
+            } else {
+                chars[i] = (char) ('0' + rest % 10);
+                rest /= 10;
+            }
+        }
+        return new String(chars);
+    }
+
+    private static boolean isDashPosition(int index) {
+        return index == 4 || index == 9 || index == 14;
+    }
+}
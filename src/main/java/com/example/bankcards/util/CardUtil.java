@@ -5,6 +5,9 @@ package com.example.bankcards.util;
  */
 public class CardUtil {
 
+    private static final String MASK_PREFIX = "**** **** **** ";
+    private static final int VISIBLE_DIGITS = 4;
+
     /**
      * Masks a card number by hiding all digits except the last four.
      * Example input: "4000-5678-9012-3456"
@@ -18,7 +21,9 @@ public class CardUtil {
             return cardNumber;
         }
 
-        String lastFourDigits = cardNumber.substring(cardNumber.length() - 4);
-        return "**** **** **** " + lastFourDigits;
+        char[] masked = new char[MASK_PREFIX.length() + VISIBLE_DIGITS];
+        MASK_PREFIX.getChars(0, MASK_PREFIX.length(), masked, 0);
+        cardNumber.getChars(cardNumber.length() - VISIBLE_DIGITS, cardNumber.length(), masked, MASK_PREFIX.length());
+        return new String(masked);
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,6 @@
 package com.example.bankcards.util;
 
 import com.example.bankcards.dto.CardCreationRequest;
-import com.example.bankcards.entity.card.CardBINorIIN;
 
 /**
  * Utility class for validating card-related data such as card creation requests and card numbers.
@@ -10,6 +9,7 @@ public class CardValidator {
 
     /**
      * Validates a card creation request by checking if all required fields are present.
+     * The card number is optional: if it is missing, a number is generated on the server.
      *
      * @param request the card creation request to validate
      * @return true if the request is valid, false otherwise
@@ -19,29 +19,31 @@ public class CardValidator {
             return false;
         } else if (request.getUserId() == null) {
             return false;
-        } else if (request.getCardNumber() == null
-                || request.getCardNumber().isBlank()
-                || request.getCardNumber().isEmpty()) {
-            return false;
         } else {
             return true;
         }
     }
 
     /**
-     * Validates that a card number is in the correct format.
-     * The format must be: BIN/IIN-XXXX-XXXX-XXXX, where BIN/IIN is predefined {@link CardBINorIIN},
-     * and each segment is 4 digits long.
+     * Checks whether the card number of a creation request is absent,
+     * meaning that the number should be generated.
+     *
+     * @param request the card creation request
+     * @return true if the card number is null or blank, false otherwise
+     */
+    public static boolean isCardNumberMissing(CardCreationRequest request) {
+        return request.getCardNumber() == null || request.getCardNumber().isBlank();
+    }
+
+    /**
+     * Validates that a card number is in the correct format: {@code XXXX-XXXX-XXXX-XXXX},
+     * where each segment is 4 digits long. Whether the BIN/IIN prefix belongs to a card program
+     * is checked separately by {@link com.example.bankcards.service.BinRegistry}.
      *
      * @param cardNumber the card number to validate
      * @return true if the card number is valid, false otherwise
      */
     public static boolean isValidCardNumber(String cardNumber) {
-        if (cardNumber == null || cardNumber.length() != 19) {
-            return false;
-        }
-
-        String regex = "^" + CardBINorIIN.getCardBINorIIN() + "-\\d{4}-\\d{4}-\\d{4}$";
-        return cardNumber.matches(regex);
+        return CardNumbers.parseFormatted(cardNumber) != CardNumbers.INVALID;
     }
 }
@@ -0,0 +1,49 @@
+package com.example.bankcards.util;
+
+import com.example.bankcards.exception.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Utility class for encoding and decoding opaque keyset pagination cursors.
+ * A cursor wraps the ID of the last element of the previous slice.
+ */
+public class CursorCodec {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Encodes the given key into an opaque URL-safe cursor.
+     *
+     * @param key the key of the last element of a slice
+     * @return the encoded cursor
+     */
+    public static String encode(long key) {
+        return ENCODER.encodeToString(Long.toString(key).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode(long)}.
+     * A null or blank cursor denotes the start of the listing.
+     *
+     * @param cursor the cursor to decode, may be null
+     * @return the key to continue after, or 0 for the start of the listing
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            long key = Long.parseLong(new String(DECODER.decode(cursor), StandardCharsets.US_ASCII));
+            if (key < 0) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return key;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
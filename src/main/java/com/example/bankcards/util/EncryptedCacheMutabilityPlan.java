@@ -0,0 +1,37 @@
+package com.example.bankcards.util;
+
+import org.hibernate.SharedSessionContract;
+import org.hibernate.type.descriptor.java.MutabilityPlan;
+
+import java.io.Serializable;
+
+/**
+ * Keeps card numbers encrypted in the second-level cache. Hibernate stores an immutable converted value
+ * in the cache as it is, i.e. decrypted; with this plan the cached state holds the value encrypted by
+ * {@link SimpleCardEncryptConverter}, the same as the database column, and it is decrypted again
+ * when an entity is assembled from the cache.
+ */
+public class EncryptedCacheMutabilityPlan implements MutabilityPlan<String> {
+
+    private static final SimpleCardEncryptConverter CONVERTER = new SimpleCardEncryptConverter();
+
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+
+    @Override
+    public String deepCopy(String value) {
+        return value;
+    }
+
+    @Override
+    public Serializable disassemble(String value, SharedSessionContract session) {
+        return CONVERTER.convertToDatabaseColumn(value);
+    }
+
+    @Override
+    public String assemble(Serializable cached, SharedSessionContract session) {
+        return CONVERTER.convertToEntityAttribute((String) cached);
+    }
+}
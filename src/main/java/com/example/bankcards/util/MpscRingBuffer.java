@@ -0,0 +1,112 @@
+package com.example.bankcards.util;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free ring buffer for many producers and a single consumer.
+ * <p>
+ * Producers claim a slot by advancing the tail with a CAS and then publish the element
+ * into the slot; the consumer takes elements in claim order and treats a claimed but not yet
+ * published slot as the end of the available elements. Offering never blocks: when the buffer
+ * is full, {@link #offer} returns false and the caller decides whether to drop or retry.
+ * Only one thread may call {@link #poll} or {@link #drainTo} at a time.
+ *
+ * @param <E> the type of the elements
+ */
+public class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Creates a ring buffer with at least the given capacity, rounded up to a power of two.
+     *
+     * @param capacity the minimum capacity
+     */
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Adds an element if there is room for it. Safe to call from any number of threads.
+     *
+     * @param element the element to add
+     * @return true if the element was added, false if the buffer is full
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+        long claimed;
+        do {
+            claimed = tail.get();
+            if (claimed - head.get() > mask) {
+                return false;
+            }
+        } while (!tail.compareAndSet(claimed, claimed + 1));
+        slots.lazySet((int) claimed & mask, element);
+        return true;
+    }
+
+    /**
+     * Removes the oldest published element. Must only be called by the consumer thread.
+     *
+     * @return the element, or null if no element is available
+     */
+    public E poll() {
+        long current = head.get();
+        int index = (int) current & mask;
+        E element = slots.get(index);
+        if (element == null) {
+            return null;
+        }
+        slots.lazySet(index, null);
+        head.lazySet(current + 1);
+        return element;
+    }
+
+    /**
+     * Moves up to the given number of available elements to a collection, oldest first.
+     * Must only be called by the consumer thread.
+     *
+     * @param target      the collection to add the elements to
+     * @param maxElements the maximum number of elements to move
+     * @return the number of elements moved
+     */
+    public int drainTo(Collection<? super E> target, int maxElements) {
+        int count = 0;
+        E element;
+        while (count < maxElements && (element = poll()) != null) {
+            target.add(element);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of claimed slots, including elements that are still being published.
+     *
+     * @return the approximate number of elements in the buffer
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    /**
+     * Returns the number of elements the buffer can hold.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
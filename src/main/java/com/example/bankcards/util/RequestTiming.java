@@ -0,0 +1,222 @@
+package com.example.bankcards.util;
+
+import java.util.Locale;
+
+/**
+ * Accumulates the time a single request spends in each {@link Phase}, for the {@code Server-Timing}
+ * response header. A recorder is bound to the request thread by
+ * {@link com.example.bankcards.security.ServerTimingFilter} only for the requests being timed;
+ * for all other requests {@link #begin(Phase)}, {@link #end(Phase)} and {@link #record(Phase, long)}
+ * do a single thread-local lookup and return.
+ * <p>
+ * Phases may overlap: {@code db} includes the decryption done while Hibernate loads entities,
+ * and {@code user} includes its query. A phase that is still open when the totals are read,
+ * such as serialization of a response that is being flushed, is counted up to that moment.
+ * Nested calls of the same phase are counted once, by the outermost call.
+ * A recorder is confined to its thread and is not thread-safe.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The phases of a request that are timed separately.
+     */
+    public enum Phase {
+        /**
+         * Parsing and verifying the JWT token.
+         */
+        JWT("jwt"),
+        /**
+         * Loading the authenticated user.
+         */
+        USER("user"),
+        /**
+         * Calls of Spring Data repositories, including the queries they run.
+         */
+        DB("db"),
+        /**
+         * Encryption and decryption of card numbers.
+         */
+        CRYPTO("crypto"),
+        /**
+         * JSON serialization of the response body.
+         */
+        JSON("json");
+
+        private static final Phase[] VALUES = values();
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        /**
+         * Returns the name of the phase in the {@code Server-Timing} header.
+         *
+         * @return the metric name
+         */
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private final long startNanos;
+    private final long[] nanos = new long[Phase.VALUES.length];
+    private final int[] counts = new int[Phase.VALUES.length];
+    private final int[] depth = new int[Phase.VALUES.length];
+    private final long[] openedAt = new long[Phase.VALUES.length];
+
+    private RequestTiming(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Starts timing the current request and binds a new recorder to the current thread.
+     *
+     * @return the new recorder
+     */
+    public static RequestTiming start() {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * Unbinds the recorder from the current thread.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Returns the recorder of the current request.
+     *
+     * @return the recorder, or null if the current request is not timed
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Opens a phase of the current request. Must be followed by {@link #end(Phase)} in a finally block.
+     *
+     * @param phase the phase
+     */
+    public static void begin(Phase phase) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            int i = phase.ordinal();
+            if (timing.depth[i]++ == 0) {
+                timing.openedAt[i] = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Closes a phase of the current request opened by {@link #begin(Phase)}.
+     *
+     * @param phase the phase
+     */
+    public static void end(Phase phase) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            int i = phase.ordinal();
+            if (timing.depth[i] > 0 && --timing.depth[i] == 0) {
+                timing.nanos[i] += System.nanoTime() - timing.openedAt[i];
+                timing.counts[i]++;
+            }
+        }
+    }
+
+    /**
+     * Adds a duration that was already measured to a phase of the current request.
+     *
+     * @param phase the phase
+     * @param nanos the duration in nanoseconds
+     */
+    public static void record(Phase phase, long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.nanos[phase.ordinal()] += nanos;
+            timing.counts[phase.ordinal()]++;
+        }
+    }
+
+    /**
+     * Returns the time spent in a phase so far, including the running part of an open phase.
+     *
+     * @param phase the phase
+     * @return the time in nanoseconds
+     */
+    public long nanos(Phase phase) {
+        int i = phase.ordinal();
+        return depth[i] > 0 ? nanos[i] + System.nanoTime() - openedAt[i] : nanos[i];
+    }
+
+    /**
+     * Returns the number of completed calls of a phase.
+     *
+     * @param phase the phase
+     * @return the number of calls
+     */
+    public int count(Phase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    /**
+     * Returns the time since the request started being timed.
+     *
+     * @return the time in nanoseconds
+     */
+    public long totalNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Formats the phases that took any time and the total as a {@code Server-Timing} header value,
+     * e.g. {@code jwt;dur=0.412, db;dur=3.105;desc="2 calls", total;dur=5.871}. Durations are in milliseconds.
+     *
+     * @return the header value
+     */
+    public String toHeaderValue() {
+        StringBuilder value = new StringBuilder(128);
+        for (Phase phase : Phase.VALUES) {
+            long phaseNanos = nanos(phase);
+            if (phaseNanos == 0) {
+                continue;
+            }
+            value.append(phase.metricName()).append(";dur=").append(millis(phaseNanos));
+            int count = counts[phase.ordinal()];
+            if (count > 1) {
+                value.append(";desc=\"").append(count).append(" calls\"");
+            }
+            value.append(", ");
+        }
+        return value.append("total;dur=").append(millis(totalNanos())).toString();
+    }
+
+    /**
+     * Formats all phases and the total as {@code key=value} pairs for a log line,
+     * e.g. {@code jwt=0.412ms user=1.020ms db=3.105ms/2 crypto=0.000ms json=0.214ms total=5.871ms}.
+     *
+     * @return the formatted phases
+     */
+    public String toLogValue() {
+        StringBuilder value = new StringBuilder(128);
+        for (Phase phase : Phase.VALUES) {
+            value.append(phase.metricName()).append('=').append(millis(nanos(phase))).append("ms");
+            int count = counts[phase.ordinal()];
+            if (count > 1) {
+                value.append('/').append(count);
+            }
+            value.append(' ');
+        }
+        return value.append("total=").append(millis(totalNanos())).append("ms").toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
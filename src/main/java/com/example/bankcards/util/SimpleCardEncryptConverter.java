@@ -1,5 +1,6 @@
 package com.example.bankcards.util;
 
+import com.example.bankcards.jfr.CryptoEvent;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 
@@ -10,6 +11,13 @@ import java.util.Base64;
 /**
  * Converts between plain text and encrypted strings using AES-128 encryption.
  * Used as a JPA attribute converter for fields that need to be stored securely.
+ * <p>
+ * Encryption and decryption times are reported to the {@link TimingListener} installed with
+ * {@link #setTimingListener(TimingListener)}; the servlet application records them in the
+ * {@code cards.crypto} timer. The converter is instantiated by Hibernate and with {@code new}, not by Spring,
+ * and is shared with the reactive service, so it depends on no metrics library itself. For timed requests
+ * the times are also added to the {@code crypto} phase of {@link RequestTiming}, and each operation
+ * is recorded as a {@link CryptoEvent} while a flight recording with the event enabled is running.
  */
 @Converter
 public class SimpleCardEncryptConverter implements AttributeConverter<String, String> {
@@ -18,6 +26,38 @@ public class SimpleCardEncryptConverter implements AttributeConverter<String, St
     private static final String SECRET = "1234567890ABCDEF";
     private static final SecretKeySpec KEY = new SecretKeySpec(SECRET.getBytes(), "AES");
 
+    private static volatile TimingListener timingListener = TimingListener.NONE;
+
+    /**
+     * Receives the time of each encryption and decryption.
+     */
+    @FunctionalInterface
+    public interface TimingListener {
+
+        /**
+         * A listener that ignores the times.
+         */
+        TimingListener NONE = (operation, nanos) -> {
+        };
+
+        /**
+         * Called after each operation, successful or not.
+         *
+         * @param operation {@code encrypt} or {@code decrypt}
+         * @param nanos     the time of the operation in nanoseconds
+         */
+        void recorded(String operation, long nanos);
+    }
+
+    /**
+     * Installs the listener that receives the encryption and decryption times of all converter instances.
+     *
+     * @param listener the listener, or null to stop reporting the times
+     */
+    public static void setTimingListener(TimingListener listener) {
+        timingListener = listener == null ? TimingListener.NONE : listener;
+    }
+
     /**
      * Encrypts a string before persisting it to the database.
      *
@@ -28,12 +68,20 @@ public class SimpleCardEncryptConverter implements AttributeConverter<String, St
     @Override
     public String convertToDatabaseColumn(String attribute) {
         if (attribute == null) return null;
+        CryptoEvent event = new CryptoEvent("encrypt");
+        event.begin();
+        long start = System.nanoTime();
         try {
             Cipher cipher = Cipher.getInstance("AES");
             cipher.init(Cipher.ENCRYPT_MODE, KEY);
             return Base64.getEncoder().encodeToString(cipher.doFinal(attribute.getBytes()));
         } catch (Exception e) {
             throw new RuntimeException("Encryption error", e);
+        } finally {
+            long nanos = System.nanoTime() - start;
+            timingListener.recorded("encrypt", nanos);
+            RequestTiming.record(RequestTiming.Phase.CRYPTO, nanos);
+            event.commit();
         }
     }
 
@@ -47,12 +95,20 @@ public class SimpleCardEncryptConverter implements AttributeConverter<String, St
     @Override
     public String convertToEntityAttribute(String dbData) {
         if (dbData == null) return null;
+        CryptoEvent event = new CryptoEvent("decrypt");
+        event.begin();
+        long start = System.nanoTime();
         try {
             Cipher cipher = Cipher.getInstance("AES");
             cipher.init(Cipher.DECRYPT_MODE, KEY);
             return new String(cipher.doFinal(Base64.getDecoder().decode(dbData)));
         } catch (Exception e) {
             throw new RuntimeException("Decryption error", e);
+        } finally {
+            long nanos = System.nanoTime() - start;
+            timingListener.recorded("decrypt", nanos);
+            RequestTiming.record(RequestTiming.Phase.CRYPTO, nanos);
+            event.commit();
         }
     }
 }
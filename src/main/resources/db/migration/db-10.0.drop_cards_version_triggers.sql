@@ -0,0 +1,19 @@
+--liquibase formatted sql
+
+--changeset kolgotik:1
+-- The ETag of a card listing is derived from the user's cards (count, sum of versions, highest ID).
+-- The triggers updated the owner's users row on every card write, which serialized concurrent
+-- card operations of the same user on that row lock.
+DROP TRIGGER IF EXISTS cards_version_inserted ON cards;
+DROP TRIGGER IF EXISTS cards_version_updated ON cards;
+DROP TRIGGER IF EXISTS cards_version_deleted ON cards;
+DROP FUNCTION IF EXISTS bump_cards_version_inserted();
+DROP FUNCTION IF EXISTS bump_cards_version_updated();
+DROP FUNCTION IF EXISTS bump_cards_version_deleted();
+ALTER TABLE users DROP COLUMN IF EXISTS cards_version;
+
+--changeset kolgotik:2
+-- Covers the version of the user's cards, so the listing ETag is computed with an index-only scan;
+-- keyset pagination by (user_id, id) uses the same index.
+CREATE INDEX IF NOT EXISTS idx_cards_user_id_id_version ON cards (user_id, id) INCLUDE (version);
+DROP INDEX IF EXISTS idx_cards_user_id_id;
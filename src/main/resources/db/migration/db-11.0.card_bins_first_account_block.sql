@@ -0,0 +1,22 @@
+--liquibase formatted sql
+
+--changeset kolgotik:1 splitStatements:false
+-- Keeps the first block a BIN was seeded with, so manually issued and imported numbers can be checked
+-- against the generated range of the BIN: only account numbers below its start are accepted.
+ALTER TABLE card_bins ADD COLUMN first_account_block BIGINT;
+
+UPDATE card_bins SET first_account_block = LEAST(next_account_block, card_bins_first_account_block(bin));
+
+ALTER TABLE card_bins ALTER COLUMN first_account_block SET NOT NULL;
+
+CREATE OR REPLACE FUNCTION set_card_bins_first_account_block() RETURNS trigger AS $$
+BEGIN
+    IF NEW.next_account_block IS NULL THEN
+        NEW.next_account_block := COALESCE(NEW.first_account_block, card_bins_first_account_block(NEW.bin));
+    END IF;
+    IF NEW.first_account_block IS NULL THEN
+        NEW.first_account_block := NEW.next_account_block;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
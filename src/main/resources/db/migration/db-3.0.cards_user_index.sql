@@ -0,0 +1,4 @@
+--liquibase formatted sql
+
+--changeset kolgotik:1
+CREATE INDEX IF NOT EXISTS idx_cards_user_id_id ON cards (user_id, id);
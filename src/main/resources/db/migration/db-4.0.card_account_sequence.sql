@@ -0,0 +1,6 @@
+--liquibase formatted sql
+
+--changeset kolgotik:1
+-- Each value reserves a block of 1000 account numbers for one node.
+-- Generated account numbers start at 50 000 000 000, the lower range is left to manually issued numbers.
+CREATE SEQUENCE IF NOT EXISTS card_account_block_seq START WITH 50000000 INCREMENT BY 1;
@@ -0,0 +1,19 @@
+--liquibase formatted sql
+
+--changeset kolgotik:1
+-- Card programs. next_account_block is the next block of 1000 account numbers reserved for generated cards.
+CREATE TABLE IF NOT EXISTS card_bins (
+    id SERIAL PRIMARY KEY,
+    bin VARCHAR(8) NOT NULL UNIQUE,
+    product_name VARCHAR(255) NOT NULL,
+    expiry_years INT NOT NULL DEFAULT 5,
+    max_initial_balance DECIMAL(19, 2),
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    next_account_block BIGINT NOT NULL DEFAULT 0
+);
+
+--changeset kolgotik:2
+-- The existing BIN continues with the account blocks reserved so far from card_account_block_seq.
+INSERT INTO card_bins (bin, product_name, expiry_years, next_account_block)
+VALUES ('4000', 'Classic', 5, nextval('card_account_block_seq'));
+DROP SEQUENCE IF EXISTS card_account_block_seq;
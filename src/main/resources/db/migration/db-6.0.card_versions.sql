@@ -0,0 +1,45 @@
+--liquibase formatted sql
+
+--changeset kolgotik:1
+-- cards.version is the optimistic lock version of a card, users.cards_version changes with any card of the user.
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS cards_version BIGINT NOT NULL DEFAULT 0;
+
+--changeset kolgotik:2 splitStatements:false
+-- Statement-level triggers bump users.cards_version once per statement for every affected owner,
+-- including rows loaded with COPY and changes made outside of Hibernate.
+CREATE OR REPLACE FUNCTION bump_cards_version_inserted() RETURNS trigger AS $$
+BEGIN
+    UPDATE users SET cards_version = cards_version + 1
+    WHERE id IN (SELECT user_id FROM new_cards);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION bump_cards_version_updated() RETURNS trigger AS $$
+BEGIN
+    UPDATE users SET cards_version = cards_version + 1
+    WHERE id IN (SELECT user_id FROM old_cards UNION SELECT user_id FROM new_cards);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION bump_cards_version_deleted() RETURNS trigger AS $$
+BEGIN
+    UPDATE users SET cards_version = cards_version + 1
+    WHERE id IN (SELECT user_id FROM old_cards);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER cards_version_inserted AFTER INSERT ON cards
+    REFERENCING NEW TABLE AS new_cards
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_cards_version_inserted();
+
+CREATE TRIGGER cards_version_updated AFTER UPDATE ON cards
+    REFERENCING OLD TABLE AS old_cards NEW TABLE AS new_cards
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_cards_version_updated();
+
+CREATE TRIGGER cards_version_deleted AFTER DELETE ON cards
+    REFERENCING OLD TABLE AS old_cards
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_cards_version_deleted();
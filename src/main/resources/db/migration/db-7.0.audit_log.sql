@@ -0,0 +1,18 @@
+--liquibase formatted sql
+
+--changeset kolgotik:1
+-- Append-only audit trail of card and user operations. No foreign keys: entries outlive deleted cards.
+CREATE TABLE IF NOT EXISTS audit_log (
+    id BIGSERIAL PRIMARY KEY,
+    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    actor VARCHAR(255) NOT NULL,
+    action VARCHAR(32) NOT NULL,
+    card_id BIGINT,
+    user_id BIGINT,
+    details VARCHAR(255)
+);
+
+--changeset kolgotik:2
+-- Rows are inserted in time order, so a BRIN index covers time range queries at a fraction of a B-tree's size.
+CREATE INDEX IF NOT EXISTS idx_audit_log_occurred_at ON audit_log USING BRIN (occurred_at);
+CREATE INDEX IF NOT EXISTS idx_audit_log_card_id ON audit_log (card_id) WHERE card_id IS NOT NULL;
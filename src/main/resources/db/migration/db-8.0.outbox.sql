@@ -0,0 +1,12 @@
+--liquibase formatted sql
+
+--changeset kolgotik:1
+-- Transactional outbox: rows are inserted in the transaction of the card change they describe
+-- and deleted by the relay once delivered, so the table only holds undelivered messages.
+CREATE TABLE IF NOT EXISTS outbox_messages (
+    id BIGSERIAL PRIMARY KEY,
+    type VARCHAR(64) NOT NULL,
+    aggregate_id BIGINT,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
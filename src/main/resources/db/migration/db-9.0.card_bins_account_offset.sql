@@ -0,0 +1,28 @@
+--liquibase formatted sql
+
+--changeset kolgotik:1 splitStatements:false
+-- Generated account numbers start in the middle of the account range of a BIN, as they do for BIN 4000
+-- (block 50 000 000, i.e. account 50 000 000 000 of 11 digits); the lower half is left to manually issued
+-- and synthetic numbers. The first block depends on the length of the BIN, so a trigger sets it
+-- when a BIN is inserted without next_account_block.
+CREATE OR REPLACE FUNCTION card_bins_first_account_block(bin VARCHAR) RETURNS BIGINT AS $$
+    SELECT (5 * power(10::numeric, 11 - length(bin)))::bigint;
+$$ LANGUAGE sql IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION set_card_bins_first_account_block() RETURNS trigger AS $$
+BEGIN
+    IF NEW.next_account_block IS NULL THEN
+        NEW.next_account_block := card_bins_first_account_block(NEW.bin);
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE card_bins ALTER COLUMN next_account_block DROP DEFAULT;
+
+CREATE TRIGGER card_bins_first_account_block BEFORE INSERT ON card_bins
+    FOR EACH ROW EXECUTE FUNCTION set_card_bins_first_account_block();
+
+-- BINs added before this change reserved blocks from 0; move them past the lower half.
+UPDATE card_bins SET next_account_block = card_bins_first_account_block(bin)
+WHERE next_account_block < card_bins_first_account_block(bin);
@@ -0,0 +1,122 @@
+package com.example.bankcards.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primaryDataSource;
+
+    @Mock
+    private DataSource replicaDataSource;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    @Mock
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new ReadWriteRoutingDataSource(replicaLagMonitor);
+        routingDataSource.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.PRIMARY, primaryDataSource,
+                ReadWriteRoutingDataSource.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void testGetConnection_ReadOnlyTransactionUsesReplica() throws Exception {
+        // Arrange
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(true);
+        when(replicaDataSource.getConnection()).thenReturn(replicaConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertSame(replicaConnection, routingDataSource.getConnection());
+        assertEquals(1, routingDataSource.getReplicaConnections());
+        assertEquals(0, routingDataSource.getPrimaryConnections());
+        verifyNoInteractions(primaryDataSource);
+    }
+
+    @Test
+    void testGetConnection_ReadWriteTransactionUsesPrimary() throws Exception {
+        // Arrange
+        when(primaryDataSource.getConnection()).thenReturn(primaryConnection);
+
+        // Act & Assert
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertEquals(1, routingDataSource.getPrimaryConnections());
+        assertEquals(0, routingDataSource.getReplicaFallbacks());
+        verifyNoInteractions(replicaLagMonitor, replicaDataSource);
+    }
+
+    @Test
+    void testGetConnection_FallsBackToPrimaryWhenReplicaUnusable() throws Exception {
+        // Arrange
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(false);
+        when(primaryDataSource.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertEquals(1, routingDataSource.getReplicaFallbacks());
+        assertEquals(1, routingDataSource.getPrimaryConnections());
+        assertEquals(0, routingDataSource.getReplicaConnections());
+        verifyNoInteractions(replicaDataSource);
+    }
+
+    @Test
+    void testRoutingMetrics_ReportCounters() throws Exception {
+        // Arrange
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(true, false);
+        when(replicaLagMonitor.getLagMillis()).thenReturn(250L);
+        when(replicaDataSource.getConnection()).thenReturn(replicaConnection);
+        when(primaryDataSource.getConnection()).thenReturn(primaryConnection);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new DataSourceRoutingConfig().routingDataSourceMetrics(routingDataSource, replicaLagMonitor).bindTo(registry);
+
+        // Act
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        routingDataSource.getConnection();
+        routingDataSource.getConnection();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        routingDataSource.getConnection();
+
+        // Assert
+        assertEquals(1, registry.get("datasource.routing.connections")
+                .tag("pool", ReadWriteRoutingDataSource.REPLICA).functionCounter().count());
+        assertEquals(2, registry.get("datasource.routing.connections")
+                .tag("pool", ReadWriteRoutingDataSource.PRIMARY).functionCounter().count());
+        assertEquals(1, registry.get("datasource.routing.fallbacks").functionCounter().count());
+        assertEquals(250, registry.get("datasource.replica.lag").timeGauge().value(TimeUnit.MILLISECONDS));
+        assertEquals(0, registry.get("datasource.replica.usable").gauge().value());
+    }
+}
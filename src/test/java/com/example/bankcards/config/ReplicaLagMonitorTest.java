@@ -0,0 +1,91 @@
+package com.example.bankcards.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaLagMonitorTest {
+
+    @Mock
+    private DataSource replicaDataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @BeforeEach
+    void setUp() {
+        replicaLagMonitor = new ReplicaLagMonitor(replicaDataSource, Duration.ofSeconds(5));
+    }
+
+    private void replicaReportsLag(double seconds) throws SQLException {
+        when(replicaDataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.getDouble(1)).thenReturn(seconds);
+    }
+
+    @Test
+    void testCheckLag_ReplicaUnusableUntilMeasured() {
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertEquals(-1, replicaLagMonitor.getLagMillis());
+    }
+
+    @Test
+    void testCheckLag_UsableWithinThreshold() throws Exception {
+        replicaReportsLag(1.25);
+
+        replicaLagMonitor.checkLag();
+
+        assertTrue(replicaLagMonitor.isReplicaUsable());
+        assertEquals(1250, replicaLagMonitor.getLagMillis());
+        verify(connection).close();
+    }
+
+    @Test
+    void testCheckLag_UnusableWhenLagExceedsThreshold() throws Exception {
+        replicaReportsLag(5.001);
+
+        replicaLagMonitor.checkLag();
+
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertEquals(5001, replicaLagMonitor.getLagMillis());
+    }
+
+    @Test
+    void testCheckLag_UnusableWhenReplicaIsDown() throws Exception {
+        // Arrange
+        replicaReportsLag(0);
+        replicaLagMonitor.checkLag();
+        assertTrue(replicaLagMonitor.isReplicaUsable());
+        when(replicaDataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        // Act
+        replicaLagMonitor.checkLag();
+
+        // Assert
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertEquals(-1, replicaLagMonitor.getLagMillis());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.dto.ExportFormat;
+import com.example.bankcards.service.AdminCardService;
+import com.example.bankcards.service.CardExportService;
+import com.example.bankcards.service.CardImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminCardControllerTest {
+
+    @Mock
+    private AdminCardService adminCardService;
+
+    @Mock
+    private CardImportService cardImportService;
+
+    @Mock
+    private CardExportService cardExportService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                        new AdminCardController(adminCardService, cardImportService, cardExportService))
+                .build();
+    }
+
+    @Test
+    void testExportCards_StreamsWithoutTimeout() throws Exception {
+        // Arrange
+        when(cardExportService.exportCards(eq(ExportFormat.CSV), any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("id\n".getBytes());
+            return 0L;
+        });
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/admin/cards/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        assertEquals(AdminCardController.EXPORT_TIMEOUT_MILLIS, result.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"cards.csv\""))
+                .andExpect(content().string("id\n"));
+    }
+}
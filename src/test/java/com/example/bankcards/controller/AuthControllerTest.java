@@ -15,10 +15,13 @@ import com.example.bankcards.util.JwtUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -29,6 +32,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(AuthController.class)
 @Import(SecurityConfig.class)
+@AutoConfigureObservability
+// all requests share the 127.0.0.1 bucket of the auth rate limit
+@TestPropertySource(properties = "app.rate-limit.enabled=false")
 class AuthControllerTest {
 
     @Autowired
@@ -121,7 +127,8 @@ class AuthControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isConflict())
-                .andExpect(content().string(containsString("Username already exists")));
+                .andExpect(jsonPath("$.code").value("USER_ALREADY_EXISTS"))
+                .andExpect(jsonPath("$.message").value("Username already exists"));
 
         verify(authService).register(argThat(r ->
                 "testuser".equals(r.getUsername())
@@ -188,4 +195,18 @@ class AuthControllerTest {
                         "pass".equals(r.getPassword())
         ));
     }
+
+    @Test
+    void testLogin_CorsResponseExposesRetryAfter() throws Exception {
+        AuthRequest request = new AuthRequest("testuser", "password123");
+        when(authService.login(any())).thenReturn(new AuthResponse("mocked-jwt-token"));
+
+        mockMvc.perform(post("/api/auth/login")
+                        .header(HttpHeaders.ORIGIN, "http://localhost:3000")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS,
+                        containsString(HttpHeaders.RETRY_AFTER)));
+    }
 }
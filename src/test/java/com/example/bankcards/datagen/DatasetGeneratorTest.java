@@ -0,0 +1,138 @@
+package com.example.bankcards.datagen;
+
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.util.CardNumbers;
+import com.example.bankcards.util.SimpleCardEncryptConverter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DatasetGeneratorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    @Mock
+    private DataSource dataSource;
+
+    private DatagenProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DatagenProperties();
+        properties.setHotUserRatio(0.01);
+        properties.setCardsPerHotUser(20);
+    }
+
+    @Test
+    void testWriteChunk_GeneratesConsistentRows() {
+        // Arrange
+        DatasetGenerator generator = new DatasetGenerator(dataSource, properties);
+        StringBuilder usersCsv = new StringBuilder();
+        StringBuilder cardsCsv = new StringBuilder();
+        SimpleCardEncryptConverter converter = new SimpleCardEncryptConverter();
+
+        // Act
+        long cards = generator.writeChunk(1000, 2000, new SplittableRandom(1), TODAY, usersCsv, cardsCsv);
+
+        // Assert
+        String[] userRows = usersCsv.toString().split("\n");
+        String[] cardRows = cardsCsv.toString().split("\n");
+        assertEquals(2000, userRows.length);
+        assertEquals(cards, cardRows.length);
+        assertTrue(userRows[0].startsWith("1000,gen-"));
+
+        Set<String> cardNumbers = new HashSet<>();
+        Map<Long, Integer> cardsPerUser = new HashMap<>();
+        for (String row : cardRows) {
+            String[] fields = row.split(",");
+            String cardNumber = converter.convertToEntityAttribute(fields[0]);
+            assertTrue(CardNumbers.isLuhnValid(CardNumbers.parse(cardNumber)), cardNumber);
+            assertTrue(cardNumber.startsWith("4000-"));
+            assertTrue(cardNumbers.add(cardNumber));
+
+            LocalDate expirationDate = LocalDate.parse(fields[2]);
+            CardStatus status = CardStatus.valueOf(fields[3]);
+            assertEquals(status == CardStatus.EXPIRED, expirationDate.isBefore(TODAY), row);
+            assertTrue(new BigDecimal(fields[4]).signum() >= 0);
+            cardsPerUser.merge(Long.parseLong(fields[5]), 1, Integer::sum);
+        }
+        assertEquals(2000, cardsPerUser.size());
+        assertTrue(cardsPerUser.values().stream().allMatch(count -> count >= 1 && count <= 20));
+        assertTrue(cardsPerUser.containsValue(20), "expected some corporate users");
+        verifyNoInteractions(dataSource);
+    }
+
+    @Test
+    void testWriteChunk_SameSeedProducesSameRows() {
+        DatasetGenerator generator = new DatasetGenerator(dataSource, properties);
+        StringBuilder first = new StringBuilder();
+        StringBuilder second = new StringBuilder();
+
+        generator.writeChunk(1, 100, new SplittableRandom(7), TODAY, new StringBuilder(), first);
+        generator.writeChunk(1, 100, new SplittableRandom(7), TODAY, new StringBuilder(), second);
+
+        assertEquals(first.toString(), second.toString());
+    }
+
+    @Test
+    void testConstructor_RejectsTooManyCardsPerUser() {
+        properties.setCardsPerHotUser(DatasetGenerator.MAX_CARDS_PER_USER + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> new DatasetGenerator(dataSource, properties));
+    }
+
+    @Test
+    void testGenerate_RejectsUnknownBin() throws SQLException {
+        ResultSet resultSet = mockQuery();
+        when(resultSet.next()).thenReturn(false);
+        properties.setBin("9999");
+        DatasetGenerator generator = new DatasetGenerator(dataSource, properties);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, generator::generate);
+
+        assertEquals("Unknown card BIN 9999", exception.getMessage());
+    }
+
+    @Test
+    void testGenerate_StaysBelowFirstGeneratedAccountBlock() throws SQLException {
+        // BIN 4000 seeded at block 5: accounts from 5000 on belong to CardNumberGenerator
+        ResultSet resultSet = mockQuery();
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(5L, 100L);
+        properties.setUsers(100);
+        DatasetGenerator generator = new DatasetGenerator(dataSource, properties);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, generator::generate);
+
+        assertEquals("Too many users for the account number range of BIN 4000", exception.getMessage());
+    }
+
+    private ResultSet mockQuery() throws SQLException {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        return resultSet;
+    }
+}
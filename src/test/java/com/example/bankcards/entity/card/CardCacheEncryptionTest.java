@@ -0,0 +1,66 @@
+package com.example.bankcards.entity.card;
+
+import com.example.bankcards.entity.user.BankUser;
+import com.example.bankcards.util.SimpleCardEncryptConverter;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the state Hibernate puts into the second-level cache for a card, using the mapping
+ * of a session factory built without a database connection.
+ */
+class CardCacheEncryptionTest {
+
+    private static final String CARD_NUMBER = "4000-1234-5678-9010";
+
+    private static StandardServiceRegistry registry;
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void setUp() {
+        registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect")
+                .applySetting("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .applySetting("hibernate.cache.use_second_level_cache", "false")
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(Card.class)
+                .addAnnotatedClass(BankUser.class)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    @Test
+    void testCachedState_HoldsEncryptedCardNumber() {
+        // Arrange
+        EntityPersister persister = sessionFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel().getEntityDescriptor(Card.class);
+        Type cardNumberType = persister.getPropertyTypes()[persister.getPropertyIndex("cardNumber")];
+
+        // Act
+        Serializable cached = cardNumberType.disassemble(CARD_NUMBER, null, null);
+
+        // Assert
+        assertEquals(new SimpleCardEncryptConverter().convertToDatabaseColumn(CARD_NUMBER), cached);
+        assertNotEquals(CARD_NUMBER, cached);
+        assertEquals(CARD_NUMBER, cardNumberType.assemble(cached, null, null));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.util.RequestTiming;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingFilterTest {
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static ServerTimingFilter filter(double sampleRate) {
+        ServerTimingProperties properties = new ServerTimingProperties();
+        properties.setSampleRate(sampleRate);
+        return new ServerTimingFilter(properties);
+    }
+
+    private static MockHttpServletRequest requestWithTimingHeader() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/card");
+        request.addHeader(ServerTimingFilter.REQUEST_HEADER, "1");
+        return request;
+    }
+
+    private static void authenticate(String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "testuser", null, List.of(new SimpleGrantedAuthority(role))));
+    }
+
+    @Test
+    void testDoFilter_AddsHeaderForAdminWhenResponseCommits() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter(0).doFilter(requestWithTimingHeader(), response, (req, res) -> {
+            authenticate("ROLE_ADMIN");
+            RequestTiming.record(RequestTiming.Phase.JWT, 2_000_000);
+            RequestTiming.begin(RequestTiming.Phase.DB);
+            RequestTiming.end(RequestTiming.Phase.DB);
+            res.getWriter().write("[]");
+            res.flushBuffer();
+            // headers set after the commit are lost, so the breakdown must already be there
+            assertNotNull(((MockHttpServletResponse) response).getHeader(ServerTimingFilter.RESPONSE_HEADER));
+        });
+
+        // Assert
+        String header = response.getHeader(ServerTimingFilter.RESPONSE_HEADER);
+        assertTrue(header.startsWith("jwt;dur=2.000, db;dur="), header);
+        assertTrue(header.contains("total;dur="), header);
+        assertNull(RequestTiming.current());
+    }
+
+    @Test
+    void testDoFilter_AddsHeaderToResponseWithoutBody() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(0).doFilter(requestWithTimingHeader(), response, (req, res) -> authenticate("ROLE_ADMIN"));
+
+        assertTrue(response.getHeader(ServerTimingFilter.RESPONSE_HEADER).startsWith("total;dur="));
+    }
+
+    @Test
+    void testDoFilter_NoHeaderForUser() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(1).doFilter(requestWithTimingHeader(), response, (req, res) -> {
+            authenticate("ROLE_USER");
+            assertNotNull(RequestTiming.current());
+            res.getWriter().write("[]");
+            res.flushBuffer();
+        });
+
+        assertNull(response.getHeader(ServerTimingFilter.RESPONSE_HEADER));
+    }
+
+    @Test
+    void testDoFilter_DoesNotTimeRequestsThatAreNotSampled() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(0).doFilter(new MockHttpServletRequest("GET", "/api/card"), response, (req, res) -> {
+            authenticate("ROLE_ADMIN");
+            assertNull(RequestTiming.current());
+        });
+
+        assertNull(response.getHeader(ServerTimingFilter.RESPONSE_HEADER));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.bankcards.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    private TokenBucketRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new TokenBucketRateLimiter(3, Duration.ofSeconds(3), 1024, clock::get);
+    }
+
+    @Test
+    void testTryAcquire_AllowsBurstThenRejects() {
+        assertEquals(0, limiter.tryAcquire("testuser"));
+        assertEquals(0, limiter.tryAcquire("testuser"));
+        assertEquals(0, limiter.tryAcquire("testuser"));
+
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.tryAcquire("testuser"));
+        assertEquals(0, limiter.tryAcquire("otheruser"));
+    }
+
+    @Test
+    void testTryAcquire_RefillsOverTime() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("testuser");
+        }
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(600), limiter.tryAcquire("testuser"));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+        assertEquals(0, limiter.tryAcquire("testuser"));
+        assertTrue(limiter.tryAcquire("testuser") > 0);
+    }
+
+    @Test
+    void testTryAcquire_IdleBucketsDoNotAccumulateTokens() {
+        clock.addAndGet(TimeUnit.HOURS.toNanos(1));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("testuser"));
+        }
+        assertTrue(limiter.tryAcquire("testuser") > 0);
+    }
+
+    @Test
+    void testTryAcquire_TableFullOfClientsKeepsLimiting() {
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("user" + i);
+        }
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("testuser");
+        }
+
+        assertTrue(limiter.tryAcquire("testuser") > 0);
+    }
+}
@@ -2,21 +2,32 @@ package com.example.bankcards.service;
 
 import com.example.bankcards.dto.CardCreationRequest;
 import com.example.bankcards.dto.CardDTO;
+import com.example.bankcards.dto.CountStrategy;
+import com.example.bankcards.dto.CountedPage;
+import com.example.bankcards.dto.CursorPage;
 import com.example.bankcards.entity.card.Card;
 import com.example.bankcards.entity.card.CardStatus;
 import com.example.bankcards.entity.user.BankUser;
 import com.example.bankcards.entity.user.Role;
+import com.example.bankcards.event.CardChangedEvent;
+import com.example.bankcards.event.CardCreatedEvent;
+import com.example.bankcards.exception.exceptions.CardCreationException;
 import com.example.bankcards.exception.exceptions.CardDoesNotExistException;
+import com.example.bankcards.exception.exceptions.InvalidCursorException;
 import com.example.bankcards.repository.CardRepo;
 import com.example.bankcards.util.CardUtil;
+import com.example.bankcards.util.CursorCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
@@ -39,7 +50,20 @@ class AdminCardServiceTest {
     @Mock
     private BankUserService bankUserService;
 
+    @Mock
+    private CardCountService cardCountService;
+
+    @Mock
+    private CardNumberGenerator cardNumberGenerator;
+
+    @Mock
+    private BinRegistry binRegistry;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private CardCreationRequest request;
+    private BinRegistry.BinRule rule;
     private Card card;
     private BankUser user;
 
@@ -50,6 +74,8 @@ class AdminCardServiceTest {
                 1L,
                 BigDecimal.valueOf(1000));
 
+        rule = new BinRegistry.BinRule("4000", "Classic", 5, BigDecimal.valueOf(5000), 50_000_000L);
+
         user = new BankUser();
         user.setId(1L);
         user.setUsername("testuser");
@@ -69,6 +95,7 @@ class AdminCardServiceTest {
     @Test
     void testCreateCard_Success() {
         // Arrange
+        when(binRegistry.find(request.getCardNumber())).thenReturn(rule);
         when(bankUserService.getById(request.getUserId())).thenReturn(Optional.of(user));
         when(cardRepo.existsByCardNumber(request.getCardNumber())).thenReturn(false);
         when(cardRepo.save(any(Card.class))).thenReturn(card);
@@ -84,14 +111,69 @@ class AdminCardServiceTest {
         assertEquals(card.getOwnerName(), result.getOwnerName());
         assertEquals(card.getStatus(), result.getStatus());
         assertEquals(card.getExpirationDate(), result.getExpirationDate());
+        verify(eventPublisher, times(1)).publishEvent(any(CardCreatedEvent.class));
+    }
+
+    @Test
+    void testCreateCard_GeneratesNumberWhenMissing() {
+        // Arrange
+        CardCreationRequest withoutNumber = new CardCreationRequest(null, 1L, BigDecimal.valueOf(1000));
+        when(binRegistry.getDefaultRule()).thenReturn(rule);
+        when(bankUserService.getById(withoutNumber.getUserId())).thenReturn(Optional.of(user));
+        when(cardNumberGenerator.nextCardNumber("4000")).thenReturn("4000-5000-0000-0009");
+        when(cardRepo.save(any(Card.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        user.setRole(Role.USER);
+
+        // Act
+        CardDTO result = adminCardService.createCard(withoutNumber);
+
+        // Assert
+        assertEquals(CardUtil.maskCardNumber("4000-5000-0000-0009"), result.getCardNumber());
+        verify(cardRepo, never()).existsByCardNumber(anyString());
+    }
+
+    @Test
+    void testCreateCard_UnknownBin() {
+        // Arrange
+        CardCreationRequest unknownBin = new CardCreationRequest("5100-0000-0000-0000", 1L, BigDecimal.TEN);
+        when(binRegistry.find(unknownBin.getCardNumber())).thenReturn(null);
+
+        // Act & Assert
+        assertThrows(CardCreationException.class, () -> adminCardService.createCard(unknownBin));
+        verify(cardRepo, never()).save(any(Card.class));
+    }
+
+    @Test
+    void testCreateCard_NumberInGeneratedRange() {
+        // Arrange
+        CardCreationRequest generatedRange = new CardCreationRequest("4000-5000-0000-0001", 1L, BigDecimal.TEN);
+        when(binRegistry.find(generatedRange.getCardNumber())).thenReturn(rule);
+
+        // Act & Assert
+        CardCreationException exception = assertThrows(CardCreationException.class,
+                () -> adminCardService.createCard(generatedRange));
+        assertEquals("Card number is in the range reserved for generated numbers", exception.getMessage());
+        verify(cardRepo, never()).existsByCardNumber(anyString());
+        verify(cardRepo, never()).save(any(Card.class));
+    }
+
+    @Test
+    void testCreateCard_BalanceAboveBinLimit() {
+        // Arrange
+        CardCreationRequest overLimit = new CardCreationRequest(null, 1L, BigDecimal.valueOf(10000), "4000");
+        when(binRegistry.findByBin("4000")).thenReturn(Optional.of(rule));
+
+        // Act & Assert
+        assertThrows(CardCreationException.class, () -> adminCardService.createCard(overLimit));
+        verify(cardNumberGenerator, never()).nextCardNumber(anyString());
     }
 
     @Test
     void testGetAllCards() {
         // Arrange
         Pageable pageable = mock(Pageable.class);
-        Page<Card> page = new PageImpl<>(List.of(card));
-        when(cardRepo.findAll(pageable)).thenReturn(page);
+        Page<CardDTO> page = new PageImpl<>(List.of(CardDTO.fromEntity(card)));
+        when(cardRepo.findAllCardDTOs(pageable)).thenReturn(page);
 
         // Act
         Page<CardDTO> result = adminCardService.getAllCards(pageable);
@@ -102,6 +184,48 @@ class AdminCardServiceTest {
         assertEquals(CardUtil.maskCardNumber(card.getCardNumber()), result.getContent().get(0).getCardNumber());
     }
 
+    @Test
+    void testGetAllCards_EstimatedCount() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 1);
+        when(cardRepo.findCardDTOs(pageable)).thenReturn(List.of(CardDTO.fromEntity(card)));
+        when(cardCountService.countAllCards(false))
+                .thenReturn(new CardCountService.Count(1000, CountStrategy.ESTIMATED));
+
+        // Act
+        CountedPage<CardDTO> result = adminCardService.getAllCards(pageable, false);
+
+        // Assert
+        assertEquals(CountStrategy.ESTIMATED, result.getCountStrategy());
+        assertEquals(1000, result.getPage().getTotalElements());
+        verify(cardRepo, never()).count();
+    }
+
+    @Test
+    void testGetAllCardsAfter_HasNextSlice() {
+        // Arrange
+        List<CardDTO> rows = List.of(
+                new CardDTO(1L, "4000-0000-0000-0001", "John Doe", LocalDate.now(), CardStatus.ACTIVE, BigDecimal.ONE),
+                new CardDTO(2L, "4000-0000-0000-0002", "John Doe", LocalDate.now(), CardStatus.ACTIVE, BigDecimal.ONE),
+                new CardDTO(3L, "4000-0000-0000-0003", "John Doe", LocalDate.now(), CardStatus.ACTIVE, BigDecimal.ONE));
+        when(cardRepo.findCardDTOsAfter(eq(0L), any(Limit.class))).thenReturn(rows);
+
+        // Act
+        CursorPage<CardDTO> result = adminCardService.getAllCardsAfter(null, 2);
+
+        // Assert
+        assertEquals(2, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertEquals(2L, CursorCodec.decode(result.getNextCursor()));
+        assertEquals("**** **** **** 0002", result.getContent().get(1).getCardNumber());
+    }
+
+    @Test
+    void testGetAllCardsAfter_InvalidCursor() {
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> adminCardService.getAllCardsAfter("not a cursor", 2));
+    }
+
     @Test
     void testGetCardById_CardDoesNotExist() {
         // Arrange
@@ -131,7 +255,7 @@ class AdminCardServiceTest {
     @Test
     void testBlockCard_Success() {
         // Arrange
-        when(cardRepo.findById(1L)).thenReturn(Optional.of(card));
+        when(cardRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(card));
         when(cardRepo.save(card)).thenReturn(card);
 
         // Act
@@ -140,13 +264,14 @@ class AdminCardServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(CardStatus.BLOCKED, result.getStatus());
+        verify(eventPublisher, times(1)).publishEvent(any(CardChangedEvent.class));
     }
 
     @Test
     void testUnblockCard_Success() {
         // Arrange
         card.setStatus(CardStatus.BLOCKED);
-        when(cardRepo.findById(1L)).thenReturn(Optional.of(card));
+        when(cardRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(card));
         when(cardRepo.save(card)).thenReturn(card);
 
         // Act
@@ -155,6 +280,7 @@ class AdminCardServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(CardStatus.ACTIVE, result.getStatus());
+        verify(eventPublisher, times(1)).publishEvent(any(CardChangedEvent.class));
     }
 
     @Test
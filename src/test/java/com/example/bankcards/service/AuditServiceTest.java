@@ -0,0 +1,118 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.event.AuditAction;
+import com.example.bankcards.event.AuditEvent;
+import com.example.bankcards.repository.AuditLogRepo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditServiceTest {
+
+    @Mock
+    private AuditLogRepo auditLogRepo;
+
+    private AuditService auditService(int bufferSize, int batchSize, AuditService.OverflowPolicy policy) {
+        return new AuditService(auditLogRepo, bufferSize, batchSize, Duration.ofMillis(200),
+                policy, Duration.ofMillis(5));
+    }
+
+    private static AuditEvent event(long cardId) {
+        return new AuditEvent(Instant.now(), "admin", AuditAction.CARD_BLOCKED, cardId, 1L, null);
+    }
+
+    @Test
+    void testFlush_WritesBufferedEventsInBatches() throws SQLException {
+        // Arrange
+        AuditService auditService = auditService(16, 2, AuditService.OverflowPolicy.DROP);
+        auditService.onAuditEvent(event(1));
+        auditService.onAuditEvent(event(2));
+        auditService.onAuditEvent(event(3));
+
+        // Act
+        int first = auditService.flush();
+        int second = auditService.flush();
+
+        // Assert
+        assertEquals(2, first);
+        assertEquals(1, second);
+        assertEquals(0, auditService.flush());
+        assertEquals(3, auditService.getWrittenEvents());
+        assertEquals(0, auditService.getPendingEvents());
+        verify(auditLogRepo, times(2)).insertBatch(anyList());
+    }
+
+    @Test
+    void testRecord_DropsEventsWhenBufferIsFull() {
+        AuditService auditService = auditService(2, 10, AuditService.OverflowPolicy.DROP);
+
+        assertTrue(auditService.record(event(1)));
+        assertTrue(auditService.record(event(2)));
+        assertFalse(auditService.record(event(3)));
+
+        assertEquals(1, auditService.getDroppedEvents());
+        assertEquals(2, auditService.getPendingEvents());
+    }
+
+    @Test
+    void testRecord_BlockPolicyDropsAfterTimeout() {
+        AuditService auditService = auditService(1, 10, AuditService.OverflowPolicy.BLOCK);
+        auditService.record(event(1));
+
+        assertFalse(auditService.record(event(2)));
+        assertEquals(1, auditService.getDroppedEvents());
+    }
+
+    @Test
+    void testFlush_CountsFailedBatches() throws SQLException {
+        // Arrange
+        AuditService auditService = auditService(16, 10, AuditService.OverflowPolicy.DROP);
+        auditService.record(event(1));
+        doThrow(new SQLException("connection refused")).when(auditLogRepo).insertBatch(anyList());
+
+        // Act
+        int taken = auditService.flush();
+
+        // Assert
+        assertEquals(1, taken);
+        assertEquals(1, auditService.getFailedEvents());
+        assertEquals(0, auditService.getWrittenEvents());
+    }
+
+    @Test
+    void testFlush_KeepsOrderAcrossRingBufferWrapAround() throws SQLException {
+        // Arrange
+        AuditService auditService = auditService(4, 3, AuditService.OverflowPolicy.DROP);
+        List<Long> written = new ArrayList<>();
+        doAnswer(invocation -> {
+            invocation.<List<AuditEvent>>getArgument(0).forEach(event -> written.add(event.cardId()));
+            return null;
+        }).when(auditLogRepo).insertBatch(anyList());
+
+        // Act
+        for (long id = 1; id <= 10; id++) {
+            assertTrue(auditService.record(event(id)));
+            if (id % 3 == 0) {
+                auditService.flush();
+            }
+        }
+        auditService.flush();
+
+        // Assert
+        assertEquals(LongStream.rangeClosed(1, 10).boxed().toList(), written);
+        assertEquals(10, auditService.getWrittenEvents());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.card.CardBin;
+import com.example.bankcards.repository.CardBinRepo;
+import com.example.bankcards.util.CardNumbers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BinRegistryTest {
+
+    @Mock
+    private CardBinRepo cardBinRepo;
+
+    private BinRegistry binRegistry;
+
+    @BeforeEach
+    void setUp() {
+        binRegistry = new BinRegistry(cardBinRepo, "4000");
+    }
+
+    private static CardBin bin(String prefix, String productName, int expiryYears) {
+        CardBin bin = new CardBin();
+        bin.setBin(prefix);
+        bin.setProductName(productName);
+        bin.setExpiryYears(expiryYears);
+        bin.setMaxInitialBalance(BigDecimal.valueOf(1000));
+        bin.setFirstAccountBlock(5 * (long) Math.pow(10, 11 - prefix.length()));
+        bin.setActive(true);
+        return bin;
+    }
+
+    @Test
+    void testFind_LongestPrefixWins() {
+        // Arrange
+        when(cardBinRepo.findAllByActiveTrue()).thenReturn(List.of(
+                bin("4000", "Classic", 5),
+                bin("400012", "Gold", 3)));
+
+        // Act & Assert
+        assertEquals("Classic", binRegistry.find("4000-1111-2222-3333").productName());
+        assertEquals("Gold", binRegistry.find("4000-1234-5678-9012").productName());
+        assertEquals("Gold", binRegistry.find("4000123456789012").productName());
+        assertNull(binRegistry.find("5100-0000-0000-0000"));
+        verify(cardBinRepo, times(1)).findAllByActiveTrue();
+    }
+
+    @Test
+    void testReload_ReplacesRulesAndSkipsInvalidBins() {
+        // Arrange
+        when(cardBinRepo.findAllByActiveTrue())
+                .thenReturn(List.of(bin("4000", "Classic", 5)))
+                .thenReturn(List.of(bin("5100", "Business", 4), bin("51x0", "Broken", 4)));
+        assertEquals("4000", binRegistry.getDefaultRule().bin());
+
+        // Act
+        int loaded = binRegistry.reload();
+
+        // Assert
+        assertEquals(1, loaded);
+        assertTrue(binRegistry.findByBin("4000").isEmpty());
+        assertEquals(4, binRegistry.find("5100-0000-0000-0000").expiryYears());
+        assertThrows(IllegalStateException.class, () -> binRegistry.getDefaultRule());
+    }
+
+    @Test
+    void testBinRule_AllowsInitialBalance() {
+        BinRegistry.BinRule limited = new BinRegistry.BinRule("4000", "Classic", 5, BigDecimal.valueOf(1000), 50_000_000L);
+        BinRegistry.BinRule unlimited = new BinRegistry.BinRule("4000", "Classic", 5, null, 50_000_000L);
+
+        assertTrue(limited.allowsInitialBalance(BigDecimal.valueOf(1000)));
+        assertFalse(limited.allowsInitialBalance(BigDecimal.valueOf(1000.01)));
+        assertTrue(unlimited.allowsInitialBalance(BigDecimal.valueOf(1_000_000)));
+    }
+
+    @Test
+    void testBinRule_AllowsSuppliedNumberBelowGeneratedRange() {
+        BinRegistry.BinRule classic = new BinRegistry.BinRule("4000", "Classic", 5, null, 50_000_000L);
+        BinRegistry.BinRule business = new BinRegistry.BinRule("510012", "Business", 4, null, 500_000L);
+
+        assertTrue(classic.allowsSuppliedNumber(CardNumbers.parse("4000-4999-9999-9999")));
+        assertFalse(classic.allowsSuppliedNumber(CardNumbers.parse("4000-5000-0000-0001")));
+        assertFalse(classic.allowsSuppliedNumber(CardNumbers.parse("4000-9999-9999-9999")));
+        assertTrue(business.allowsSuppliedNumber(CardNumbers.parse("5100-1249-9999-9999")));
+        assertFalse(business.allowsSuppliedNumber(CardNumbers.parse("5100-1250-0000-0000")));
+    }
+
+    @Test
+    void testReload_ExposesFirstAccountBlock() {
+        // Arrange
+        when(cardBinRepo.findAllByActiveTrue()).thenReturn(List.of(bin("4000", "Classic", 5), bin("510012", "Business", 4)));
+
+        // Act & Assert
+        assertEquals(50_000_000L, binRegistry.findByBin("4000").orElseThrow().firstAccountBlock());
+        assertEquals(500_000L, binRegistry.findByBin("510012").orElseThrow().firstAccountBlock());
+    }
+}
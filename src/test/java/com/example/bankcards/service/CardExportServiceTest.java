@@ -0,0 +1,102 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.CardDTO;
+import com.example.bankcards.dto.ExportFormat;
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.repository.CardRepo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardExportServiceTest {
+
+    @Mock
+    private CardRepo cardRepo;
+
+    private CardExportService cardExportService;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        cardExportService = new CardExportService(cardRepo, objectMapper);
+    }
+
+    private static CardDTO card(long id, String ownerName) {
+        return new CardDTO(id, "4000-1111-2222-333" + id, ownerName, LocalDate.of(2030, 1, 31),
+                CardStatus.ACTIVE, new BigDecimal("1500.50"));
+    }
+
+    @Test
+    void testExportCards_CsvQuotesAndEscapesOwnerName() throws Exception {
+        // Arrange
+        when(cardRepo.streamAllCardDTOs()).thenReturn(Stream.of(
+                card(1, "John Doe"),
+                card(2, "Jane \"JJ\" Smith, Jr.")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = cardExportService.exportCards(ExportFormat.CSV, out);
+
+        // Assert
+        assertEquals(2, count);
+        assertEquals("""
+                id,cardNumber,ownerName,expirationDate,status,balance
+                1,**** **** **** 3331,"John Doe",2030-01-31,ACTIVE,1500.50
+                2,**** **** **** 3332,"Jane ""JJ"" Smith, Jr.",2030-01-31,ACTIVE,1500.50
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExportCards_NdjsonWritesOneLinePerCard() throws Exception {
+        // Arrange
+        when(cardRepo.streamAllCardDTOs()).thenReturn(Stream.of(card(1, "John Doe"), card(2, "Jane Smith")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = cardExportService.exportCards(ExportFormat.NDJSON, out);
+
+        // Assert
+        assertEquals(2, count);
+        String ndjson = out.toString(StandardCharsets.UTF_8);
+        assertTrue(ndjson.endsWith("}\n"));
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("**** **** **** 3331", objectMapper.readTree(lines[0]).get("cardNumber").asText());
+        assertEquals("2030-01-31", objectMapper.readTree(lines[0]).get("expirationDate").asText());
+        assertEquals("Jane Smith", objectMapper.readTree(lines[1]).get("ownerName").asText());
+    }
+
+    @Test
+    void testExportCards_EmptyExport() throws Exception {
+        // Arrange
+        when(cardRepo.streamAllCardDTOs()).thenReturn(Stream.empty(), Stream.empty());
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+
+        // Act
+        long ndjsonCount = cardExportService.exportCards(ExportFormat.NDJSON, ndjson);
+        long csvCount = cardExportService.exportCards(ExportFormat.CSV, csv);
+
+        // Assert
+        assertEquals(0, ndjsonCount);
+        assertEquals(0, ndjson.size());
+        assertEquals(0, csvCount);
+        assertEquals("id,cardNumber,ownerName,expirationDate,status,balance\n", csv.toString(StandardCharsets.UTF_8));
+    }
+}
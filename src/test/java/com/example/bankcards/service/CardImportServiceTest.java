@@ -0,0 +1,204 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.CardImportReport;
+import com.example.bankcards.entity.card.Card;
+import com.example.bankcards.entity.user.BankUser;
+import com.example.bankcards.entity.user.Role;
+import com.example.bankcards.repository.CardCopyRepo;
+import com.example.bankcards.repository.CardRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardImportServiceTest {
+
+    @InjectMocks
+    private CardImportService cardImportService;
+
+    @Mock
+    private CardRepo cardRepo;
+
+    @Mock
+    private CardCopyRepo cardCopyRepo;
+
+    @Mock
+    private BankUserService bankUserService;
+
+    @Mock
+    private CardNumberGenerator cardNumberGenerator;
+
+    @Mock
+    private BinRegistry binRegistry;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private BankUser user;
+    private BinRegistry.BinRule rule;
+
+    @BeforeEach
+    void setUp() {
+        user = new BankUser();
+        user.setId(2L);
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setRole(Role.USER);
+        rule = new BinRegistry.BinRule("4000", "Classic", 5, null, 50_000_000L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runCallbacksInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> ((TransactionCallback<Long>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    void testImportCards_ValidAndInvalidRows() throws Exception {
+        // Arrange
+        runCallbacksInline();
+        String csv = """
+                cardNumber,userId,balance
+                4000-1111-2222-3333,2,100.00
+                4000-1111-2222-3334,2,
+                not-a-card,2,1
+                4000-1111-2222-3333,2,5
+                4000-1111-2222-3335,x,5
+                """;
+        when(binRegistry.find(anyString())).thenReturn(rule);
+        when(cardRepo.findExistingCardNumbers(anyCollection())).thenReturn(List.of());
+        when(bankUserService.getAllByIds(anyCollection())).thenReturn(List.of(user));
+        when(cardCopyRepo.copyCards(anyList())).thenAnswer(invocation -> (long) ((List<?>) invocation.getArgument(0)).size());
+
+        // Act
+        CardImportReport report = cardImportService.importCards(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(5, report.getTotalRows());
+        assertEquals(2, report.getImportedRows());
+        assertEquals(3, report.getFailedRows());
+        assertEquals(List.of(4L, 5L, 6L), report.getErrors().stream().map(CardImportReport.RowError::line).sorted().toList());
+
+        ArgumentCaptor<List<Card>> captor = ArgumentCaptor.forClass(List.class);
+        verify(cardCopyRepo).copyCards(captor.capture());
+        Card card = captor.getValue().get(0);
+        assertEquals("John Doe", card.getOwnerName());
+        assertEquals(BigDecimal.ZERO, captor.getValue().get(1).getBalance());
+    }
+
+    @Test
+    void testImportCards_AcceptsNumbersWithoutDashes() throws Exception {
+        // Arrange
+        runCallbacksInline();
+        String csv = """
+                4000111122223333,2,100.00
+                4000-1111-2222-3333,2,5
+                40001111222233,2,5
+                """;
+        when(binRegistry.find(anyString())).thenReturn(rule);
+        when(cardRepo.findExistingCardNumbers(anyCollection())).thenReturn(List.of());
+        when(bankUserService.getAllByIds(anyCollection())).thenReturn(List.of(user));
+        when(cardCopyRepo.copyCards(anyList())).thenAnswer(invocation -> (long) ((List<?>) invocation.getArgument(0)).size());
+
+        // Act
+        CardImportReport report = cardImportService.importCards(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(1, report.getImportedRows());
+        assertEquals(List.of(2L, 3L), report.getErrors().stream().map(CardImportReport.RowError::line).sorted().toList());
+        verify(binRegistry, times(2)).find("4000-1111-2222-3333");
+        ArgumentCaptor<List<Card>> captor = ArgumentCaptor.forClass(List.class);
+        verify(cardCopyRepo).copyCards(captor.capture());
+        assertEquals("4000-1111-2222-3333", captor.getValue().get(0).getCardNumber());
+    }
+
+    @Test
+    void testImportCards_RejectsNumbersInGeneratedRange() throws Exception {
+        // Arrange
+        runCallbacksInline();
+        String csv = """
+                4000-5000-0000-0001,2,100.00
+                4000-4999-9999-9999,2,100.00
+                """;
+        when(binRegistry.find(anyString())).thenReturn(rule);
+        when(cardRepo.findExistingCardNumbers(anyCollection())).thenReturn(List.of());
+        when(bankUserService.getAllByIds(anyCollection())).thenReturn(List.of(user));
+        when(cardCopyRepo.copyCards(anyList())).thenAnswer(invocation -> (long) ((List<?>) invocation.getArgument(0)).size());
+
+        // Act
+        CardImportReport report = cardImportService.importCards(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(1, report.getImportedRows());
+        assertEquals(List.of(new CardImportReport.RowError(1, "Card number is in the range reserved for generated numbers")),
+                report.getErrors());
+        verify(cardRepo).findExistingCardNumbers(List.of("4000-4999-9999-9999"));
+    }
+
+    @Test
+    void testImportCards_ExistingNumberAndAdminOwner() throws Exception {
+        // Arrange
+        runCallbacksInline();
+        BankUser admin = new BankUser();
+        admin.setId(1L);
+        admin.setRole(Role.ADMIN);
+        String csv = """
+                4000-1111-2222-3333,2,100.00
+                4000-1111-2222-3334,1,100.00
+                4000-1111-2222-3335,9,100.00
+                """;
+        when(binRegistry.find(anyString())).thenReturn(rule);
+        when(cardRepo.findExistingCardNumbers(anyCollection())).thenReturn(List.of("4000-1111-2222-3333"));
+        when(bankUserService.getAllByIds(anyCollection())).thenReturn(List.of(user, admin));
+
+        // Act
+        CardImportReport report = cardImportService.importCards(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(0, report.getImportedRows());
+        assertEquals(3, report.getFailedRows());
+        verify(cardCopyRepo, never()).copyCards(anyList());
+    }
+
+    @Test
+    void testImportCards_GeneratesMissingNumbers() throws Exception {
+        // Arrange
+        runCallbacksInline();
+        String csv = """
+                ,2,100.00
+                ,2,50.00
+                """;
+        when(binRegistry.getDefaultRule()).thenReturn(rule);
+        when(bankUserService.getAllByIds(anyCollection())).thenReturn(List.of(user));
+        when(cardNumberGenerator.nextCardNumber("4000")).thenReturn("4000-5000-0000-0009", "4000-5000-0000-0017");
+        when(cardCopyRepo.copyCards(anyList())).thenAnswer(invocation -> (long) ((List<?>) invocation.getArgument(0)).size());
+
+        // Act
+        CardImportReport report = cardImportService.importCards(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(2, report.getImportedRows());
+        assertEquals(0, report.getFailedRows());
+        verify(cardRepo, never()).findExistingCardNumbers(anyCollection());
+        verify(cardNumberGenerator, times(2)).nextCardNumber("4000");
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.repository.CardBinRepo;
+import com.example.bankcards.util.CardNumbers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardNumberGeneratorTest {
+
+    @Mock
+    private CardBinRepo cardBinRepo;
+
+    private CardNumberGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        generator = new CardNumberGenerator(cardBinRepo);
+    }
+
+    @Test
+    void testNextCardNumber_HandsOutReservedBlockInOrder() {
+        // Arrange
+        when(cardBinRepo.reserveAccountBlock("4000")).thenReturn(50_000_000L);
+
+        // Act
+        String first = generator.nextCardNumber("4000");
+        String second = generator.nextCardNumber("4000");
+
+        // Assert
+        assertEquals("4000-5000-0000-0001", first);
+        assertEquals("4000-5000-0000-0019", second);
+        verify(cardBinRepo, times(1)).reserveAccountBlock("4000");
+    }
+
+    @Test
+    void testNextCardNumber_ReservesNextBlockWhenExhausted() {
+        // Arrange
+        when(cardBinRepo.reserveAccountBlock("4000")).thenReturn(50_000_000L, 50_000_007L);
+        Set<String> numbers = new HashSet<>();
+
+        // Act
+        String last = null;
+        for (long i = 0; i < CardNumberGenerator.BLOCK_SIZE; i++) {
+            last = generator.nextCardNumber("4000");
+            numbers.add(last);
+        }
+        String rolledOver = generator.nextCardNumber("4000");
+
+        // Assert
+        assertEquals(CardNumberGenerator.BLOCK_SIZE, numbers.size());
+        assertEquals("4000-5000-0000-999", last.substring(0, 18));
+        assertEquals("4000-5000-0007-000", rolledOver.substring(0, 18));
+        verify(cardBinRepo, times(2)).reserveAccountBlock("4000");
+    }
+
+    @Test
+    void testNextCardNumber_KeepsSeparateRangesPerBin() {
+        // Arrange
+        when(cardBinRepo.reserveAccountBlock("4000")).thenReturn(50_000_000L);
+        when(cardBinRepo.reserveAccountBlock("510012")).thenReturn(500_000L);
+
+        // Act
+        String classic = generator.nextCardNumber("4000");
+        String business = generator.nextCardNumber("510012");
+
+        // Assert
+        assertTrue(classic.startsWith("4000-"));
+        assertTrue(business.startsWith("5100-12"));
+        assertEquals("5100-1250-0000-000", business.substring(0, 18));
+    }
+
+    @Test
+    void testNextCardNumber_UnknownBin() {
+        // Arrange
+        when(cardBinRepo.reserveAccountBlock("9999")).thenReturn(null);
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> generator.nextCardNumber("9999"));
+        assertEquals("Unknown card BIN 9999", exception.getMessage());
+    }
+
+    @Test
+    void testNextCardNumber_RangeExhausted() {
+        // Arrange: an 8-digit BIN leaves 7 account digits, i.e. blocks 0 to 9999
+        when(cardBinRepo.reserveAccountBlock("40001234")).thenReturn(9_999L, 10_000L);
+        for (long i = 0; i < CardNumberGenerator.BLOCK_SIZE; i++) {
+            generator.nextCardNumber("40001234");
+        }
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> generator.nextCardNumber("40001234"));
+        assertEquals("Card account number range of BIN 40001234 is exhausted", exception.getMessage());
+    }
+
+    @Test
+    void testNextCardNumber_GeneratesLuhnValidNumbers() {
+        // Arrange
+        when(cardBinRepo.reserveAccountBlock("4000")).thenReturn(50_000_123L);
+
+        // Act & Assert
+        for (int i = 0; i < 100; i++) {
+            String cardNumber = generator.nextCardNumber("4000");
+            long digits = CardNumbers.parseFormatted(cardNumber);
+            assertNotEquals(CardNumbers.INVALID, digits, cardNumber);
+            assertTrue(CardNumbers.isLuhnValid(digits), cardNumber);
+        }
+    }
+
+    @Test
+    void testNextCardNumber_ReservationSurvivesCallerRollback() {
+        // Arrange
+        RecordingTransactionManager transactionManager = new RecordingTransactionManager();
+        ProxyFactory proxyFactory = new ProxyFactory(cardBinRepo);
+        proxyFactory.addInterface(CardBinRepo.class);
+        TransactionInterceptor transactionInterceptor = new TransactionInterceptor();
+        transactionInterceptor.setTransactionManager(transactionManager);
+        transactionInterceptor.setTransactionAttributeSource(new AnnotationTransactionAttributeSource());
+        proxyFactory.addAdvice(transactionInterceptor);
+        generator = new CardNumberGenerator((CardBinRepo) proxyFactory.getProxy());
+        when(cardBinRepo.reserveAccountBlock("4000")).thenReturn(50_000_000L);
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            generator.nextCardNumber("4000");
+            status.setRollbackOnly();
+        });
+        String afterRollback = generator.nextCardNumber("4000");
+
+        // Assert
+        assertEquals(List.of("begin 1", "begin 2", "commit 2", "rollback 1"), transactionManager.events);
+        assertEquals("4000-5000-0000-0019", afterRollback);
+        verify(cardBinRepo, times(1)).reserveAccountBlock("4000");
+    }
+
+    /**
+     * A transaction manager without resources that records when transactions begin and complete.
+     * Each transaction is numbered in the order it began.
+     */
+    private static final class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+
+        private final List<String> events = new ArrayList<>();
+        private int began;
+        private Integer current;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Integer[]{current};
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return ((Integer[]) transaction)[0] != null;
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            current = ++began;
+            ((Integer[]) transaction)[0] = current;
+            events.add("begin " + current);
+        }
+
+        @Override
+        protected Object doSuspend(Object transaction) {
+            Integer suspended = current;
+            current = null;
+            ((Integer[]) transaction)[0] = null;
+            return suspended;
+        }
+
+        @Override
+        protected void doResume(Object transaction, Object suspendedResources) {
+            current = (Integer) suspendedResources;
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            events.add("commit " + ((Integer[]) status.getTransaction())[0]);
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            events.add("rollback " + ((Integer[]) status.getTransaction())[0]);
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            current = null;
+        }
+    }
+}
@@ -1,29 +1,40 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.CardBalanceDTO;
 import com.example.bankcards.dto.CardDTO;
 import com.example.bankcards.entity.card.Card;
 import com.example.bankcards.entity.card.CardStatus;
 import com.example.bankcards.entity.user.BankUser;
+import com.example.bankcards.event.AuditEvent;
+import com.example.bankcards.event.CardChangedEvent;
 import com.example.bankcards.exception.exceptions.CardDoesNotExistException;
 import com.example.bankcards.exception.exceptions.CardException;
 import com.example.bankcards.exception.exceptions.CardStatusException;
 import com.example.bankcards.exception.exceptions.InsufficientFundsException;
 import com.example.bankcards.repository.CardRepo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -46,6 +57,9 @@ class CardServiceTest {
     @Mock
     private ApplicationEventPublisher publisher;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private Card sourceCard;
     private Card targetCard;
 
@@ -73,8 +87,8 @@ class CardServiceTest {
 
     @Test
     void testTransferBetweenCards_Success() {
-        when(cardRepo.findById(1L)).thenReturn(Optional.of(sourceCard));
-        when(cardRepo.findById(2L)).thenReturn(Optional.of(targetCard));
+        when(cardRepo.findByIdAndBankUserIdForUpdate(1L, 1L)).thenReturn(Optional.of(sourceCard));
+        when(cardRepo.findByIdAndBankUserIdForUpdate(2L, 1L)).thenReturn(Optional.of(targetCard));
         when(authentication.getName()).thenReturn("testuser");
         when(bankUserService.getByUsername("testuser")).thenReturn(bankUser);
 
@@ -85,6 +99,8 @@ class CardServiceTest {
 
         verify(cardRepo, times(1)).save(sourceCard);
         verify(cardRepo, times(1)).save(targetCard);
+        verify(publisher, times(2)).publishEvent(any(CardChangedEvent.class));
+        verify(publisher, times(1)).publishEvent(any(AuditEvent.class));
     }
 
     @Test
@@ -96,42 +112,43 @@ class CardServiceTest {
 
     @Test
     void testTransferBetweenCards_SourceCardDoesNotExist() {
-        when(cardRepo.findById(1L)).thenReturn(Optional.empty());
+        when(cardRepo.findByIdAndBankUserIdForUpdate(1L, 1L)).thenReturn(Optional.empty());
         when(authentication.getName()).thenReturn("testuser");
+        when(bankUserService.getByUsername("testuser")).thenReturn(bankUser);
 
         assertThrows(CardDoesNotExistException.class, () -> cardService.transferBetweenCards(authentication, 1L, 2L, BigDecimal.ONE));
     }
 
     @Test
     void testTransferBetweenCards_TargetCardDoesNotExist() {
-        when(cardRepo.findById(1L)).thenReturn(Optional.of(sourceCard));
-        when(cardRepo.findById(2L)).thenReturn(Optional.empty());
+        when(cardRepo.findByIdAndBankUserIdForUpdate(1L, 1L)).thenReturn(Optional.of(sourceCard));
+        when(cardRepo.findByIdAndBankUserIdForUpdate(2L, 1L)).thenReturn(Optional.empty());
         when(authentication.getName()).thenReturn("testuser");
+        when(bankUserService.getByUsername("testuser")).thenReturn(bankUser);
 
         assertThrows(CardDoesNotExistException.class, () -> cardService.transferBetweenCards(authentication, 1L, 2L, BigDecimal.ONE));
     }
 
     @Test
     void testTransferBetweenCards_InvalidCardOwnership() {
-        BankUser otherUser = new BankUser();
-        otherUser.setId(2L);
-        sourceCard.setBankUser(otherUser);
-
-        when(cardRepo.findById(1L)).thenReturn(Optional.of(sourceCard));
-        when(cardRepo.findById(2L)).thenReturn(Optional.of(targetCard));
+        // Arrange: the owner-scoped lock finds no card of another user
+        when(cardRepo.findByIdAndBankUserIdForUpdate(1L, 1L)).thenReturn(Optional.empty());
         when(authentication.getName()).thenReturn("testuser");
         when(bankUserService.getByUsername("testuser")).thenReturn(bankUser);
 
         // Act & Assert
-        assertThrows(CardException.class, () -> cardService.transferBetweenCards(authentication, 1L, 2L, BigDecimal.ONE));
+        assertThrows(CardDoesNotExistException.class,
+                () -> cardService.transferBetweenCards(authentication, 1L, 2L, BigDecimal.ONE));
+        verify(cardRepo, never()).findByIdAndBankUserIdForUpdate(eq(2L), any());
+        verify(cardRepo, never()).findByIdForUpdate(any());
     }
 
     @Test
     void testTransferBetweenCards_CardIsBlocked() {
         sourceCard.setStatus(CardStatus.BLOCKED);
 
-        when(cardRepo.findById(1L)).thenReturn(Optional.of(sourceCard));
-        when(cardRepo.findById(2L)).thenReturn(Optional.of(targetCard));
+        when(cardRepo.findByIdAndBankUserIdForUpdate(1L, 1L)).thenReturn(Optional.of(sourceCard));
+        when(cardRepo.findByIdAndBankUserIdForUpdate(2L, 1L)).thenReturn(Optional.of(targetCard));
         when(authentication.getName()).thenReturn("testuser");
         when(bankUserService.getByUsername("testuser")).thenReturn(bankUser);
 
@@ -141,8 +158,8 @@ class CardServiceTest {
 
     @Test
     void testTransferBetweenCards_InsufficientFunds() {
-        when(cardRepo.findById(1L)).thenReturn(Optional.of(sourceCard));
-        when(cardRepo.findById(2L)).thenReturn(Optional.of(targetCard));
+        when(cardRepo.findByIdAndBankUserIdForUpdate(1L, 1L)).thenReturn(Optional.of(sourceCard));
+        when(cardRepo.findByIdAndBankUserIdForUpdate(2L, 1L)).thenReturn(Optional.of(targetCard));
         when(authentication.getName()).thenReturn("testuser");
         when(bankUserService.getByUsername("testuser")).thenReturn(bankUser);
 
@@ -153,23 +170,46 @@ class CardServiceTest {
     @Test
     void testRequestBlockCard_Success() {
         // Arrange
-        when(cardRepo.findById(1L)).thenReturn(Optional.of(sourceCard));
+        when(cardRepo.findByIdAndBankUserIdForUpdate(1L, 1L)).thenReturn(Optional.of(sourceCard));
         when(authentication.getName()).thenReturn(bankUser.getUsername());
         when(bankUserService.getByUsername(bankUser.getUsername())).thenReturn(bankUser);
 
+        // Simulate the version increment of the flush
+        doAnswer(invocation -> {
+            sourceCard.setVersion(4L);
+            return null;
+        }).when(cardRepo).flush();
+
         // Act
         cardService.requestBlockCard(authentication, 1L);
 
         // Assert
         assertEquals(CardStatus.BLOCKED, sourceCard.getStatus());
         verify(cardRepo, times(1)).save(sourceCard);
+        InOrder inOrder = inOrder(cardRepo, publisher);
+        inOrder.verify(cardRepo).flush();
+        inOrder.verify(publisher).publishEvent(new CardChangedEvent(1L, "testuser", sourceCard.getBalance(),
+                CardStatus.BLOCKED, 4L));
+    }
+
+    @Test
+    void testRequestBlockCard_NotOwnedCard() {
+        // Arrange
+        when(cardRepo.findByIdAndBankUserIdForUpdate(3L, 1L)).thenReturn(Optional.empty());
+        when(authentication.getName()).thenReturn(bankUser.getUsername());
+        when(bankUserService.getByUsername(bankUser.getUsername())).thenReturn(bankUser);
+
+        // Act & Assert
+        assertThrows(CardDoesNotExistException.class, () -> cardService.requestBlockCard(authentication, 3L));
+        verify(cardRepo, never()).findByIdForUpdate(any());
+        verify(cardRepo, never()).save(any(Card.class));
     }
 
     @Test
     void testRequestBlockCard_CardAlreadyBlocked() {
         // Arrange
         sourceCard.setStatus(CardStatus.BLOCKED);
-        when(cardRepo.findById(1L)).thenReturn(Optional.of(sourceCard));
+        when(cardRepo.findByIdAndBankUserIdForUpdate(1L, 1L)).thenReturn(Optional.of(sourceCard));
         when(authentication.getName()).thenReturn(bankUser.getUsername());
         when(bankUserService.getByUsername(bankUser.getUsername())).thenReturn(bankUser);
 
@@ -181,7 +221,7 @@ class CardServiceTest {
     void testRequestBlockCard_CardExpired() {
         // Arrange
         sourceCard.setStatus(CardStatus.EXPIRED);
-        when(cardRepo.findById(1L)).thenReturn(Optional.of(sourceCard));
+        when(cardRepo.findByIdAndBankUserIdForUpdate(1L, 1L)).thenReturn(Optional.of(sourceCard));
         when(authentication.getName()).thenReturn(bankUser.getUsername());
         when(bankUserService.getByUsername(bankUser.getUsername())).thenReturn(bankUser);
 
@@ -193,10 +233,9 @@ class CardServiceTest {
     void testGetAllUserCards_Success() {
         // Arrange
         Pageable pageable = mock(Pageable.class);
-        Page<Card> page = new PageImpl<>(List.of(sourceCard, targetCard));
-        when(cardRepo.findAllByBankUser(bankUser, pageable)).thenReturn(page);
+        Page<CardDTO> page = new PageImpl<>(List.of(CardDTO.fromEntity(sourceCard), CardDTO.fromEntity(targetCard)));
+        when(cardRepo.findAllCardDTOsByUsername("testuser", pageable)).thenReturn(page);
         when(authentication.getName()).thenReturn("testuser");
-        when(bankUserService.getByUsername("testuser")).thenReturn(bankUser);
 
         // Act
         Page<CardDTO> result = cardService.getAllUserCards(authentication, pageable);
@@ -235,5 +274,95 @@ class CardServiceTest {
         // Act & Assert
         assertThrows(CardException.class, () -> cardService.getCardBalanceById(authentication, 1L));
     }
-}
 
+    @Test
+    void testGetUserCardsETag_ChangesWithPageAndVersion() {
+        // Arrange
+        when(authentication.getName()).thenReturn("testuser");
+        when(cardRepo.findCardsVersionByUsername("testuser")).thenReturn("2-7-12", "2-7-12", "2-8-12");
+
+        // Act
+        String first = cardService.getUserCardsETag(authentication, PageRequest.of(0, 10));
+        String otherPage = cardService.getUserCardsETag(authentication, PageRequest.of(1, 10));
+        String changed = cardService.getUserCardsETag(authentication, PageRequest.of(0, 10));
+
+        // Assert
+        assertNotNull(first);
+        assertNotEquals(first, otherPage);
+        assertNotEquals(first, changed);
+    }
+
+    @Test
+    void testGetCardBalanceETag_NotOwnedCard() {
+        // Arrange
+        when(authentication.getName()).thenReturn("testuser");
+        when(cardRepo.findVersionByIdAndOwnerUsername(1L, "testuser")).thenReturn(Optional.empty());
+        when(cardRepo.findVersionByIdAndOwnerUsername(2L, "testuser")).thenReturn(Optional.of(3L));
+
+        // Act & Assert
+        assertNull(cardService.getCardBalanceETag(authentication, 1L));
+        assertEquals("card-2-3", cardService.getCardBalanceETag(authentication, 2L));
+    }
+
+    @Test
+    void testGetCardBalances_SingleQueryInRequestedOrder() {
+        // Arrange
+        when(authentication.getName()).thenReturn("testuser");
+        when(cardRepo.findBalancesByIdsAndOwnerUsername(Set.of(3L, 1L, 9L), "testuser")).thenReturn(List.of(
+                new CardBalanceDTO(1L, BigDecimal.TEN, CardStatus.ACTIVE),
+                new CardBalanceDTO(3L, BigDecimal.ONE, CardStatus.BLOCKED)));
+
+        // Act
+        Map<Long, CardBalanceDTO> result = cardService.getCardBalances(authentication, List.of(3L, 1L, 9L, 3L));
+
+        // Assert
+        assertEquals(List.of(3L, 1L), List.copyOf(result.keySet()));
+        assertEquals(CardStatus.BLOCKED, result.get(3L).getStatus());
+        assertEquals(BigDecimal.TEN, result.get(1L).getBalance());
+        verify(cardRepo, times(1)).findBalancesByIdsAndOwnerUsername(anyCollection(), eq("testuser"));
+    }
+
+    @Test
+    void testGetCardBalances_RejectsEmptyOrTooManyIds() {
+        List<Long> tooMany = LongStream.rangeClosed(1, CardService.MAX_BALANCE_IDS + 1).boxed().toList();
+
+        assertThrows(CardException.class, () -> cardService.getCardBalances(authentication, List.of()));
+        assertThrows(CardException.class, () -> cardService.getCardBalances(authentication, tooMany));
+        verifyNoInteractions(cardRepo);
+    }
+
+    @Test
+    void testUpdateExpiredCards_ExpiresCardsInChunksAndRecordsMetrics() {
+        // Arrange
+        List<Long> firstChunk = LongStream.rangeClosed(1, CardService.EXPIRY_CHUNK_SIZE).boxed().toList();
+        List<Long> lastChunk = List.of(CardService.EXPIRY_CHUNK_SIZE + 5L);
+        when(cardRepo.findIdsByStatusAndExpirationDateBefore(eq(CardStatus.ACTIVE), any(), eq(0L), any()))
+                .thenReturn(firstChunk);
+        when(cardRepo.findIdsByStatusAndExpirationDateBefore(
+                eq(CardStatus.ACTIVE), any(), eq((long) CardService.EXPIRY_CHUNK_SIZE), any()))
+                .thenReturn(lastChunk);
+        when(cardRepo.expireCards(anyCollection()))
+                .thenReturn(CardService.EXPIRY_CHUNK_SIZE - 1, 1);
+
+        // Act
+        cardService.updateExpiredCards();
+
+        // Assert
+        verify(cardRepo).expireCards(firstChunk);
+        verify(cardRepo).expireCards(lastChunk);
+        verify(cardRepo, never()).save(any(Card.class));
+        assertEquals(CardService.EXPIRY_CHUNK_SIZE, meterRegistry.get("cards.expiry.cards").counter().count());
+        assertEquals(1, meterRegistry.get("cards.expiry.job").timer().count());
+    }
+
+    @Test
+    void testUpdateExpiredCards_NothingToExpire() {
+        when(cardRepo.findIdsByStatusAndExpirationDateBefore(eq(CardStatus.ACTIVE), any(), eq(0L), any()))
+                .thenReturn(List.of());
+
+        cardService.updateExpiredCards();
+
+        verify(cardRepo, never()).expireCards(anyCollection());
+        assertEquals(0, meterRegistry.get("cards.expiry.cards").counter().count());
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.event.CardChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardStreamServiceTest {
+
+    @Mock
+    private Executor executor;
+
+    private CardStreamService cardStreamService;
+
+    @BeforeEach
+    void setUp() {
+        cardStreamService = new CardStreamService(executor, Duration.ofMinutes(30));
+    }
+
+    @Test
+    void testSubscribe_RegistersStream() {
+        SseEmitter emitter = cardStreamService.subscribe("testuser");
+
+        assertNotNull(emitter);
+        assertEquals(Duration.ofMinutes(30).toMillis(), emitter.getTimeout());
+        assertEquals(1, cardStreamService.getConnectionCount());
+    }
+
+    @Test
+    void testOnCardChanged_DispatchesToOwnerStreams() {
+        // Arrange
+        cardStreamService.subscribe("testuser");
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        // Act
+        cardStreamService.onCardChanged(
+                new CardChangedEvent(1L, "testuser", BigDecimal.TEN, CardStatus.ACTIVE, 1L));
+
+        // Assert
+        verify(executor, times(1)).execute(any(Runnable.class));
+        assertEquals(1, cardStreamService.getConnectionCount());
+    }
+
+    @Test
+    void testOnCardChanged_NoStreamsForOwner() {
+        cardStreamService.subscribe("otheruser");
+
+        cardStreamService.onCardChanged(
+                new CardChangedEvent(1L, "testuser", BigDecimal.TEN, CardStatus.BLOCKED, 1L));
+        cardStreamService.onCardChanged(
+                new CardChangedEvent(2L, null, BigDecimal.TEN, CardStatus.BLOCKED, 1L));
+
+        verifyNoInteractions(executor);
+    }
+
+    @Test
+    void testOnCardChanged_SerializesDeliveryPerUser() {
+        // Arrange
+        List<Runnable> tasks = new ArrayList<>();
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(executor).execute(any(Runnable.class));
+        cardStreamService.subscribe("testuser");
+        cardStreamService.subscribe("otheruser");
+
+        // Act
+        cardStreamService.onCardChanged(new CardChangedEvent(1L, "testuser", BigDecimal.TEN, CardStatus.ACTIVE, 1L));
+        cardStreamService.onCardChanged(new CardChangedEvent(1L, "testuser", BigDecimal.ONE, CardStatus.ACTIVE, 2L));
+        cardStreamService.onCardChanged(new CardChangedEvent(2L, "otheruser", BigDecimal.ONE, CardStatus.ACTIVE, 5L));
+
+        // Assert: one drain task per user while its queue is being drained
+        assertEquals(2, tasks.size());
+        tasks.forEach(Runnable::run);
+        cardStreamService.onCardChanged(new CardChangedEvent(1L, "testuser", BigDecimal.ZERO, CardStatus.ACTIVE, 3L));
+        assertEquals(3, tasks.size());
+    }
+
+    @Test
+    void testSendHeartbeats_DispatchesThroughExecutor() {
+        // Arrange
+        List<Runnable> tasks = new ArrayList<>();
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(executor).execute(any(Runnable.class));
+        cardStreamService.subscribe("testuser");
+
+        // Act
+        cardStreamService.sendHeartbeats();
+        cardStreamService.sendHeartbeats();
+
+        // Assert
+        assertEquals(1, tasks.size());
+    }
+
+    @Test
+    void testSendHeartbeats_RemovesClosedStreams() {
+        // Arrange
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+        SseEmitter closed = cardStreamService.subscribe("testuser");
+        cardStreamService.subscribe("testuser");
+        closed.complete();
+
+        // Act
+        cardStreamService.sendHeartbeats();
+
+        // Assert
+        assertEquals(1, cardStreamService.getConnectionCount());
+    }
+
+    @Test
+    void testOnCardChanged_RejectedDeliveryIsRetried() {
+        // Arrange
+        doThrow(new RejectedExecutionException("busy")).doNothing().when(executor).execute(any(Runnable.class));
+        cardStreamService.subscribe("testuser");
+
+        // Act
+        cardStreamService.onCardChanged(new CardChangedEvent(1L, "testuser", BigDecimal.TEN, CardStatus.ACTIVE, 1L));
+        cardStreamService.sendHeartbeats();
+
+        // Assert
+        verify(executor, times(2)).execute(any(Runnable.class));
+    }
+
+    @Test
+    void testStop_ShutsDownOwnDeliveryPool() {
+        // Arrange
+        CardStreamService ownPool = new CardStreamService(1, 1, Duration.ofMinutes(30));
+        ownPool.subscribe("testuser");
+
+        // Act
+        ownPool.stop();
+
+        // Assert: delivery is rejected by the stopped pool, the change is dropped quietly
+        assertDoesNotThrow(() -> ownPool.onCardChanged(
+                new CardChangedEvent(1L, "testuser", BigDecimal.TEN, CardStatus.ACTIVE, 1L)));
+        assertEquals(1, ownPool.getConnectionCount());
+    }
+}
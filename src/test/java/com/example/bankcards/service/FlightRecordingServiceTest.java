@@ -0,0 +1,77 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.exception.exceptions.RecordingStateException;
+import com.example.bankcards.util.SimpleCardEncryptConverter;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private FlightRecordingService flightRecordingService;
+
+    @BeforeEach
+    void setUp() {
+        flightRecordingService = new FlightRecordingService(Duration.ofMinutes(1), DataSize.ofMegabytes(10), directory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightRecordingService.close();
+    }
+
+    @Test
+    void testStartStop_RecordsApplicationEvents() throws Exception {
+        // Arrange
+        FlightRecordingService.RecordingStatus started = flightRecordingService.start(Duration.ofHours(1));
+        new SimpleCardEncryptConverter().convertToDatabaseColumn("4000-0000-0000-0002");
+
+        // Act
+        FlightRecordingService.RecordingStatus stopped = flightRecordingService.stop();
+
+        // Assert
+        assertEquals("RUNNING", started.state());
+        assertEquals(Duration.ofMinutes(1), started.duration());
+        assertNotEquals("RUNNING", stopped.state());
+        Path file = flightRecordingService.getRecordingFile();
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertTrue(events.stream().anyMatch(event ->
+                event.getEventType().getName().equals("com.example.bankcards.CardCrypto")
+                        && "encrypt".equals(event.getString("operation"))));
+    }
+
+    @Test
+    void testStart_RejectsSecondRecordingAndDiscardsPreviousFile() {
+        flightRecordingService.start(null);
+        assertThrows(RecordingStateException.class, () -> flightRecordingService.start(null));
+        assertThrows(RecordingStateException.class, () -> flightRecordingService.getRecordingFile());
+
+        flightRecordingService.stop();
+        Path first = flightRecordingService.getRecordingFile();
+        flightRecordingService.start(null);
+
+        assertFalse(Files.exists(first));
+        assertThrows(RecordingStateException.class, () -> flightRecordingService.getRecordingFile());
+    }
+
+    @Test
+    void testStop_RejectsWhenNothingIsRunning() {
+        assertEquals("NONE", flightRecordingService.getStatus().state());
+        assertThrows(RecordingStateException.class, () -> flightRecordingService.stop());
+        assertThrows(RecordingStateException.class, () -> flightRecordingService.getRecordingFile());
+    }
+}
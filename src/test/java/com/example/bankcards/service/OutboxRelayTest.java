@@ -0,0 +1,95 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.outbox.OutboxMessage;
+import com.example.bankcards.outbox.OutboxSink;
+import com.example.bankcards.repository.OutboxMessageRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxMessageRepo outboxMessageRepo;
+
+    @Mock
+    private OutboxSink sink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxMessageRepo, sink, transactionManager, 2, 10);
+    }
+
+    private static OutboxMessage message(long id) {
+        OutboxMessage message = new OutboxMessage();
+        message.setId(id);
+        message.setType(OutboxService.CARD_CHANGED);
+        message.setAggregateId(id);
+        message.setPayload("{}");
+        message.setCreatedAt(Instant.now());
+        return message;
+    }
+
+    @Test
+    void testRelay_DeliversAndDeletesBatchesUntilDrained() throws Exception {
+        // Arrange
+        List<OutboxMessage> first = List.of(message(1), message(2));
+        List<OutboxMessage> second = List.of(message(3));
+        when(outboxMessageRepo.lockNextBatch(2)).thenReturn(first, second);
+
+        // Act
+        int delivered = outboxRelay.relay();
+
+        // Assert
+        assertEquals(3, delivered);
+        assertEquals(3, outboxRelay.getDeliveredMessages());
+        verify(sink).deliver(first);
+        verify(sink).deliver(second);
+        verify(outboxMessageRepo).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxMessageRepo).deleteAllByIdInBatch(List.of(3L));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void testRelay_KeepsBatchWhenSinkFails() throws Exception {
+        // Arrange
+        when(outboxMessageRepo.lockNextBatch(2)).thenReturn(List.of(message(1)));
+        doThrow(new IOException("sink unavailable")).when(sink).deliver(anyList());
+
+        // Act
+        int delivered = outboxRelay.relay();
+
+        // Assert
+        assertEquals(0, delivered);
+        assertEquals(1, outboxRelay.getFailedBatches());
+        verify(outboxMessageRepo, never()).deleteAllByIdInBatch(anyList());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void testGetPendingMessages_UsesEstimateInsteadOfCount() {
+        // Arrange
+        when(outboxMessageRepo.estimatePendingMessages()).thenReturn(42L);
+
+        // Act & Assert
+        assertEquals(42L, outboxRelay.getPendingMessages());
+        verify(outboxMessageRepo, never()).count();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.card.CardStatus;
+import com.example.bankcards.entity.outbox.OutboxMessage;
+import com.example.bankcards.event.CardChangedEvent;
+import com.example.bankcards.event.CardCreatedEvent;
+import com.example.bankcards.event.TransferCompletedEvent;
+import com.example.bankcards.repository.OutboxMessageRepo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxMessageRepo outboxMessageRepo;
+
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new OutboxService(outboxMessageRepo, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void testOnCardChanged_StoresMessageWithoutOwner() {
+        // Arrange
+        ArgumentCaptor<OutboxMessage> captor = ArgumentCaptor.forClass(OutboxMessage.class);
+
+        // Act
+        outboxService.onCardChanged(new CardChangedEvent(7L, "testuser", BigDecimal.TEN, CardStatus.BLOCKED, 3L));
+
+        // Assert
+        verify(outboxMessageRepo).save(captor.capture());
+        OutboxMessage message = captor.getValue();
+        assertEquals(OutboxService.CARD_CHANGED, message.getType());
+        assertEquals(7L, message.getAggregateId());
+        assertNotNull(message.getCreatedAt());
+        assertTrue(message.getPayload().contains("\"status\":\"BLOCKED\""));
+        assertFalse(message.getPayload().contains("testuser"));
+    }
+
+    @Test
+    void testOnTransferCompleted_UsesSourceCardAsAggregate() {
+        ArgumentCaptor<OutboxMessage> captor = ArgumentCaptor.forClass(OutboxMessage.class);
+
+        outboxService.onTransferCompleted(new TransferCompletedEvent(1L, 2L, BigDecimal.valueOf(500)));
+
+        verify(outboxMessageRepo).save(captor.capture());
+        assertEquals(OutboxService.CARD_TRANSFERRED, captor.getValue().getType());
+        assertEquals(1L, captor.getValue().getAggregateId());
+        assertTrue(captor.getValue().getPayload().contains("\"targetCardId\":2"));
+    }
+
+    @Test
+    void testPayloads_MatchBulkStatementKeys() throws Exception {
+        // Arrange: CardRepo.expireCards and CardCopyRepo.copyCards build these payloads in SQL
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        // Act
+        String changed = objectMapper.writeValueAsString(
+                new CardChangedEvent(7L, "testuser", BigDecimal.TEN, CardStatus.EXPIRED, 3L));
+        String created = objectMapper.writeValueAsString(
+                new CardCreatedEvent(7L, 2L, LocalDate.of(2030, 1, 31), BigDecimal.TEN, CardStatus.ACTIVE));
+
+        // Assert
+        assertEquals(Set.of("cardId", "balance", "status", "version"), fieldNames(objectMapper, changed));
+        assertEquals(Set.of("cardId", "userId", "expirationDate", "balance", "status"), fieldNames(objectMapper, created));
+        assertTrue(created.contains("\"expirationDate\":\"2030-01-31\""));
+    }
+
+    private static Set<String> fieldNames(ObjectMapper objectMapper, String json) throws Exception {
+        Set<String> names = new TreeSet<>();
+        objectMapper.readTree(json).fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
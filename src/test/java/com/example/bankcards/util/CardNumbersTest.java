@@ -0,0 +1,95 @@
+package com.example.bankcards.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardNumbersTest {
+
+    @Test
+    void testParse_AcceptsDashedAndPlainDigits() {
+        // Act & Assert
+        assertEquals(4000123456789010L, CardNumbers.parse("4000-1234-5678-9010"));
+        assertEquals(4000123456789010L, CardNumbers.parse("4000123456789010"));
+    }
+
+    @Test
+    void testParse_KeepsLeadingZeros() {
+        // Act & Assert
+        assertEquals(42L, CardNumbers.parse("0000-0000-0000-0042"));
+        assertEquals(42L, CardNumbers.parse("0000000000000042"));
+    }
+
+    @Test
+    void testParse_RejectsWrongLength() {
+        // Act & Assert
+        assertEquals(CardNumbers.INVALID, CardNumbers.parse(null));
+        assertEquals(CardNumbers.INVALID, CardNumbers.parse(""));
+        assertEquals(CardNumbers.INVALID, CardNumbers.parse("400012345678901"));
+        assertEquals(CardNumbers.INVALID, CardNumbers.parse("40001234567890101"));
+        assertEquals(CardNumbers.INVALID, CardNumbers.parse("4000-1234-5678-901"));
+        assertEquals(CardNumbers.INVALID, CardNumbers.parse("4000-1234-5678-90101"));
+    }
+
+    @Test
+    void testParse_RejectsNonDigits() {
+        // Act & Assert
+        assertEquals(CardNumbers.INVALID, CardNumbers.parse("4000-1234-5678-901a"));
+        assertEquals(CardNumbers.INVALID, CardNumbers.parse("40001234 5678901"));
+        assertEquals(CardNumbers.INVALID, CardNumbers.parse("+000123456789010"));
+        assertEquals(CardNumbers.INVALID, CardNumbers.parse("4000 1234 5678 9010"));
+    }
+
+    @Test
+    void testParse_RejectsMisplacedSeparators() {
+        // Act & Assert
+        assertEquals(CardNumbers.INVALID, CardNumbers.parse("40001-234-5678-9010"));
+        assertEquals(CardNumbers.INVALID, CardNumbers.parse("4000-12345-678-9010"));
+        assertEquals(CardNumbers.INVALID, CardNumbers.parse("4000-1234-56789-010"));
+        assertEquals(CardNumbers.INVALID, CardNumbers.parse("-4000123-45678-9010"));
+        assertEquals(CardNumbers.INVALID, CardNumbers.parse("4000-1234-5678-9-10"));
+        assertEquals(CardNumbers.INVALID, CardNumbers.parse("4000-123-45678-9010"));
+    }
+
+    @Test
+    void testParseFormatted_RequiresDashes() {
+        // Act & Assert
+        assertEquals(4000123456789010L, CardNumbers.parseFormatted("4000-1234-5678-9010"));
+        assertEquals(CardNumbers.INVALID, CardNumbers.parseFormatted("4000123456789010"));
+        assertEquals(CardNumbers.INVALID, CardNumbers.parseFormatted(null));
+        assertEquals(CardNumbers.INVALID, CardNumbers.parseFormatted("4000-1234-5678-90x0"));
+        assertEquals(CardNumbers.INVALID, CardNumbers.parseFormatted("4000_1234_5678_9010"));
+        assertEquals(CardNumbers.INVALID, CardNumbers.parseFormatted("40001-234-5678-9010"));
+    }
+
+    @Test
+    void testLuhnCheckDigit_KnownVectors() {
+        // Act & Assert
+        assertEquals(1, CardNumbers.luhnCheckDigit(411111111111111L));
+        assertEquals(4, CardNumbers.luhnCheckDigit(555555555555444L));
+        assertEquals(1, CardNumbers.luhnCheckDigit(401288888888188L));
+        assertEquals(7, CardNumbers.luhnCheckDigit(601111111111111L));
+        assertEquals(3, CardNumbers.luhnCheckDigit(7992739871L));
+        assertEquals(0, CardNumbers.luhnCheckDigit(0L));
+    }
+
+    @Test
+    void testIsLuhnValid_KnownVectors() {
+        // Act & Assert
+        assertTrue(CardNumbers.isLuhnValid(4111111111111111L));
+        assertTrue(CardNumbers.isLuhnValid(5555555555554444L));
+        assertTrue(CardNumbers.isLuhnValid(4012888888881881L));
+        assertTrue(CardNumbers.isLuhnValid(CardNumbers.parse("6011-1111-1111-1117")));
+        assertFalse(CardNumbers.isLuhnValid(4111111111111112L));
+        assertFalse(CardNumbers.isLuhnValid(4012888888881818L));
+        assertFalse(CardNumbers.isLuhnValid(CardNumbers.INVALID));
+    }
+
+    @Test
+    void testFormat_RoundTripsWithParse() {
+        // Act & Assert
+        assertEquals("4000-1234-5678-9010", CardNumbers.format(4000123456789010L));
+        assertEquals("0000-0000-0000-0042", CardNumbers.format(42L));
+        assertEquals(5555555555554444L, CardNumbers.parse(CardNumbers.format(5555555555554444L)));
+    }
+}
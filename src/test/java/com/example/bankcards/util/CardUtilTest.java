@@ -0,0 +1,37 @@
+package com.example.bankcards.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CardUtilTest {
+
+    /**
+     * The masking before it was rewritten without substrings.
+     */
+    private static String legacyMask(String cardNumber) {
+        if (cardNumber == null || cardNumber.length() < 16) {
+            return cardNumber;
+        }
+        return "**** **** **** " + cardNumber.substring(cardNumber.length() - 4);
+    }
+
+    @Test
+    void testMaskCardNumber_MatchesLegacyOutput() {
+        // Arrange
+        String[] cardNumbers = {"4000-5678-9012-3456", "4000567890123456", "0000-0000-0000-0042",
+                "4000-5678-9012-34567", "400056789012345", "", "1234", null};
+
+        // Act & Assert
+        for (String cardNumber : cardNumbers) {
+            assertEquals(legacyMask(cardNumber), CardUtil.maskCardNumber(cardNumber), cardNumber);
+        }
+        assertEquals("**** **** **** 3456", CardUtil.maskCardNumber("4000-5678-9012-3456"));
+    }
+
+    @Test
+    void testMaskCardNumber_OfFormattedNumber() {
+        // Act & Assert
+        assertEquals("**** **** **** 0042", CardUtil.maskCardNumber(CardNumbers.format(42L)));
+    }
+}
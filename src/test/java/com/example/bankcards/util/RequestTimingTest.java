@@ -0,0 +1,53 @@
+package com.example.bankcards.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTiming.clear();
+    }
+
+    @Test
+    void testBeginEnd_IgnoredWhenRequestIsNotTimed() {
+        RequestTiming.begin(RequestTiming.Phase.DB);
+        RequestTiming.end(RequestTiming.Phase.DB);
+        RequestTiming.record(RequestTiming.Phase.CRYPTO, 1_000);
+
+        assertNull(RequestTiming.current());
+    }
+
+    @Test
+    void testBeginEnd_CountsNestedCallsOnce() {
+        RequestTiming timing = RequestTiming.start();
+
+        RequestTiming.begin(RequestTiming.Phase.DB);
+        RequestTiming.begin(RequestTiming.Phase.DB);
+        RequestTiming.end(RequestTiming.Phase.DB);
+        assertTrue(timing.nanos(RequestTiming.Phase.DB) > 0, "an open phase is counted up to now");
+        RequestTiming.end(RequestTiming.Phase.DB);
+        RequestTiming.begin(RequestTiming.Phase.DB);
+        RequestTiming.end(RequestTiming.Phase.DB);
+
+        assertEquals(2, timing.count(RequestTiming.Phase.DB));
+        assertSame(timing, RequestTiming.current());
+    }
+
+    @Test
+    void testToHeaderValue_SkipsPhasesWithoutTime() {
+        RequestTiming timing = RequestTiming.start();
+        RequestTiming.record(RequestTiming.Phase.JWT, 1_500_000);
+        RequestTiming.record(RequestTiming.Phase.CRYPTO, 250_000);
+        RequestTiming.record(RequestTiming.Phase.CRYPTO, 250_000);
+
+        assertTrue(timing.toHeaderValue().matches(
+                "jwt;dur=1\\.500, crypto;dur=0\\.500;desc=\"2 calls\", total;dur=\\d+\\.\\d{3}"),
+                timing.toHeaderValue());
+        assertTrue(timing.toLogValue().startsWith("jwt=1.500ms user=0.000ms db=0.000ms crypto=0.500ms/2 json=0.000ms total="),
+                timing.toLogValue());
+    }
+}